@@ -2,8 +2,10 @@ package tech.devleo.projeto_orlando;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ProjetoOrlandoApplication {
 
 	public static void main(String[] args) {
@@ -12,7 +12,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.auth0.jwt.exceptions.JWTVerificationException;
-import com.auth0.jwt.interfaces.DecodedJWT;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -23,10 +22,15 @@ import jakarta.servlet.http.HttpServletResponse;
 @Profile("!test")
 public class JwtFilter extends OncePerRequestFilter {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final List<SimpleGrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
     private final TokenService tokenService;
+    private final JwtRevocationStore revocationStore;
 
-    public JwtFilter(TokenService tokenService) {
+    public JwtFilter(TokenService tokenService, JwtRevocationStore revocationStore) {
         this.tokenService = tokenService;
+        this.revocationStore = revocationStore;
     }
 
     @Override
@@ -38,13 +42,19 @@ public class JwtFilter extends OncePerRequestFilter {
         
         if (token != null) {
             try {
-                DecodedJWT decodedJWT = tokenService.validateToken(token);
-                String username = tokenService.getUsername(decodedJWT);
+                // Tokens repetidos são resolvidos pelo cache do TokenService, sem refazer a verificação
+                TenantPrincipal principal = tokenService.verify(token);
+
+                // O Bloom filter descarta a grande maioria sem I/O; só positivos consultam o banco.
+                // Também recusa tokens emitidos antes de uma revogação forçada do usuário
+                if (revocationStore.isRevogado(principal)) {
+                    throw new JWTVerificationException("Token revogado");
+                }
                 
                 Authentication authentication = new UsernamePasswordAuthenticationToken(
-                    username, 
+                    principal, 
                     null, 
-                    List.of(new SimpleGrantedAuthority("ROLE_USER"))
+                    AUTHORITIES
                 );
                 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -59,10 +69,17 @@ public class JwtFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    // Respostas assíncronas (CompletableFuture, StreamingResponseBody) terminam em um dispatch ASYNC,
+    // que também passa pela autorização: o token precisa ser aplicado de novo (a verificação vem do cache)
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     private String extractToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
-        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
+        if (bearerToken != null && bearerToken.startsWith(BEARER_PREFIX)) {
+            return bearerToken.substring(BEARER_PREFIX.length());
         }
         return null;
     }
@@ -0,0 +1,193 @@
+package tech.devleo.projeto_orlando.config;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import tech.devleo.projeto_orlando.domain.ChaveAssinatura;
+import tech.devleo.projeto_orlando.repository.ChaveAssinaturaRepository;
+
+/**
+ * Conjunto local de chaves assimétricas (ES256/RS256) identificadas por kid e persistidas no banco.
+ * Qualquer réplica consegue verificar tokens de outra sem compartilhar segredo: o verifier de cada kid
+ * é montado a partir da chave pública uma única vez e reutilizado. A rotação cria uma nova chave
+ * periodicamente, sem necessidade de reiniciar as réplicas.
+ */
+@Component
+public class JwtKeyStore {
+
+    private static final ZoneId ZONE_ID = ZoneId.of("America/Sao_Paulo");
+
+    private final ChaveAssinaturaRepository repository;
+
+    @Value("${jwt.algorithm:HS256}")
+    private String algoritmo;
+
+    @Value("${jwt.keys.rotation-interval:P7D}")
+    private Duration rotationInterval;
+
+    @Value("${jwt.keys.refresh-interval:PT5M}")
+    private Duration refreshInterval;
+
+    @Value("${jwt.expiration:3600000}")
+    private long expiration;
+
+    // kid -> verifier montado a partir da chave pública (imutável e thread-safe)
+    private final Map<String, JWTVerifier> verifiers = new ConcurrentHashMap<>();
+
+    // kids consultados e inexistentes no banco, para não repetir a consulta a cada token forjado
+    private final Cache<String, Boolean> kidsDesconhecidos = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    private volatile ChaveAtiva chaveAtiva;
+
+    public JwtKeyStore(ChaveAssinaturaRepository repository) {
+        this.repository = repository;
+    }
+
+    public record ChaveAtiva(String kid, Algorithm algorithm) {
+    }
+
+    @PostConstruct
+    void init() {
+        if (isAssimetrico()) {
+            if (!"ES256".equals(algoritmo) && !"RS256".equals(algoritmo)) {
+                throw new IllegalStateException("jwt.algorithm inválido: " + algoritmo + " (use HS256, ES256 ou RS256)");
+            }
+            atualizarChaves();
+        }
+    }
+
+    public boolean isAssimetrico() {
+        return !"HS256".equalsIgnoreCase(algoritmo);
+    }
+
+    public ChaveAtiva getChaveAtiva() {
+        return chaveAtiva;
+    }
+
+    /**
+     * Retorna o verifier do kid, carregando a chave pública do banco apenas na primeira vez.
+     * Chaves criadas por outra réplica são encontradas na primeira requisição que as usar.
+     */
+    public JWTVerifier verifierFor(String kid) {
+        JWTVerifier verifier = verifiers.get(kid);
+        if (verifier != null) {
+            return verifier;
+        }
+        if (kidsDesconhecidos.getIfPresent(kid) != null) {
+            throw new JWTVerificationException("Chave de assinatura desconhecida: " + kid);
+        }
+        ChaveAssinatura chave = repository.findById(kid).orElse(null);
+        if (chave == null) {
+            kidsDesconhecidos.put(kid, Boolean.TRUE);
+            throw new JWTVerificationException("Chave de assinatura desconhecida: " + kid);
+        }
+        return verifiers.computeIfAbsent(kid, k -> JWT.require(toAlgorithm(chave, false)).build());
+    }
+
+    /**
+     * Recarrega a chave de assinatura ativa, gera uma nova quando a atual passou do intervalo de rotação
+     * e remove as chaves substituídas há mais tempo do que a validade dos tokens.
+     * Roda em todas as réplicas; se duas gerarem chave ao mesmo tempo, a mais recente prevalece para todas.
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.refresh-interval:PT5M}", initialDelayString = "${jwt.keys.refresh-interval:PT5M}")
+    public void atualizarChaves() {
+        if (!isAssimetrico()) {
+            return;
+        }
+        ZonedDateTime agora = ZonedDateTime.now(ZONE_ID);
+        List<ChaveAssinatura> chaves = repository.findByAlgoritmoOrderByCriadaEmDesc(algoritmo);
+
+        ChaveAssinatura atual = chaves.isEmpty() ? null : chaves.get(0);
+        if (atual == null || !atual.getCriadaEm().plus(rotationInterval).isAfter(agora)) {
+            atual = repository.save(gerarChave(agora));
+        }
+
+        // Uma chave substituída ainda assina tokens até as réplicas recarregarem, e esses tokens valem por "expiration"
+        ZonedDateTime limite = agora.minus(refreshInterval).minus(Duration.ofMillis(expiration));
+        for (int i = 1; i < chaves.size(); i++) {
+            ChaveAssinatura sucessora = chaves.get(i - 1);
+            if (sucessora.getCriadaEm().isBefore(limite)) {
+                repository.deleteById(chaves.get(i).getKid());
+                verifiers.remove(chaves.get(i).getKid());
+            }
+        }
+
+        if (chaveAtiva == null || !chaveAtiva.kid().equals(atual.getKid())) {
+            ChaveAssinatura ativa = atual;
+            chaveAtiva = new ChaveAtiva(ativa.getKid(), toAlgorithm(ativa, true));
+            verifiers.computeIfAbsent(ativa.getKid(), k -> JWT.require(toAlgorithm(ativa, false)).build());
+        }
+    }
+
+    private ChaveAssinatura gerarChave(ZonedDateTime agora) {
+        try {
+            KeyPairGenerator generator;
+            if ("ES256".equals(algoritmo)) {
+                generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            } else {
+                generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+            }
+            KeyPair keyPair = generator.generateKeyPair();
+
+            ChaveAssinatura chave = new ChaveAssinatura();
+            chave.setKid(UUID.randomUUID().toString());
+            chave.setAlgoritmo(algoritmo);
+            chave.setChavePublica(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+            chave.setChavePrivada(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+            chave.setCriadaEm(agora);
+            return chave;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Não foi possível gerar a chave " + algoritmo, e);
+        }
+    }
+
+    private Algorithm toAlgorithm(ChaveAssinatura chave, boolean comChavePrivada) {
+        try {
+            boolean ec = "ES256".equals(chave.getAlgoritmo());
+            KeyFactory keyFactory = KeyFactory.getInstance(ec ? "EC" : "RSA");
+            var publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(chave.getChavePublica())));
+            var privateKey = comChavePrivada
+                    ? keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(chave.getChavePrivada())))
+                    : null;
+            return ec
+                    ? Algorithm.ECDSA256((ECPublicKey) publicKey, (ECPrivateKey) privateKey)
+                    : Algorithm.RSA256((RSAPublicKey) publicKey, (RSAPrivateKey) privateKey);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Chave de assinatura inválida: " + chave.getKid(), e);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package tech.devleo.projeto_orlando.config;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import tech.devleo.projeto_orlando.domain.TokenRevogado;
+import tech.devleo.projeto_orlando.repository.TokenRevogadoRepository;
+
+/**
+ * Lista de tokens revogados (por jti) com um Bloom filter em memória na frente da tabela.
+ * Um "não" do filtro é definitivo e não faz I/O, então o caminho comum do JwtFilter continua sem banco;
+ * só os positivos (revogados de fato ou falsos positivos) consultam a tabela token_revogado.
+ * O filtro é reconstruído periodicamente a partir do banco, o que também traz as revogações feitas
+ * por outras réplicas e descarta os jtis já expirados.
+ * <p>
+ * A revogação forçada de todos os tokens de um usuário (troca de senha, exclusão) grava uma linha com
+ * jti {@code usuario:<userId>} e revogadoEm = corte; tokens do usuário emitidos antes do corte são recusados.
+ * Esses cortes são poucos e ficam em um mapa em memória, fora do Bloom filter, então a conferência não faz I/O.
+ */
+@Component
+public class JwtRevocationStore {
+
+    private static final ZoneId ZONE_ID = ZoneId.of("America/Sao_Paulo");
+    static final String PREFIXO_USUARIO = "usuario:";
+
+    private final TokenRevogadoRepository repository;
+    private final Counter negativos;
+    private final Counter revogados;
+    private final Counter falsosPositivos;
+    private final Timer consultaTimer;
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private int capacidadeEsperada;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double taxaFalsoPositivo;
+
+    // Validade máxima de um access token: depois disso o corte de um usuário não tem mais o que recusar
+    @Value("${jwt.expiration:3600000}")
+    private long expiration;
+
+    private volatile BloomFilter filtro;
+    // userId -> corte: tokens emitidos antes dele são recusados
+    private volatile Map<UUID, Instant> cortesPorUsuario = Map.of();
+
+    // Revogações feitas localmente enquanto uma reconstrução lê o banco; não nulos apenas durante a reconstrução
+    private final Object lock = new Object();
+    private Set<String> revogadosDuranteReconstrucao;
+    private Map<UUID, Instant> cortesDuranteReconstrucao;
+
+    public JwtRevocationStore(TokenRevogadoRepository repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.negativos = Counter.builder("jwt.revocation.checks").tag("result", "negative").register(meterRegistry);
+        this.revogados = Counter.builder("jwt.revocation.checks").tag("result", "revoked").register(meterRegistry);
+        this.falsosPositivos = Counter.builder("jwt.revocation.checks").tag("result", "false_positive").register(meterRegistry);
+        this.consultaTimer = Timer.builder("jwt.revocation.lookup")
+                .description("Consulta à tabela de revogação após um positivo do Bloom filter")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        reconstruirFiltro();
+    }
+
+    /**
+     * Revoga o token até o seu exp. Tokens sem jti (emitidos antes da revogação existir) não podem ser revogados.
+     */
+    public void revogar(String jti, UUID userId, Instant expiraEm) {
+        if (jti == null || expiraEm == null || !expiraEm.isAfter(Instant.now())) {
+            return;
+        }
+        TokenRevogado revogado = new TokenRevogado();
+        revogado.setJti(jti);
+        revogado.setUserId(userId);
+        revogado.setExpiraEm(expiraEm.atZone(ZONE_ID));
+        revogado.setRevogadoEm(ZonedDateTime.now(ZONE_ID));
+        repository.save(revogado);
+
+        synchronized (lock) {
+            filtro.add(jti);
+            if (revogadosDuranteReconstrucao != null) {
+                revogadosDuranteReconstrucao.add(jti);
+            }
+        }
+    }
+
+    /**
+     * Revoga todos os tokens do usuário emitidos antes de desde (comparados pelo iat, com precisão de segundos).
+     */
+    public void revogarTodos(UUID userId, Instant desde) {
+        Instant corte = desde.truncatedTo(ChronoUnit.SECONDS);
+        TokenRevogado revogado = new TokenRevogado();
+        revogado.setJti(PREFIXO_USUARIO + userId);
+        revogado.setUserId(userId);
+        revogado.setExpiraEm(corte.plusMillis(expiration).atZone(ZONE_ID));
+        revogado.setRevogadoEm(corte.atZone(ZONE_ID));
+        repository.save(revogado);
+
+        synchronized (lock) {
+            Map<UUID, Instant> novos = new HashMap<>(cortesPorUsuario);
+            novos.merge(userId, corte, (a, b) -> a.isAfter(b) ? a : b);
+            cortesPorUsuario = Map.copyOf(novos);
+            if (cortesDuranteReconstrucao != null) {
+                cortesDuranteReconstrucao.merge(userId, corte, (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+    }
+
+    /**
+     * Token revogado pelo jti ou emitido antes do corte do usuário. Tokens sem iat contam como anteriores ao corte.
+     */
+    public boolean isRevogado(TenantPrincipal principal) {
+        Instant corte = principal.userId() != null ? cortesPorUsuario.get(principal.userId()) : null;
+        if (corte != null && (principal.emitidoEm() == null || principal.emitidoEm().isBefore(corte))) {
+            revogados.increment();
+            return true;
+        }
+        return isRevogado(principal.jti());
+    }
+
+    public boolean isRevogado(String jti) {
+        if (jti == null || !filtro.mightContain(jti)) {
+            negativos.increment();
+            return false;
+        }
+        boolean existe = consultaTimer.record(() -> repository.existsById(jti));
+        (existe ? revogados : falsosPositivos).increment();
+        return existe;
+    }
+
+    /**
+     * Remove os registros expirados e reconstrói o filtro com os jtis ainda ativos.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:PT1M}", initialDelayString = "${jwt.revocation.refresh-interval:PT1M}")
+    public void reconstruirFiltro() {
+        synchronized (lock) {
+            revogadosDuranteReconstrucao = new HashSet<>();
+            cortesDuranteReconstrucao = new HashMap<>();
+        }
+        try {
+            ZonedDateTime agora = ZonedDateTime.now(ZONE_ID);
+            repository.deleteExpirados(agora);
+            List<String> ativos = repository.findJtisAtivos(agora, PREFIXO_USUARIO + "%");
+
+            BloomFilter novo = new BloomFilter(Math.max(capacidadeEsperada, ativos.size()), taxaFalsoPositivo);
+            ativos.forEach(novo::add);
+            Map<UUID, Instant> cortes = new HashMap<>();
+            for (TokenRevogado corte : repository.findCortesAtivos(agora, PREFIXO_USUARIO + "%")) {
+                cortes.merge(corte.getUserId(), corte.getRevogadoEm().toInstant(), (a, b) -> a.isAfter(b) ? a : b);
+            }
+            synchronized (lock) {
+                revogadosDuranteReconstrucao.forEach(novo::add);
+                cortesDuranteReconstrucao.forEach((userId, corte) -> cortes.merge(userId, corte, (a, b) -> a.isAfter(b) ? a : b));
+                filtro = novo;
+                cortesPorUsuario = Map.copyOf(cortes);
+            }
+        } finally {
+            synchronized (lock) {
+                revogadosDuranteReconstrucao = null;
+                cortesDuranteReconstrucao = null;
+            }
+        }
+    }
+}
@@ -1,18 +1,35 @@
 package tech.devleo.projeto_orlando.config;
 
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 @Profile("!test")
 public class PasswordEncoderConfig {
 
+    static final String BCRYPT_ID = "bcrypt";
+
+    /**
+     * Novos hashes são gravados como {bcrypt} com o custo configurado.
+     * Hashes antigos sem prefixo continuam válidos e são marcados para rehash
+     * (upgradeEncoding) assim como hashes {bcrypt} com custo menor que o atual.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-strength:10}") int strength) {
+        return criarEncoder(strength);
     }
-}
 
+    public static PasswordEncoder criarEncoder(int strength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+}
@@ -0,0 +1,22 @@
+package tech.devleo.projeto_orlando.config;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Identidade do usuário autenticado extraída do token JWT.
+ * Publicada pelo JwtFilter no SecurityContext, permite que os serviços resolvam o tenant sem consultar o banco.
+ * O empresaId pode ser nulo quando o usuário ainda não tinha empresa no momento do login; empresaVersao é a
+ * versão da empresa do usuário (User.empresaVersao) na emissão e indica se o empresaId ainda vale.
+ * O jti e o expiraEm identificam o token para revogação (logout).
+ */
+public record TenantPrincipal(String email, UUID userId, UUID empresaId, Long empresaVersao, Instant emitidoEm, String jti, Instant expiraEm)
+        implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,52 +1,180 @@
 package tech.devleo.projeto_orlando.config;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import tech.devleo.projeto_orlando.domain.User;
 
 @Service
 public class TokenService {
 
-    @Value("${jwt.secret}")
+    static final String CLAIM_USER_ID = "userId";
+    static final String CLAIM_EMPRESA_ID = "empresaId";
+    static final String CLAIM_EMPRESA_VERSAO = "empresaVersao";
+
+    // Obrigatório apenas com jwt.algorithm=HS256 ou com jwt.legacy-hmac.enabled=true
+    @Value("${jwt.secret:}")
     private String secret;
 
+    // Com chaves assimétricas, aceita tokens HMAC antigos (sem kid) durante a migração; desligado por padrão
+    @Value("${jwt.legacy-hmac.enabled:false}")
+    private boolean legacyHmac;
+
     @Value("${jwt.expiration:3600000}")
     private Long expiration;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    private final MeterRegistry meterRegistry;
+    private final JwtKeyStore keyStore;
+
+    // Algorithm e JWTVerifier são imutáveis e thread-safe: criados uma única vez
+    private Algorithm hmacAlgorithm;
+    private JWTVerifier hmacVerifier;
+
+    // digest SHA-256 do token -> principal já verificado, válido até o exp do token
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    public TokenService(MeterRegistry meterRegistry, JwtKeyStore keyStore) {
+        this.meterRegistry = meterRegistry;
+        this.keyStore = keyStore;
+    }
+
+    @PostConstruct
+    void init() {
+        if (!keyStore.isAssimetrico() || legacyHmac) {
+            if (secret == null || secret.isEmpty()) {
+                throw new IllegalStateException("jwt.secret é obrigatório com jwt.algorithm=HS256 ou jwt.legacy-hmac.enabled=true");
+            }
+            hmacAlgorithm = Algorithm.HMAC256(secret);
+            hmacVerifier = JWT.require(hmacAlgorithm).build();
+        }
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return Math.max(0, value.expiresAtNanos() - System.nanoTime());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+    }
+
     /**
      * Gera um token JWT para o usuário
      */
     public String generateToken(String username) {
+        return sign(baseToken(username));
+    }
+
+    /**
+     * Gera um token JWT carregando também o userId e o empresaId (quando existir) do usuário
+     */
+    public String generateToken(User user) {
+        JWTCreator.Builder builder = baseToken(user.getEmail())
+                .withClaim(CLAIM_USER_ID, user.getId().toString())
+                .withClaim(CLAIM_EMPRESA_VERSAO, user.getEmpresaVersao());
+        if (user.getEmpresa() != null) {
+            builder.withClaim(CLAIM_EMPRESA_ID, user.getEmpresa().getId().toString());
+        }
+        return sign(builder);
+    }
+
+    private String sign(JWTCreator.Builder builder) {
+        if (keyStore.isAssimetrico()) {
+            JwtKeyStore.ChaveAtiva chave = keyStore.getChaveAtiva();
+            return builder.withKeyId(chave.kid()).sign(chave.algorithm());
+        }
+        return builder.sign(hmacAlgorithm);
+    }
+
+    private JWTCreator.Builder baseToken(String username) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return JWT.create()
                 .withSubject(username)
+                .withJWTId(UUID.randomUUID().toString())
                 .withIssuedAt(now)
-                .withExpiresAt(expiryDate)
-                .sign(Algorithm.HMAC256(secret));
+                .withExpiresAt(expiryDate);
     }
 
     /**
-     * Valida o token JWT e retorna o DecodedJWT se válido
+     * Valida o token JWT e retorna o DecodedJWT se válido.
+     * Tokens com kid são verificados com a chave pública correspondente; tokens sem kid só são aceitos
+     * com jwt.algorithm=HS256 ou com o HMAC legado habilitado (jwt.legacy-hmac.enabled).
      */
     public DecodedJWT validateToken(String token) throws JWTVerificationException {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            JWTVerifier verifier = JWT.require(algorithm).build();
-            return verifier.verify(token);
+            DecodedJWT decoded = JWT.decode(token);
+            String kid = decoded.getKeyId();
+            if (kid != null) {
+                return keyStore.verifierFor(kid).verify(decoded);
+            }
+            if (hmacVerifier == null) {
+                throw new JWTVerificationException("Token sem kid não é aceito com chaves assimétricas");
+            }
+            return hmacVerifier.verify(decoded);
         } catch (Exception e) {
             throw new JWTVerificationException("Token validation failed: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Valida o token e retorna o principal do tenant.
+     * Tokens já verificados são servidos do cache até o exp, sem refazer o HMAC nem o parse das claims.
+     */
+    public TenantPrincipal verify(String token) throws JWTVerificationException {
+        String key = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached.principal();
+        }
+
+        DecodedJWT decodedJWT = validateToken(token);
+        TenantPrincipal principal = getPrincipal(decodedJWT);
+        Instant expiresAt = decodedJWT.getExpiresAtAsInstant();
+        if (expiresAt != null) {
+            long ttlNanos = (expiresAt.toEpochMilli() - System.currentTimeMillis()) * 1_000_000L;
+            verifiedTokens.put(key, new VerifiedToken(principal, System.nanoTime() + ttlNanos));
+        }
+        return principal;
+    }
+
     /**
      * Extrai o username do token
      */
@@ -57,4 +185,43 @@ public class TokenService {
         }
         return decodedJWT.getSubject();
     }
+
+    /**
+     * Monta o principal do tenant a partir das claims do token.
+     * Tokens antigos (sem userId) geram um principal sem ids, forçando a resolução pelo banco.
+     */
+    public TenantPrincipal getPrincipal(DecodedJWT decodedJWT) {
+        return new TenantPrincipal(
+                getUsername(decodedJWT),
+                parseUuid(decodedJWT.getClaim(CLAIM_USER_ID).asString()),
+                parseUuid(decodedJWT.getClaim(CLAIM_EMPRESA_ID).asString()),
+                decodedJWT.getClaim(CLAIM_EMPRESA_VERSAO).asLong(),
+                decodedJWT.getIssuedAtAsInstant(),
+                decodedJWT.getId(),
+                decodedJWT.getExpiresAtAsInstant());
+    }
+
+    private UUID parseUuid(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private record VerifiedToken(TenantPrincipal principal, long expiresAtNanos) {
+    }
 }
@@ -1,5 +1,10 @@
 package tech.devleo.projeto_orlando.controller;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,11 +19,18 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import tech.devleo.projeto_orlando.config.TokenService;
+import tech.devleo.projeto_orlando.config.JwtRevocationStore;
+import tech.devleo.projeto_orlando.config.TenantPrincipal;
+import tech.devleo.projeto_orlando.domain.User;
 import tech.devleo.projeto_orlando.dto.AuthRequest;
 import tech.devleo.projeto_orlando.dto.AuthResponse;
 import tech.devleo.projeto_orlando.dto.ErrorResponse;
+import tech.devleo.projeto_orlando.dto.RefreshRequest;
+import tech.devleo.projeto_orlando.service.CurrentUserService;
+import tech.devleo.projeto_orlando.service.LoginThrottleService;
+import tech.devleo.projeto_orlando.service.RefreshTokenService;
 import tech.devleo.projeto_orlando.service.UserService;
 
 @RestController
@@ -26,34 +38,93 @@ import tech.devleo.projeto_orlando.service.UserService;
 @Tag(name = "Autenticação", description = "Endpoints para autenticação e geração de tokens JWT")
 public class AuthController {
 
-    private final TokenService tokenService;
     private final UserService userService;
+    private final LoginThrottleService loginThrottleService;
+    private final JwtRevocationStore revocationStore;
+    private final CurrentUserService currentUserService;
+    private final RefreshTokenService refreshTokenService;
+    // Executor das requisições assíncronas do MVC: emite os tokens fora do pool de login, que fica só com o BCrypt
+    private final Executor emissaoExecutor;
 
-    public AuthController(TokenService tokenService, UserService userService) {
-        this.tokenService = tokenService;
+    public AuthController(UserService userService, LoginThrottleService loginThrottleService,
+            JwtRevocationStore revocationStore, CurrentUserService currentUserService, RefreshTokenService refreshTokenService,
+            @Qualifier("applicationTaskExecutor") Executor emissaoExecutor) {
         this.userService = userService;
+        this.loginThrottleService = loginThrottleService;
+        this.revocationStore = revocationStore;
+        this.currentUserService = currentUserService;
+        this.refreshTokenService = refreshTokenService;
+        this.emissaoExecutor = emissaoExecutor;
     }
 
-    @Operation(summary = "Fazer login", description = "Autentica um usuário e retorna um token JWT")
+    @Operation(summary = "Fazer login", description = "Autentica um usuário e retorna um token JWT de curta duração e um refresh token")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Login realizado com sucesso",
                 content = @Content(schema = @Schema(implementation = AuthResponse.class))),
         @ApiResponse(responseCode = "401", description = "Credenciais inválidas",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "429", description = "Muitas tentativas de login",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest request) {
-        // Validar credenciais
-        if (!userService.validateCredentials(request.email(), request.password())) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody AuthRequest request, HttpServletRequest httpRequest) {
+        // Limitar tentativas por IP e por email antes de gastar CPU com o hash. O IP é o do cliente mesmo
+        // atrás de proxy: server.forward-headers-strategy=native aplica o X-Forwarded-For de proxies confiáveis
+        String ip = httpRequest.getRemoteAddr();
+        loginThrottleService.registrarTentativa(request.email(), ip);
+
+        // Validar credenciais no pool de login, liberando a thread do servlet enquanto o hash é calculado
+        CompletableFuture<Optional<User>> autenticacao;
+        try {
+            autenticacao = userService.authenticate(request.email(), request.password());
+        } catch (ResponseStatusException e) {
+            // Fila do pool cheia (429): a senha nem foi conferida, então a tentativa não conta
+            loginThrottleService.devolverTentativa(request.email(), ip);
+            throw e;
         }
+        return autenticacao
+                .thenApplyAsync(userOpt -> {
+                    User user = userOpt.orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
+                    // Só tentativas que falharam contam para o limite
+                    loginThrottleService.devolverTentativa(request.email(), ip);
+
+                    // Gerar token JWT com email, userId e empresaId, mais o refresh token que evita novos logins
+                    return ResponseEntity.ok(refreshTokenService.emitir(user));
+                }, emissaoExecutor);
+    }
 
-        // Gerar token JWT usando o email
-        String token = tokenService.generateToken(request.email());
+    @Operation(summary = "Renovar token", description = "Troca um refresh token por um novo token JWT e um novo refresh token, sem verificar a senha")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Token renovado com sucesso",
+                content = @Content(schema = @Schema(implementation = AuthResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado ou já utilizado",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest request) {
+        return ResponseEntity.ok(refreshTokenService.renovar(request.refreshToken()));
+    }
 
-        return ResponseEntity.ok(new AuthResponse(token));
+    @Operation(summary = "Fazer logout", description = "Revoga o token JWT usado na requisição até o seu vencimento e, se informado, o refresh token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Token revogado com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody(required = false) RefreshRequest request) {
+        TenantPrincipal tenant = currentUserService.getCurrentTenant();
+        if (tenant == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+        }
+        revocationStore.revogar(tenant.jti(), tenant.userId(), tenant.expiraEm());
+        if (request != null && request.refreshToken() != null) {
+            refreshTokenService.revogar(request.refreshToken());
+        }
+        return ResponseEntity.noContent().build();
     }
 }
-
@@ -1,6 +1,5 @@
 package tech.devleo.projeto_orlando.controller;
 
-import java.util.List;
 import java.util.UUID;
 
 import org.springframework.http.HttpStatus;
@@ -12,9 +11,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -25,6 +26,7 @@ import jakarta.validation.Valid;
 import tech.devleo.projeto_orlando.dto.ContratoRequest;
 import tech.devleo.projeto_orlando.dto.ContratoResponse;
 import tech.devleo.projeto_orlando.dto.ErrorResponse;
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
 import tech.devleo.projeto_orlando.service.ContratoService;
 
 @RestController
@@ -42,13 +44,16 @@ public class ContratoController {
     @Operation(
         summary = "Listar contratos", 
         description = "Retorna todos os contratos da empresa do usuário autenticado. " +
-                     "Cada contrato inclui seu status (RASCUNHO, ATIVO, CONCLUIDO, CANCELADO) e data de vencimento."
+                     "Cada contrato inclui seu status (RASCUNHO, ATIVO, CONCLUIDO, CANCELADO) e data de vencimento. Paginado por cursor, em ordem de id."
     )
-    @ApiResponse(responseCode = "200", description = "Lista de contratos",
-            content = @Content(schema = @Schema(implementation = ContratoResponse.class)))
+    @ApiResponse(responseCode = "200", description = "Página de contratos")
     @GetMapping
-    public ResponseEntity<List<ContratoResponse>> all() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<PaginaResponse<ContratoResponse>> all(
+            @Parameter(description = "Cursor retornado em next pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Itens por página (padrão 50, máximo 500)", example = "50")
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(service.findAll(cursor, tamanho));
     }
 
     @Operation(
@@ -58,9 +63,7 @@ public class ContratoController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Contrato encontrado",
                 content = @Content(schema = @Schema(implementation = ContratoResponse.class))),
-        @ApiResponse(responseCode = "404", description = "Contrato não encontrado",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Contrato não pertence à sua empresa",
+        @ApiResponse(responseCode = "404", description = "Contrato não encontrado ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{id}")
@@ -79,9 +82,7 @@ public class ContratoController {
                 content = @Content(schema = @Schema(implementation = ContratoResponse.class))),
         @ApiResponse(responseCode = "400", description = "Dados inválidos",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Devedor não pertence à sua empresa",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "404", description = "Devedor não encontrado",
+        @ApiResponse(responseCode = "404", description = "Devedor não encontrado ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping
@@ -98,9 +99,7 @@ public class ContratoController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Contrato atualizado com sucesso",
                 content = @Content(schema = @Schema(implementation = ContratoResponse.class))),
-        @ApiResponse(responseCode = "404", description = "Contrato não encontrado",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Contrato não pertence à sua empresa",
+        @ApiResponse(responseCode = "404", description = "Contrato não encontrado ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "400", description = "Dados inválidos",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
@@ -113,9 +112,7 @@ public class ContratoController {
     @Operation(summary = "Deletar contrato", description = "Remove um contrato da empresa")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Contrato deletado com sucesso"),
-        @ApiResponse(responseCode = "404", description = "Contrato não encontrado",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Contrato não pertence à sua empresa",
+        @ApiResponse(responseCode = "404", description = "Contrato não encontrado ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @DeleteMapping("/{id}")
@@ -1,6 +1,5 @@
 package tech.devleo.projeto_orlando.controller;
 
-import java.util.List;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,9 +10,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -24,6 +26,7 @@ import jakarta.validation.Valid;
 import tech.devleo.projeto_orlando.dto.DevedorRequest;
 import tech.devleo.projeto_orlando.dto.DevedorResponse;
 import tech.devleo.projeto_orlando.dto.ErrorResponse;
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
 import tech.devleo.projeto_orlando.service.DevedorService;
 
 @RestController
@@ -38,26 +41,32 @@ public class DevedorController {
         this.service = service;
     }
 
-    @Operation(summary = "Listar devedores", description = "Retorna todos os devedores da empresa do usuário autenticado")
-    @ApiResponse(responseCode = "200", description = "Lista de devedores",
-            content = @Content(schema = @Schema(implementation = DevedorResponse.class)))
+    @Operation(summary = "Listar devedores", description = "Retorna todos os devedores da empresa do usuário autenticado, em páginas ordenadas por id")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de devedores"),
+        @ApiResponse(responseCode = "304", description = "Não modificado desde a ETag enviada em If-None-Match")
+    })
     @GetMapping
-    public ResponseEntity<List<DevedorResponse>> all() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<PaginaResponse<DevedorResponse>> all(
+            @Parameter(description = "Cursor retornado em next pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Itens por página (padrão 50, máximo 500)", example = "50")
+            @RequestParam(required = false) Integer tamanho,
+            WebRequest request) {
+        return RespostaCondicional.ok(request, service.etag(), () -> service.findAll(cursor, tamanho));
     }
 
     @Operation(summary = "Buscar devedor por ID", description = "Retorna um devedor específico da empresa do usuário")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Devedor encontrado",
                 content = @Content(schema = @Schema(implementation = DevedorResponse.class))),
-        @ApiResponse(responseCode = "404", description = "Devedor não encontrado",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Devedor não pertence à sua empresa",
+        @ApiResponse(responseCode = "304", description = "Não modificado desde a ETag enviada em If-None-Match"),
+        @ApiResponse(responseCode = "404", description = "Devedor não encontrado ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{id}")
-    public ResponseEntity<DevedorResponse> get(@PathVariable String id) {
-        return ResponseEntity.ok(service.findById(id));
+    public ResponseEntity<DevedorResponse> get(@PathVariable String id, WebRequest request) {
+        return RespostaCondicional.ok(request, service.etag(), () -> service.findById(id));
     }
 
     @Operation(summary = "Criar devedor", description = "Cria um novo devedor para a empresa do usuário autenticado")
@@ -76,9 +85,7 @@ public class DevedorController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Devedor atualizado com sucesso",
                 content = @Content(schema = @Schema(implementation = DevedorResponse.class))),
-        @ApiResponse(responseCode = "404", description = "Devedor não encontrado",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Devedor não pertence à sua empresa",
+        @ApiResponse(responseCode = "404", description = "Devedor não encontrado ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PutMapping("/{id}")
@@ -94,9 +101,7 @@ public class DevedorController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Devedor deletado com sucesso (incluindo contratos, dívidas e conta associados)"),
-        @ApiResponse(responseCode = "404", description = "Devedor não encontrado",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Devedor não pertence à sua empresa",
+        @ApiResponse(responseCode = "404", description = "Devedor não encontrado ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @DeleteMapping("/{id}")
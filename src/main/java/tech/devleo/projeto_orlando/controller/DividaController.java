@@ -1,8 +1,11 @@
 package tech.devleo.projeto_orlando.controller;
 
-import java.util.List;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.UUID;
 
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,8 +17,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -23,9 +28,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.dto.DividaBuscaRequest;
 import tech.devleo.projeto_orlando.dto.DividaRequest;
 import tech.devleo.projeto_orlando.dto.DividaResponse;
 import tech.devleo.projeto_orlando.dto.ErrorResponse;
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
 import tech.devleo.projeto_orlando.service.DividaService;
 
 @RestController
@@ -40,50 +48,78 @@ public class DividaController {
         this.service = service;
     }
 
-    @Operation(summary = "Listar dívidas", description = "Retorna todas as dívidas da empresa do usuário autenticado")
-    @ApiResponse(responseCode = "200", description = "Lista de dívidas",
-            content = @Content(schema = @Schema(implementation = DividaResponse.class)))
+    @Operation(summary = "Listar dívidas", description = "Retorna todas as dívidas da empresa do usuário autenticado, em páginas ordenadas por id")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de dívidas"),
+        @ApiResponse(responseCode = "304", description = "Não modificado desde a ETag enviada em If-None-Match")
+    })
     @GetMapping
-    public ResponseEntity<List<DividaResponse>> all() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<PaginaResponse<DividaResponse>> all(
+            @Parameter(description = "Cursor retornado em next pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Itens por página (padrão 50, máximo 500)", example = "50")
+            @RequestParam(required = false) Integer tamanho,
+            WebRequest request) {
+        return RespostaCondicional.ok(request, service.etag(), () -> service.findAll(cursor, tamanho));
     }
 
     @Operation(summary = "Buscar dívida por ID", description = "Retorna uma dívida específica da empresa do usuário")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Dívida encontrada",
                 content = @Content(schema = @Schema(implementation = DividaResponse.class))),
-        @ApiResponse(responseCode = "404", description = "Dívida não encontrada",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Dívida não pertence à sua empresa",
+        @ApiResponse(responseCode = "304", description = "Não modificado desde a ETag enviada em If-None-Match"),
+        @ApiResponse(responseCode = "404", description = "Dívida não encontrada ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{id}")
-    public ResponseEntity<DividaResponse> get(@PathVariable Integer id) {
-        return ResponseEntity.ok(service.findById(id));
+    public ResponseEntity<DividaResponse> get(@PathVariable Integer id, WebRequest request) {
+        return RespostaCondicional.ok(request, service.etag(), () -> service.findById(id));
     }
 
     @Operation(
         summary = "Buscar dívidas", 
-        description = "Busca dívidas com filtros opcionais: valor mínimo, valor máximo e/ou conta específica"
+        description = "Busca dívidas com filtros opcionais: faixa de valor, conta, contrato, período de criação e situação " +
+                     "do pagamento. Retorna páginas de tamanho itens (padrão 50, máximo 500) na ordem pedida; next é o cursor da " +
+                     "próxima página, a ser repetido com os mesmos filtros e ordenação."
     )
-    @ApiResponse(responseCode = "200", description = "Lista de dívidas filtradas",
-            content = @Content(schema = @Schema(implementation = DividaResponse.class)))
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de dívidas filtradas"),
+        @ApiResponse(responseCode = "400", description = "Faixa de valor, período ou cursor inválido",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
     @GetMapping("/search")
-    public ResponseEntity<List<DividaResponse>> search(
-            @io.swagger.v3.oas.annotations.Parameter(description = "Valor mínimo da dívida", example = "100.0")
-            @RequestParam(required = false) Double min,
-            @io.swagger.v3.oas.annotations.Parameter(description = "Valor máximo da dívida", example = "1000.0")
-            @RequestParam(required = false) Double max,
-            @io.swagger.v3.oas.annotations.Parameter(description = "ID da conta (UUID)", example = "123e4567-e89b-12d3-a456-426614174000")
-            @RequestParam(required = false) UUID contaId) {
-        return ResponseEntity.ok(service.search(min, max, contaId));
+    public ResponseEntity<PaginaResponse<DividaResponse>> search(
+            @Parameter(description = "Valor mínimo da dívida", example = "100.00")
+            @RequestParam(required = false) BigDecimal min,
+            @Parameter(description = "Valor máximo da dívida", example = "1000.00")
+            @RequestParam(required = false) BigDecimal max,
+            @Parameter(description = "ID da conta (UUID)", example = "123e4567-e89b-12d3-a456-426614174000")
+            @RequestParam(required = false) UUID contaId,
+            @Parameter(description = "ID do contrato (UUID)")
+            @RequestParam(required = false) UUID contratoId,
+            @Parameter(description = "Criadas a partir deste dia (formato: YYYY-MM-DD)", example = "2024-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @Parameter(description = "Criadas até este dia, inclusive (formato: YYYY-MM-DD)", example = "2024-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @Parameter(description = "true: só pagas; false: só em aberto")
+            @RequestParam(required = false) Boolean pago,
+            @Parameter(description = "Coluna de ordenação (o id desempata)", example = "VALOR")
+            @RequestParam(defaultValue = "ID") DividaBuscaRequest.Ordenacao ordenarPor,
+            @Parameter(description = "ASC ou DESC", example = "DESC")
+            @RequestParam(defaultValue = "ASC") Sort.Direction direcao,
+            @Parameter(description = "Itens por página (padrão 50, máximo 500)", example = "50")
+            @RequestParam(required = false) Integer tamanho,
+            @Parameter(description = "Cursor da página (campo next da resposta anterior)")
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(service.search(new DividaBuscaRequest(
+                min, max, contaId, contratoId, inicio, fim, pago, ordenarPor, direcao, tamanho, cursor)));
     }
 
     @Operation(summary = "Soma de valores por conta", description = "Retorna a soma dos valores das dívidas de uma conta específica")
     @ApiResponse(responseCode = "200", description = "Soma dos valores",
-            content = @Content(schema = @Schema(implementation = Double.class)))
+            content = @Content(schema = @Schema(implementation = Money.class)))
     @GetMapping("/stats/sum-by-conta/{contaId}")
-    public ResponseEntity<Double> sumByConta(@PathVariable UUID contaId) {
+    public ResponseEntity<Money> sumByConta(@PathVariable UUID contaId) {
         return ResponseEntity.ok(service.sumValorByConta(contaId));
     }
 
@@ -101,9 +137,7 @@ public class DividaController {
                 content = @Content(schema = @Schema(implementation = DividaResponse.class))),
         @ApiResponse(responseCode = "400", description = "Dados inválidos",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Conta não pertence à sua empresa",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "404", description = "Conta não encontrada",
+        @ApiResponse(responseCode = "404", description = "Conta não encontrada ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping
@@ -115,9 +149,7 @@ public class DividaController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Dívida atualizada com sucesso",
                 content = @Content(schema = @Schema(implementation = DividaResponse.class))),
-        @ApiResponse(responseCode = "404", description = "Dívida não encontrada",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Dívida não pertence à sua empresa",
+        @ApiResponse(responseCode = "404", description = "Dívida não encontrada ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "400", description = "Dados inválidos",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
@@ -130,9 +162,7 @@ public class DividaController {
     @Operation(summary = "Deletar dívida", description = "Remove uma dívida da empresa")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Dívida deletada com sucesso"),
-        @ApiResponse(responseCode = "404", description = "Dívida não encontrada",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Dívida não pertence à sua empresa",
+        @ApiResponse(responseCode = "404", description = "Dívida não encontrada ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @DeleteMapping("/{id}")
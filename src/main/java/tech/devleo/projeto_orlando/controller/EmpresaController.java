@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -39,12 +40,13 @@ public class EmpresaController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Empresa encontrada",
                 content = @Content(schema = @Schema(implementation = EmpresaResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Não modificado desde a ETag enviada em If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Empresa não encontrada",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/me")
-    public ResponseEntity<EmpresaResponse> getMyEmpresa() {
-        return ResponseEntity.ok(service.getMyEmpresa());
+    public ResponseEntity<EmpresaResponse> getMyEmpresa(WebRequest request) {
+        return RespostaCondicional.ok(request, service.etag(), service::getMyEmpresa);
     }
 
     @Operation(summary = "Criar empresa", description = "Cria uma nova empresa para o usuário autenticado")
@@ -1,6 +1,5 @@
 package tech.devleo.projeto_orlando.controller;
 
-import java.util.List;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,9 +10,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -24,6 +25,7 @@ import jakarta.validation.Valid;
 import tech.devleo.projeto_orlando.dto.ErrorResponse;
 import tech.devleo.projeto_orlando.dto.NotificacaoRequest;
 import tech.devleo.projeto_orlando.dto.NotificacaoResponse;
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
 import tech.devleo.projeto_orlando.service.NotificacaoService;
 
 @RestController
@@ -38,21 +40,22 @@ public class NotificacaoController {
         this.service = service;
     }
 
-    @Operation(summary = "Listar notificações", description = "Retorna todas as notificações da empresa do usuário autenticado")
-    @ApiResponse(responseCode = "200", description = "Lista de notificações",
-            content = @Content(schema = @Schema(implementation = NotificacaoResponse.class)))
+    @Operation(summary = "Listar notificações", description = "Retorna todas as notificações da empresa do usuário autenticado, em páginas ordenadas por id")
+    @ApiResponse(responseCode = "200", description = "Página de notificações")
     @GetMapping
-    public ResponseEntity<List<NotificacaoResponse>> all() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<PaginaResponse<NotificacaoResponse>> all(
+            @Parameter(description = "Cursor retornado em next pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Itens por página (padrão 50, máximo 500)", example = "50")
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(service.findAll(cursor, tamanho));
     }
 
     @Operation(summary = "Buscar notificação por ID", description = "Retorna uma notificação específica da empresa do usuário")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Notificação encontrada",
                 content = @Content(schema = @Schema(implementation = NotificacaoResponse.class))),
-        @ApiResponse(responseCode = "404", description = "Notificação não encontrada",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Notificação não pertence à sua empresa",
+        @ApiResponse(responseCode = "404", description = "Notificação não encontrada ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{id}")
@@ -76,9 +79,7 @@ public class NotificacaoController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Notificação atualizada com sucesso",
                 content = @Content(schema = @Schema(implementation = NotificacaoResponse.class))),
-        @ApiResponse(responseCode = "404", description = "Notificação não encontrada",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Notificação não pertence à sua empresa",
+        @ApiResponse(responseCode = "404", description = "Notificação não encontrada ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "400", description = "Dados inválidos",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
@@ -91,9 +92,7 @@ public class NotificacaoController {
     @Operation(summary = "Deletar notificação", description = "Remove uma notificação da empresa")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Notificação deletada com sucesso"),
-        @ApiResponse(responseCode = "404", description = "Notificação não encontrada",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Notificação não pertence à sua empresa",
+        @ApiResponse(responseCode = "404", description = "Notificação não encontrada ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @DeleteMapping("/{id}")
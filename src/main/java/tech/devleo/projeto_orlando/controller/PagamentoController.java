@@ -28,6 +28,8 @@ import tech.devleo.projeto_orlando.domain.MetodoPagamento;
 import tech.devleo.projeto_orlando.dto.ErrorResponse;
 import tech.devleo.projeto_orlando.dto.PagamentoRequest;
 import tech.devleo.projeto_orlando.dto.PagamentoResponse;
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
+import tech.devleo.projeto_orlando.dto.TotalPorMetodoResponse;
 import tech.devleo.projeto_orlando.service.PagamentoService;
 
 @RestController
@@ -42,10 +44,14 @@ public class PagamentoController {
         this.service = service;
     }
 
-    @Operation(summary = "Listar todos os pagamentos", description = "Retorna todos os pagamentos da empresa logada")
+    @Operation(summary = "Listar todos os pagamentos", description = "Retorna todos os pagamentos da empresa logada, em páginas ordenadas por id")
     @GetMapping
-    public ResponseEntity<List<PagamentoResponse>> all() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<PaginaResponse<PagamentoResponse>> all(
+            @Parameter(description = "Cursor retornado em next pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Itens por página (padrão 50, máximo 500)", example = "50")
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(service.findAll(cursor, tamanho));
     }
 
     @Operation(summary = "Buscar pagamento por ID Composto", 
@@ -73,6 +79,15 @@ public class PagamentoController {
         return ResponseEntity.ok(service.countByMetodo(metodo));
     }
 
+    @Operation(summary = "Totais por método", 
+               description = "Quantidade e valor total dos pagamentos de cada método em uma única consulta. Sem filtro, retorna todos os métodos.")
+    @GetMapping("/stats/por-metodo")
+    public ResponseEntity<List<TotalPorMetodoResponse>> totaisPorMetodo(
+            @Parameter(description = "Métodos desejados (pode repetir)", example = "PIX") 
+            @RequestParam(required = false) List<MetodoPagamento> metodo) {
+        return ResponseEntity.ok(service.totaisPorMetodo(metodo));
+    }
+
     @Operation(summary = "Criar novo pagamento", 
                description = "O valor é herdado automaticamente da dívida informada.")
     @ApiResponses(value = {
@@ -1,9 +1,14 @@
 package tech.devleo.projeto_orlando.controller;
 
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,9 +17,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,8 +34,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import tech.devleo.projeto_orlando.dto.AuditoriaResponse;
 import tech.devleo.projeto_orlando.dto.ErrorResponse;
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
+import tech.devleo.projeto_orlando.dto.RelatorioJobResponse;
 import tech.devleo.projeto_orlando.dto.RelatorioRequest;
 import tech.devleo.projeto_orlando.dto.RelatorioResponse;
+import tech.devleo.projeto_orlando.service.RelatorioExportService;
+import tech.devleo.projeto_orlando.service.RelatorioJobService;
 import tech.devleo.projeto_orlando.service.RelatorioService;
 
 @RestController
@@ -37,27 +48,34 @@ import tech.devleo.projeto_orlando.service.RelatorioService;
 @SecurityRequirement(name = "Bearer Authentication")
 public class RelatorioController {
 
+    private static final int MAX_ESPERA_SEGUNDOS = 30;
+
     private final RelatorioService service;
+    private final RelatorioJobService jobService;
+    private final RelatorioExportService exportService;
 
-    public RelatorioController(RelatorioService service) {
+    public RelatorioController(RelatorioService service, RelatorioJobService jobService, RelatorioExportService exportService) {
         this.service = service;
+        this.jobService = jobService;
+        this.exportService = exportService;
     }
 
-    @Operation(summary = "Listar relatórios", description = "Retorna todos os relatórios das contas da empresa do usuário autenticado")
-    @ApiResponse(responseCode = "200", description = "Lista de relatórios",
-            content = @Content(schema = @Schema(implementation = RelatorioResponse.class)))
+    @Operation(summary = "Listar relatórios", description = "Retorna todos os relatórios das contas da empresa do usuário autenticado, em páginas ordenadas por id")
+    @ApiResponse(responseCode = "200", description = "Página de relatórios")
     @GetMapping
-    public ResponseEntity<List<RelatorioResponse>> all() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<PaginaResponse<RelatorioResponse>> all(
+            @Parameter(description = "Cursor retornado em next pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Itens por página (padrão 50, máximo 500)", example = "50")
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(service.findAll(cursor, tamanho));
     }
 
     @Operation(summary = "Buscar relatório por ID", description = "Retorna um relatório específico da empresa do usuário")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Relatório encontrado",
                 content = @Content(schema = @Schema(implementation = RelatorioResponse.class))),
-        @ApiResponse(responseCode = "404", description = "Relatório não encontrado",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Relatório não pertence à sua empresa",
+        @ApiResponse(responseCode = "404", description = "Relatório não encontrado ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{id}")
@@ -65,6 +83,38 @@ public class RelatorioController {
         return ResponseEntity.ok(service.findById(id));
     }
 
+    @Operation(summary = "Exportar linhas do relatório",
+            description = "Envia em streaming as dívidas e pagamentos por trás do relatório, em CSV ou NDJSON. " +
+                         "Compactado com gzip quando o Accept-Encoding aceita gzip (q maior que zero).")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Linhas do relatório"),
+        @ApiResponse(responseCode = "400", description = "Formato inválido",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Relatório não encontrado ou de outra empresa",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{id}/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable Integer id,
+            @Parameter(description = "csv ou ndjson", example = "csv")
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        RelatorioExportService.Formato formato = RelatorioExportService.Formato.of(format);
+        // Erros de acesso saem aqui, antes de a resposta começar a ser enviada
+        RelatorioExportService.Exportacao exportacao = exportService.preparar(id);
+        boolean gzip = RelatorioExportService.aceitaGzip(acceptEncoding);
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(formato.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("relatorio-" + id + "." + formato.getExtensao()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return resposta.body(out -> exportService.escrever(exportacao, formato, gzip, out));
+    }
+
     @Operation(
         summary = "Criar relatório", 
         description = "Cria um novo relatório. Suporta vários tipos:\n" +
@@ -80,9 +130,7 @@ public class RelatorioController {
                 content = @Content(schema = @Schema(implementation = RelatorioResponse.class))),
         @ApiResponse(responseCode = "400", description = "Dados inválidos ou parâmetros obrigatórios faltando",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Conta não pertence à sua empresa",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "404", description = "Conta não encontrada",
+        @ApiResponse(responseCode = "404", description = "Conta não encontrada ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping
@@ -90,13 +138,47 @@ public class RelatorioController {
         return ResponseEntity.status(HttpStatus.CREATED).body(service.create(req));
     }
 
+    @Operation(
+        summary = "Criar relatório de forma assíncrona",
+        description = "Enfileira a geração do relatório (mesmos tipos e campos do POST síncrono) e retorna 202 com o job. " +
+                     "Acompanhe em /api/relatorios/jobs/{id}; o relatório aparece no job quando o status for CONCLUIDO."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Job enfileirado",
+                content = @Content(schema = @Schema(implementation = RelatorioJobResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos ou parâmetros obrigatórios faltando",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(params = "async=true")
+    public ResponseEntity<RelatorioJobResponse> createAsync(@Valid @RequestBody RelatorioRequest req) {
+        RelatorioJobResponse job = jobService.enfileirar(req);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/relatorios/jobs/" + job.id()))
+                .body(job);
+    }
+
+    @Operation(summary = "Consultar job de relatório",
+            description = "Retorna o status do job. Com aguardarSegundos (até 30) a resposta só é enviada quando o job terminar ou o tempo acabar.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Job encontrado",
+                content = @Content(schema = @Schema(implementation = RelatorioJobResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Job não encontrado",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/jobs/{id}")
+    public CompletableFuture<ResponseEntity<RelatorioJobResponse>> getJob(
+            @PathVariable UUID id,
+            @Parameter(description = "Tempo máximo de espera pela conclusão, em segundos", example = "10")
+            @RequestParam(defaultValue = "0") int aguardarSegundos) {
+        Duration espera = Duration.ofSeconds(Math.max(0, Math.min(aguardarSegundos, MAX_ESPERA_SEGUNDOS)));
+        return jobService.aguardar(id, espera).thenApply(ResponseEntity::ok);
+    }
+
     @Operation(summary = "Atualizar relatório", description = "Atualiza os dados de um relatório da empresa")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Relatório atualizado com sucesso",
                 content = @Content(schema = @Schema(implementation = RelatorioResponse.class))),
-        @ApiResponse(responseCode = "404", description = "Relatório não encontrado",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Relatório não pertence à sua empresa",
+        @ApiResponse(responseCode = "404", description = "Relatório não encontrado ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "400", description = "Dados inválidos",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
@@ -109,9 +191,7 @@ public class RelatorioController {
     @Operation(summary = "Deletar relatório", description = "Remove um relatório da empresa")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Relatório deletado com sucesso"),
-        @ApiResponse(responseCode = "404", description = "Relatório não encontrado",
-                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "403", description = "Relatório não pertence à sua empresa",
+        @ApiResponse(responseCode = "404", description = "Relatório não encontrado ou de outra empresa",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @DeleteMapping("/{id}")
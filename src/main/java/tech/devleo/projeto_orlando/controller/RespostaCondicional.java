@@ -0,0 +1,29 @@
+package tech.devleo.projeto_orlando.controller;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * GET condicional: confere If-None-Match contra a ETag antes de montar o corpo, então um 304 não executa
+ * a consulta da listagem/detalhe. A ETag vem dos contadores de VersaoColecao.
+ */
+final class RespostaCondicional {
+
+    // private: a resposta é da empresa do usuário; no-cache: o cliente guarda, mas revalida a cada uso.
+    // Definir Cache-Control aqui também substitui o no-store padrão do Spring Security
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private RespostaCondicional() {
+    }
+
+    static <T> ResponseEntity<T> ok(WebRequest request, String etag, Supplier<T> corpo) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CACHE_CONTROL).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CACHE_CONTROL).body(corpo.get());
+    }
+}
@@ -2,7 +2,9 @@ package tech.devleo.projeto_orlando.controller;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -16,9 +18,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import tech.devleo.projeto_orlando.domain.User;
+import tech.devleo.projeto_orlando.dto.AlterarSenhaRequest;
 import tech.devleo.projeto_orlando.dto.ErrorResponse;
 import tech.devleo.projeto_orlando.dto.UserRequest;
 import tech.devleo.projeto_orlando.dto.UserResponse;
+import tech.devleo.projeto_orlando.service.CurrentUserService;
 import tech.devleo.projeto_orlando.service.UserService;
 
 @RestController
@@ -27,9 +31,11 @@ import tech.devleo.projeto_orlando.service.UserService;
 public class UserController {
 
     private final UserService userService;
+    private final CurrentUserService currentUserService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, CurrentUserService currentUserService) {
         this.userService = userService;
+        this.currentUserService = currentUserService;
     }
 
     @Operation(summary = "Registrar novo usuário", description = "Cria um novo usuário no sistema")
@@ -60,5 +66,36 @@ public class UserController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
     }
+
+    @Operation(summary = "Alterar senha",
+            description = "Troca a senha do usuário autenticado e encerra todas as sessões: refresh tokens apagados e " +
+                         "access tokens emitidos até agora revogados. É preciso fazer login de novo.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Senha alterada e sessões encerradas"),
+        @ApiResponse(responseCode = "400", description = "Senha atual incorreta ou nova senha inválida",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Não autenticado",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PutMapping("/me/senha")
+    public ResponseEntity<Void> alterarSenha(@Valid @RequestBody AlterarSenhaRequest request) {
+        userService.alterarSenha(currentUserService.getCurrentUserId(), request.senhaAtual(), request.novaSenha());
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Excluir usuário",
+            description = "Exclui o usuário autenticado e revoga todos os seus tokens. A empresa precisa ser removida antes.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Usuário excluído"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "O usuário ainda tem uma empresa",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @DeleteMapping("/me")
+    public ResponseEntity<Void> delete() {
+        userService.delete(currentUserService.getCurrentUserId());
+        return ResponseEntity.noContent().build();
+    }
 }
 
@@ -0,0 +1,41 @@
+package tech.devleo.projeto_orlando.domain;
+
+import java.time.ZonedDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Par de chaves usado para assinar/verificar tokens JWT (conjunto de chaves no estilo JWKS).
+ * A chave mais recente de cada algoritmo é usada para assinar; as anteriores continuam
+ * valendo para verificação até que os tokens assinados com elas expirem.
+ */
+@Entity
+@Table
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChaveAssinatura {
+
+    @Id
+    private String kid;
+
+    @Column(nullable = false)
+    private String algoritmo;
+
+    // X.509 (SubjectPublicKeyInfo) em Base64
+    @Column(nullable = false, length = 4096)
+    private String chavePublica;
+
+    // PKCS#8 em Base64
+    @Column(nullable = false, length = 4096)
+    private String chavePrivada;
+
+    @Column(nullable = false)
+    private ZonedDateTime criadaEm;
+}
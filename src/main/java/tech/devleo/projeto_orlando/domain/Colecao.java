@@ -0,0 +1,12 @@
+package tech.devleo.projeto_orlando.domain;
+
+/**
+ * Recursos cujas leituras respondem GET condicional (ETag). Cada um tem um contador por empresa em VersaoColecao.
+ * RESUMO não tem ETag: muda a cada escrita no ResumoDiario e valida o cache de relatórios entre instâncias.
+ */
+public enum Colecao {
+    DEVEDORES,
+    DIVIDAS,
+    EMPRESA,
+    RESUMO
+}
@@ -1,11 +1,12 @@
 package tech.devleo.projeto_orlando.domain;
 
+import org.hibernate.annotations.Filter;
+
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -15,6 +16,7 @@ import java.util.UUID;
 @Getter
 @Setter
 @NoArgsConstructor
+@Filter(name = Empresa.FILTRO_TENANT, condition = "id in (select d.id from devedor d where d.empresa_id = :empresaId)")
 public class Conta {
 
     @Id
@@ -31,19 +33,72 @@ public class Conta {
     @OneToMany(mappedBy = "conta", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Pagamento> pagamentos = new ArrayList<>();
 
+    /*
+     * Totais desnormalizados, mantidos pelo DividaService/PagamentoService a cada escrita
+     * e conferidos periodicamente contra as linhas pelo ContaReconciliacaoService.
+     * Ler o saldo não carrega as coleções de dívidas e pagamentos.
+     */
+    private Money totalDividas = Money.ZERO;
+
+    private Money totalPagamentos = Money.ZERO;
+
     /**
-     * Calcula o saldo dinamicamente: (Soma dos valores das Dívidas da conta) - (Soma dos valores dos Pagamentos)
+     * Saldo: (Soma dos valores das Dívidas da conta) - (Soma dos valores dos Pagamentos)
      * O valor do pagamento é automaticamente herdado da dívida associada
      */
-    public BigDecimal getSaldo() {
-        BigDecimal totalDividas = dividas.stream()
-                .map(d -> BigDecimal.valueOf(d.getValor() != null ? d.getValor() : 0.0))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private Money saldo = Money.ZERO;
+
+    private Integer quantidadeDividas = 0;
+
+    private Integer quantidadePagamentos = 0;
+
+    // Duas escritas concorrentes na mesma conta não podem sobrescrever os totais uma da outra
+    @Version
+    private Long versao;
+
+    public void registrarDivida(Money valor) {
+        totalDividas = valorOuZero(totalDividas).plus(valor);
+        quantidadeDividas = contagemOuZero(quantidadeDividas) + 1;
+        recalcularSaldo();
+    }
+
+    public void removerDivida(Money valor) {
+        totalDividas = valorOuZero(totalDividas).minus(valor);
+        quantidadeDividas = contagemOuZero(quantidadeDividas) - 1;
+        recalcularSaldo();
+    }
 
-        BigDecimal totalPagamentos = pagamentos.stream()
-                .map(p -> BigDecimal.valueOf(p.getValor() != null ? p.getValor() : 0.0))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public void alterarValorDivida(Money valorAnterior, Money valorNovo) {
+        totalDividas = valorOuZero(totalDividas).minus(valorAnterior).plus(valorNovo);
+        recalcularSaldo();
+    }
+
+    public void registrarPagamento(Money valor) {
+        totalPagamentos = valorOuZero(totalPagamentos).plus(valor);
+        quantidadePagamentos = contagemOuZero(quantidadePagamentos) + 1;
+        recalcularSaldo();
+    }
+
+    public void removerPagamento(Money valor) {
+        totalPagamentos = valorOuZero(totalPagamentos).minus(valor);
+        quantidadePagamentos = contagemOuZero(quantidadePagamentos) - 1;
+        recalcularSaldo();
+    }
+
+    public void alterarValorPagamento(Money valorAnterior, Money valorNovo) {
+        totalPagamentos = valorOuZero(totalPagamentos).minus(valorAnterior).plus(valorNovo);
+        recalcularSaldo();
+    }
+
+    private void recalcularSaldo() {
+        saldo = valorOuZero(totalDividas).minus(valorOuZero(totalPagamentos));
+    }
+
+    private static Money valorOuZero(Money valor) {
+        return valor != null ? valor : Money.ZERO;
+    }
 
-        return totalDividas.subtract(totalPagamentos);
+    private static int contagemOuZero(Integer contagem) {
+        return contagem != null ? contagem : 0;
     }
 }
@@ -5,6 +5,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.annotations.Filter;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -12,6 +14,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -21,10 +24,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table
+@Table(indexes = @Index(name = "idx_contrato_fiadora_id", columnList = "fiadora_id, id"))
 @Getter
 @Setter
 @NoArgsConstructor
+@Filter(name = Empresa.FILTRO_TENANT, condition = "fiadora_id = :empresaId")
 public class Contrato {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -1,29 +1,38 @@
 package tech.devleo.projeto_orlando.domain;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.annotations.Filter;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table
+@Table(indexes = @Index(name = "idx_devedor_empresa_id", columnList = "empresa_id, id"))
 @Getter
 @Setter
 @NoArgsConstructor
+@Filter(name = Empresa.FILTRO_TENANT, condition = "empresa_id = :empresaId")
 public class Devedor {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -47,4 +56,16 @@ public class Devedor {
 
     @OneToMany(mappedBy = "devedor", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Contrato> contratos = new ArrayList<>();
+
+    // Lock otimista: escritas concorrentes no mesmo devedor respondem 409 em vez de sobrescrever uma à outra
+    @Version
+    private Long versao;
+
+    private ZonedDateTime atualizadoEm;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        atualizadoEm = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+    }
 }
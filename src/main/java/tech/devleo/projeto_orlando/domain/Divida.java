@@ -1,13 +1,18 @@
 package tech.devleo.projeto_orlando.domain;
 
+import org.hibernate.annotations.Filter;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -15,16 +20,24 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
 @Entity
-@Table
+@Table(indexes = {
+        @Index(name = "idx_divida_fiadora_data_criacao", columnList = "fiadora_id, dataCriacao"),
+        @Index(name = "idx_divida_fiadora_id", columnList = "fiadora_id, id"),
+        // Combinações comuns da busca (DividaBuscaRepository)
+        @Index(name = "idx_divida_fiadora_valor", columnList = "fiadora_id, valor"),
+        @Index(name = "idx_divida_fiadora_conta", columnList = "fiadora_id, conta_id"),
+        @Index(name = "idx_divida_fiadora_contrato", columnList = "fiadora_id, contrato_id")
+})
 @Getter
 @Setter
+@Filter(name = Empresa.FILTRO_TENANT, condition = "fiadora_id = :empresaId")
 public class Divida {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    private Double valor;
+    private Money valor;
 
     private ZonedDateTime dataCriacao;
 
@@ -40,10 +53,21 @@ public class Divida {
     @JoinColumn(name = "contrato_id")
     private Contrato contrato;
 
+    @Version
+    private Long versao;
+
+    private ZonedDateTime atualizadoEm;
+
     @PrePersist
     protected void onCreate() {
+        atualizadoEm = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
         if (dataCriacao == null) {
-            dataCriacao = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+            dataCriacao = atualizadoEm;
         }
     }
+
+    @PreUpdate
+    protected void onUpdate() {
+        atualizadoEm = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+    }
 }
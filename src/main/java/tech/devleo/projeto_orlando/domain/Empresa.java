@@ -1,9 +1,14 @@
 package tech.devleo.projeto_orlando.domain;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -13,19 +18,32 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+/**
+ * A empresa é o tenant. O filtro FILTRO_TENANT, habilitado na sessão pelo EmpresaService, restringe as consultas
+ * das entidades que pertencem a uma empresa às linhas da empresa do usuário atual. Filtros não valem para
+ * find/findById por chave; essas buscas usam os métodos findByIdAnd...Id dos repositórios.
+ */
 @Entity
 @Table
 @Getter
 @Setter
 @NoArgsConstructor
 @EqualsAndHashCode(of = "id")
+@FilterDef(name = Empresa.FILTRO_TENANT, parameters = @ParamDef(name = Empresa.PARAMETRO_TENANT, type = UUID.class))
 public class Empresa {
+
+    public static final String FILTRO_TENANT = "tenant";
+    public static final String PARAMETRO_TENANT = "empresaId";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -49,4 +67,15 @@ public class Empresa {
 
     @OneToMany(mappedBy = "fiadora", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Divida> dividasFiadas = new ArrayList<>();
+
+    @Version
+    private Long versao;
+
+    private ZonedDateTime atualizadoEm;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        atualizadoEm = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+    }
 }
@@ -0,0 +1,21 @@
+package tech.devleo.projeto_orlando.domain;
+
+/**
+ * Faixas de atraso do relatório INADIMPLENCIA, em dias desde a criação da dívida.
+ */
+public enum FaixaAtraso {
+    ATE_30_DIAS(30),
+    DE_31_A_60_DIAS(60),
+    DE_61_A_90_DIAS(90),
+    ACIMA_DE_90_DIAS(Integer.MAX_VALUE);
+
+    private final int diasMaximo;
+
+    FaixaAtraso(int diasMaximo) {
+        this.diasMaximo = diasMaximo;
+    }
+
+    public int getDiasMaximo() {
+        return diasMaximo;
+    }
+}
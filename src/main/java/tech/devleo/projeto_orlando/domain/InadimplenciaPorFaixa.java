@@ -0,0 +1,30 @@
+package tech.devleo.projeto_orlando.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Linha do detalhamento por faixa de atraso de um relatório INADIMPLENCIA.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class InadimplenciaPorFaixa {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private FaixaAtraso faixa;
+
+    private long quantidade;
+
+    @Column(nullable = false)
+    private Money total = Money.ZERO;
+}
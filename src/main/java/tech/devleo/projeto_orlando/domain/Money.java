@@ -0,0 +1,97 @@
+package tech.devleo.projeto_orlando.domain;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Valor monetário em reais guardado como long de centavos.
+ * Soma e subtração são exatas (sem deriva de double) e não alocam BigDecimal;
+ * no banco é persistido como BIGINT pelo MoneyConverter e no JSON aparece como número decimal (ex.: 1500.50).
+ */
+@Schema(type = "number", example = "1500.50")
+public record Money(long centavos) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Money(centavos);
+    }
+
+    public static Money ofCentavos(Long centavos) {
+        return centavos != null ? ofCentavos(centavos.longValue()) : ZERO;
+    }
+
+    /**
+     * Converte um valor em reais. Valores com mais de duas casas decimais são rejeitados para não perder centavos silenciosamente.
+     */
+    @JsonCreator
+    public static Money of(BigDecimal reais) {
+        try {
+            return ofCentavos(reais.movePointRight(2).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor monetário inválido: " + reais, e);
+        }
+    }
+
+    public static Money of(String reais) {
+        return of(new BigDecimal(reais));
+    }
+
+    /**
+     * Soma os valores extraídos dos itens acumulando em um long primitivo, sem criar objetos intermediários.
+     */
+    public static <T> Money somar(Iterable<T> itens, Function<? super T, Money> valor) {
+        long total = 0;
+        for (T item : itens) {
+            Money m = valor.apply(item);
+            if (m != null) {
+                total = Math.addExact(total, m.centavos);
+            }
+        }
+        return ofCentavos(total);
+    }
+
+    public static Money somar(long[] centavos) {
+        long total = 0;
+        for (long c : centavos) {
+            total = Math.addExact(total, c);
+        }
+        return ofCentavos(total);
+    }
+
+    public Money plus(Money outro) {
+        return outro == null || outro.centavos == 0 ? this : ofCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Money minus(Money outro) {
+        return outro == null || outro.centavos == 0 ? this : ofCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    public boolean isPositivo() {
+        return centavos > 0;
+    }
+
+    @JsonValue
+    public BigDecimal toReais() {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    public double toDouble() {
+        return centavos / 100.0;
+    }
+
+    @Override
+    public int compareTo(Money outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public String toString() {
+        return toReais().toPlainString();
+    }
+}
@@ -0,0 +1,21 @@
+package tech.devleo.projeto_orlando.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Persiste Money como BIGINT de centavos em todos os atributos do tipo.
+ */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Money money) {
+        return money != null ? money.centavos() : null;
+    }
+
+    @Override
+    public Money convertToEntityAttribute(Long centavos) {
+        return centavos != null ? Money.ofCentavos(centavos.longValue()) : null;
+    }
+}
@@ -3,10 +3,13 @@ package tech.devleo.projeto_orlando.domain;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
+import org.hibernate.annotations.Filter;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -15,10 +18,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table
+@Table(indexes = @Index(name = "idx_notificacao_empresa_id", columnList = "empresa_id, id"))
 @Getter
 @Setter
 @NoArgsConstructor
+@Filter(name = Empresa.FILTRO_TENANT, condition = "empresa_id = :empresaId")
 public class Notificacao {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -3,11 +3,15 @@ package tech.devleo.projeto_orlando.domain;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
+import org.hibernate.annotations.Filter;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MapsId;
@@ -20,10 +24,14 @@ import lombok.Setter;
 import tech.devleo.projeto_orlando.domain.Pk.PagamentoId;
 
 @Entity
-@Table
+@Table(indexes = {
+        @Index(name = "idx_pagamento_data_pagamento", columnList = "dataPagamento"),
+        @Index(name = "idx_pagamento_empresa_divida", columnList = "empresa_id, divida_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
+@Filter(name = Empresa.FILTRO_TENANT, condition = "empresa_id = :empresaId")
 public class Pagamento {
 
     // Substitui o ID antigo pela chave composta
@@ -31,7 +39,7 @@ public class Pagamento {
     private PagamentoId id;
     
     @Column(nullable = false)
-    private Double valor;
+    private Money valor;
     
     @Enumerated(EnumType.STRING) // Boa prática: definir o tipo do Enum no banco
     private MetodoPagamento metodo;
@@ -48,6 +56,11 @@ public class Pagamento {
     @JoinColumn(name = "conta_id")
     private Conta conta;
 
+    // Cópia da fiadora da dívida: a listagem por empresa segue o índice (empresa_id, divida_id), sem junções
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "empresa_id", nullable = false)
+    private Empresa empresa;
+
     @PrePersist
     protected void onCreate() {
         if (dataPagamento == null) {
@@ -57,5 +70,8 @@ public class Pagamento {
         if (this.id == null && this.divida != null && this.conta != null) {
             this.id = new PagamentoId(this.divida.getId(), this.conta.getId());
         }
+        if (this.empresa == null && this.divida != null) {
+            this.empresa = this.divida.getFiadora();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package tech.devleo.projeto_orlando.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Linha do detalhamento por método de pagamento de um relatório RECEBIMENTOS.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecebimentoPorMetodo {
+
+    // Nulo apenas para pagamentos antigos gravados sem método
+    @Enumerated(EnumType.STRING)
+    private MetodoPagamento metodo;
+
+    private long quantidade;
+
+    @Column(nullable = false)
+    private Money total = Money.ZERO;
+}
@@ -0,0 +1,56 @@
+package tech.devleo.projeto_orlando.domain;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Refresh token opaco, guardado apenas como hash SHA-256.
+ * Cada uso gera um novo token da mesma família; reutilizar um token já usado revoga a família inteira.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_refresh_token_hash", columnList = "tokenHash", unique = true),
+        @Index(name = "idx_refresh_token_familia", columnList = "familia"),
+        @Index(name = "idx_refresh_token_expira_em", columnList = "expiraEm")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private UUID familia;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private ZonedDateTime criadoEm;
+
+    @Column(nullable = false)
+    private ZonedDateTime expiraEm;
+
+    private ZonedDateTime usadoEm;
+}
@@ -2,13 +2,22 @@ package tech.devleo.projeto_orlando.domain;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Filter;
+
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -17,10 +26,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table
+@Table(indexes = @Index(name = "idx_relatorio_empresa_id", columnList = "empresa_id, id"))
 @Getter
 @Setter
 @NoArgsConstructor
+@Filter(name = Empresa.FILTRO_TENANT, condition = "empresa_id = :empresaId")
 public class Relatorio {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,16 +40,21 @@ public class Relatorio {
     @Column(nullable = false)
     private TipoRelatorio tipo = TipoRelatorio.MANUAL;
 
-    private Double valorMovimentado;
+    private Money valorMovimentado;
 
     // Campos calculados para relatórios automáticos
-    private Double totalDividas;
-    private Double totalPagamentos;
+    private Money totalDividas;
+    private Money totalPagamentos;
     private Integer quantidadeDividas;
     private Integer quantidadePagamentos;
     private Integer quantidadeContas;
     private String descricao;
 
+    // Dona do relatório; relatórios consolidados, de período etc. não têm conta para indicar a empresa
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "empresa_id", nullable = false)
+    private Empresa empresa;
+
     @ManyToOne
     @JoinColumn(name = "conta_id")
     private Conta conta;
@@ -50,4 +65,18 @@ public class Relatorio {
     private ZonedDateTime dataInicio;
     private ZonedDateTime dataFim;
 
+    // Filtro usado por relatórios INADIMPLENCIA, guardado para que a exportação traga as mesmas dívidas
+    private Money valorMinimoInadimplencia;
+
+    // Apenas relatórios RECEBIMENTOS; BatchSize carrega as listas de vários relatórios em uma consulta no findAll
+    @ElementCollection
+    @CollectionTable(name = "relatorio_recebimento", joinColumns = @JoinColumn(name = "relatorio_id"))
+    @BatchSize(size = 50)
+    private List<RecebimentoPorMetodo> recebimentosPorMetodo = new ArrayList<>();
+
+    // Apenas relatórios INADIMPLENCIA
+    @ElementCollection
+    @CollectionTable(name = "relatorio_inadimplencia", joinColumns = @JoinColumn(name = "relatorio_id"))
+    @BatchSize(size = 50)
+    private List<InadimplenciaPorFaixa> inadimplenciaPorFaixa = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package tech.devleo.projeto_orlando.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Pedido de geração assíncrona de relatório. Guarda os parâmetros do RelatorioRequest para que jobs
+ * pendentes sobrevivam a um restart; o relatório gerado fica em relatorioId.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_relatorio_job_status_criado_em", columnList = "status, criadoEm"),
+        @Index(name = "idx_relatorio_job_empresa", columnList = "empresa_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RelatorioJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "empresa_id", nullable = false)
+    private Empresa empresa;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusRelatorioJob status = StatusRelatorioJob.PENDENTE;
+
+    // Parâmetros do pedido
+    @Enumerated(EnumType.STRING)
+    private TipoRelatorio tipo;
+    private BigDecimal valorMovimentado;
+    private String contaId;
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+    private BigDecimal valorMinimoInadimplencia;
+    private String descricao;
+
+    private Integer relatorioId;
+    private String erro;
+    private int tentativas;
+
+    // Token da reserva atual: só o worker que a detém pode finalizar o job (ver RelatorioJobRepository.finalizar)
+    private UUID reserva;
+
+    @Column(nullable = false)
+    private ZonedDateTime criadoEm;
+    private ZonedDateTime iniciadoEm;
+    private ZonedDateTime concluidoEm;
+}
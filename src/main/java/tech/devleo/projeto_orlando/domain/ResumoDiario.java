@@ -0,0 +1,60 @@
+package tech.devleo.projeto_orlando.domain;
+
+import java.time.LocalDate;
+
+import org.hibernate.annotations.Filter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Totais pré-agregados por (empresa, dia, método de pagamento), mantidos a cada escrita de Divida/Pagamento.
+ * Linhas com metodo nulo guardam as dívidas do dia; as demais guardam os pagamentos daquele método.
+ * Os relatórios de período somam estas linhas em vez de varrer as dívidas e pagamentos.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_resumo_diario_empresa_dia", columnList = "empresa_id, dia"))
+@Getter
+@Setter
+@NoArgsConstructor
+@Filter(name = Empresa.FILTRO_TENANT, condition = "empresa_id = :empresaId")
+public class ResumoDiario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "empresa_id", nullable = false)
+    private Empresa empresa;
+
+    // Dia no fuso America/Sao_Paulo, o mesmo usado para montar os períodos dos relatórios
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Enumerated(EnumType.STRING)
+    private MetodoPagamento metodo;
+
+    private long quantidadeDividas;
+
+    @Column(nullable = false)
+    private Money totalDividas = Money.ZERO;
+
+    private long quantidadePagamentos;
+
+    @Column(nullable = false)
+    private Money totalPagamentos = Money.ZERO;
+}
@@ -0,0 +1,8 @@
+package tech.devleo.projeto_orlando.domain;
+
+public enum StatusRelatorioJob {
+    PENDENTE,
+    EXECUTANDO,
+    CONCLUIDO,
+    FALHOU
+}
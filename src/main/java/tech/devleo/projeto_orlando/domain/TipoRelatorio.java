@@ -24,6 +24,11 @@ public enum TipoRelatorio {
      */
     PERIODO,
     
+    /**
+     * Relatório de inadimplência - dívidas sem pagamento, por faixa de atraso
+     * Calcula: quantidade e total em aberto por faixa (0-30, 31-60, 61-90, 90+ dias), contas inadimplentes
+     */
+    INADIMPLENCIA,
     
     /**
      * Relatório de recebimentos - pagamentos em um período
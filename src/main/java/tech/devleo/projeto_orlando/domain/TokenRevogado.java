@@ -0,0 +1,36 @@
+package tech.devleo.projeto_orlando.domain;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Token JWT revogado antes do exp (logout ou revogação forçada), identificado pelo jti.
+ * O registro só precisa existir até o exp do token; depois disso o próprio token já é rejeitado.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_token_revogado_expira_em", columnList = "expiraEm"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class TokenRevogado {
+
+    @Id
+    private String jti;
+
+    private UUID userId;
+
+    @Column(nullable = false)
+    private ZonedDateTime expiraEm;
+
+    @Column(nullable = false)
+    private ZonedDateTime revogadoEm;
+}
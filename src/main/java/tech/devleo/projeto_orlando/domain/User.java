@@ -36,6 +36,10 @@ public class User {
 
     private boolean enabled = true;
 
+    // Incrementada a cada criação/remoção da empresa; o token guarda o valor da emissão (ver EmpresaService)
+    @Column(nullable = false)
+    private long empresaVersao;
+
     @OneToOne(mappedBy = "dono", cascade = CascadeType.ALL, orphanRemoval = true)
     private Empresa empresa;
 }
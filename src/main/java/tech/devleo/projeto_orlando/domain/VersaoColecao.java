@@ -0,0 +1,42 @@
+package tech.devleo.projeto_orlando.domain;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Contador de alterações por (empresa, coleção), incrementado na mesma transação de cada escrita que muda
+ * o que a coleção retorna. As leituras usam o valor como ETag: se ele não mudou, a resposta também não.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_versao_colecao_empresa", columnList = "empresa_id, colecao"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class VersaoColecao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Sem chave estrangeira: o contador não impede nem depende da ordem do delete em cascata da empresa
+    @Column(name = "empresa_id", nullable = false)
+    private UUID empresaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Colecao colecao;
+
+    private long versao;
+}
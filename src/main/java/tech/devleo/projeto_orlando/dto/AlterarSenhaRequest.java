@@ -0,0 +1,13 @@
+package tech.devleo.projeto_orlando.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record AlterarSenhaRequest(
+        @Schema(description = "Senha atual", example = "SenhaForte123!")
+        @NotBlank String senhaAtual,
+
+        @Schema(description = "Nova senha (mínimo 6 caracteres)", example = "OutraSenha456!")
+        @NotBlank @Size(min = 6) String novaSenha
+    ) {}
@@ -1,7 +1,9 @@
 package tech.devleo.projeto_orlando.dto;
 
+import tech.devleo.projeto_orlando.domain.Money;
+
 public record AuditoriaResponse(
-        Double valorTotalDividas,
+        Money valorTotalDividas,
         Long totalPagamentos,
         String periodoInicio,
         String periodoFim
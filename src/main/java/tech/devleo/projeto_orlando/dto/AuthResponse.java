@@ -1,8 +1,11 @@
 package tech.devleo.projeto_orlando.dto;
 
-public record AuthResponse(String token, String type) {
+public record AuthResponse(String token, String type, String refreshToken) {
     public AuthResponse(String token) {
-        this(token, "Bearer");
+        this(token, "Bearer", null);
     }
-}
 
+    public AuthResponse(String token, String refreshToken) {
+        this(token, "Bearer", refreshToken);
+    }
+}
@@ -0,0 +1,33 @@
+package tech.devleo.projeto_orlando.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Filtros da busca de dívidas; campos nulos não filtram. inicio e fim são dias inteiros (fuso America/Sao_Paulo)
+ * da data de criação; pago filtra por ter ou não pagamento. cursor é o next da página anterior, com os mesmos
+ * filtros e ordenação.
+ */
+public record DividaBuscaRequest(
+    BigDecimal min,
+    BigDecimal max,
+    UUID contaId,
+    UUID contratoId,
+    LocalDate inicio,
+    LocalDate fim,
+    Boolean pago,
+    Ordenacao ordenarPor,
+    Sort.Direction direcao,
+    Integer tamanho,
+    String cursor
+) {
+
+    public enum Ordenacao {
+        ID,
+        VALOR,
+        DATA_CRIACAO
+    }
+}
@@ -2,5 +2,7 @@ package tech.devleo.projeto_orlando.dto;
 
 import java.util.UUID;
 
-public record DividaResponse(Integer id, Double valor, UUID contaId, UUID fiadoraId) {
+import tech.devleo.projeto_orlando.domain.Money;
+
+public record DividaResponse(Integer id, Money valor, UUID contaId, UUID fiadoraId) {
 }
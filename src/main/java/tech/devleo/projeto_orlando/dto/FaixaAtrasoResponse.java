@@ -0,0 +1,11 @@
+package tech.devleo.projeto_orlando.dto;
+
+import tech.devleo.projeto_orlando.domain.FaixaAtraso;
+import tech.devleo.projeto_orlando.domain.Money;
+
+public record FaixaAtrasoResponse(
+        FaixaAtraso faixa,
+        long quantidade,
+        Money total
+) {
+}
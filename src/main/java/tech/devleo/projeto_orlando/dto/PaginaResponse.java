@@ -0,0 +1,11 @@
+package tech.devleo.projeto_orlando.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record PaginaResponse<T>(
+    List<T> itens,
+    @Schema(description = "Cursor da próxima página (parâmetro cursor); nulo na última página")
+    String next
+) {}
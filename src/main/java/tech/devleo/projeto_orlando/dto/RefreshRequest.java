@@ -0,0 +1,8 @@
+package tech.devleo.projeto_orlando.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshRequest(
+                @Schema(description = "Refresh token recebido no login ou no último refresh") @NotBlank String refreshToken) {
+}
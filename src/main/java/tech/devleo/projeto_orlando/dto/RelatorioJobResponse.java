@@ -0,0 +1,21 @@
+package tech.devleo.projeto_orlando.dto;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import tech.devleo.projeto_orlando.domain.StatusRelatorioJob;
+import tech.devleo.projeto_orlando.domain.TipoRelatorio;
+
+public record RelatorioJobResponse(
+    UUID id,
+    StatusRelatorioJob status,
+    TipoRelatorio tipo,
+    ZonedDateTime criadoEm,
+    ZonedDateTime iniciadoEm,
+    ZonedDateTime concluidoEm,
+    @Schema(description = "Motivo da falha quando status = FALHOU")
+    String erro,
+    @Schema(description = "Relatório gerado quando status = CONCLUIDO")
+    RelatorioResponse relatorio
+) {}
@@ -1,5 +1,6 @@
 package tech.devleo.projeto_orlando.dto;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -10,7 +11,7 @@ public record RelatorioRequest(
     TipoRelatorio tipo,
     
     @Schema(description = "Apenas para tipo MANUAL", example = "100.00")
-    Double valorMovimentado,
+    BigDecimal valorMovimentado,
     
     @Schema(description = "Obrigatório para CONTA_ESPECIFICA", example = "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11")
     String contaId,
@@ -22,7 +23,7 @@ public record RelatorioRequest(
     LocalDate dataFim,
     
     @Schema(description = "Opcional para INADIMPLENCIA", example = "500.00")
-    Double valorMinimoInadimplencia,
+    BigDecimal valorMinimoInadimplencia,
     
     @Schema(description = "Descrição personalizada", example = "Relatório de fechamento de Janeiro")
     String descricao
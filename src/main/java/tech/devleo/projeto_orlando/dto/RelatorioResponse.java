@@ -1,15 +1,17 @@
 package tech.devleo.projeto_orlando.dto;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 
+import tech.devleo.projeto_orlando.domain.Money;
 import tech.devleo.projeto_orlando.domain.TipoRelatorio;
 
 public record RelatorioResponse(
         Integer id,
         TipoRelatorio tipo,
-        Double valorMovimentado,
-        Double totalDividas,
-        Double totalPagamentos,
+        Money valorMovimentado,
+        Money totalDividas,
+        Money totalPagamentos,
         Integer quantidadeDividas,
         Integer quantidadePagamentos,
         Integer quantidadeContas,
@@ -17,6 +19,10 @@ public record RelatorioResponse(
         java.util.UUID contaId,
         ZonedDateTime dataGeracao,
         ZonedDateTime dataInicio,
-        ZonedDateTime dataFim
+        ZonedDateTime dataFim,
+        // Preenchido apenas em relatórios RECEBIMENTOS, com todos os métodos (inclusive os zerados)
+        List<TotalPorMetodoResponse> recebimentosPorMetodo,
+        // Preenchido apenas em relatórios INADIMPLENCIA, com todas as faixas
+        List<FaixaAtrasoResponse> faixasAtraso
 ) {
 }
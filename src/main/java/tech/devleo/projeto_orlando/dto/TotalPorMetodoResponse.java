@@ -0,0 +1,11 @@
+package tech.devleo.projeto_orlando.dto;
+
+import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
+
+public record TotalPorMetodoResponse(
+        MetodoPagamento metodo,
+        long quantidade,
+        Money total
+) {
+}
@@ -0,0 +1,11 @@
+package tech.devleo.projeto_orlando.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import tech.devleo.projeto_orlando.domain.ChaveAssinatura;
+
+public interface ChaveAssinaturaRepository extends JpaRepository<ChaveAssinatura, String> {
+    List<ChaveAssinatura> findByAlgoritmoOrderByCriadaEmDesc(String algoritmo);
+}
@@ -1,17 +1,26 @@
 package tech.devleo.projeto_orlando.repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.QueryHint;
 import tech.devleo.projeto_orlando.domain.Conta;
 import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.Money;
 
 public interface ContaRepository extends JpaRepository<Conta, UUID> {
 
+	// Vazio quando a conta não existe ou o devedor é de outra empresa (conta e devedor compartilham o id)
+	Optional<Conta> findByIdAndDevedorEmpresaId(UUID id, UUID empresaId);
+
 	@Query("select c from Conta c join c.devedor d where d.empresa = :empresa")
 	List<Conta> findByDevedorEmpresa(@Param("empresa") Empresa empresa);
 
@@ -19,4 +28,64 @@ public interface ContaRepository extends JpaRepository<Conta, UUID> {
 
 	@Query("select c from Conta c where c.devedor.empresa = :empresa and (:devedorName is null or lower(c.devedor.name) like lower(concat('%', :devedorName, '%')))")
 	List<Conta> findByFiltersAndEmpresa(@Param("devedorName") String devedorName, @Param("empresa") Empresa empresa);
+
+	// Relatório consolidado: uma única linha agregada a partir dos totais desnormalizados, sem carregar as contas
+	@QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "30000"))
+	@Query("""
+			select count(c) as quantidadeContas,
+				sum(c.totalDividas) as totalDividas, sum(c.totalPagamentos) as totalPagamentos, sum(c.saldo) as saldo,
+				sum(c.quantidadeDividas) as quantidadeDividas, sum(c.quantidadePagamentos) as quantidadePagamentos
+			from Conta c
+			where c.devedor.empresa = :empresa""")
+	TotaisEmpresa sumTotaisByEmpresa(@Param("empresa") Empresa empresa);
+
+	// Totais gravados na Conta lado a lado com os recalculados a partir das linhas de Divida/Pagamento
+	@Query("""
+			select c.id as contaId, c.devedor.empresa.id as empresaId, c.versao as versao,
+				c.totalDividas as totalDividas, c.totalPagamentos as totalPagamentos,
+				c.quantidadeDividas as quantidadeDividas, c.quantidadePagamentos as quantidadePagamentos,
+				(select sum(d.valor) from Divida d where d.conta = c) as totalDividasReal,
+				(select sum(p.valor) from Pagamento p where p.conta = c) as totalPagamentosReal,
+				(select count(d) from Divida d where d.conta = c) as quantidadeDividasReal,
+				(select count(p) from Pagamento p where p.conta = c) as quantidadePagamentosReal
+			from Conta c""")
+	List<TotaisConta> findTotaisParaReconciliacao();
+
+	// Corrige os totais apenas se a conta não mudou desde a leitura (mesma versão)
+	@Transactional
+	@Modifying
+	@Query("""
+			update Conta c set c.totalDividas = :totalDividas, c.totalPagamentos = :totalPagamentos,
+				c.saldo = :saldo,
+				c.quantidadeDividas = :quantidadeDividas, c.quantidadePagamentos = :quantidadePagamentos,
+				c.versao = coalesce(c.versao, 0) + 1
+			where c.id = :id and (c.versao = :versao or (c.versao is null and :versao is null))""")
+	int corrigirTotais(@Param("id") UUID id, @Param("versao") Long versao,
+			@Param("totalDividas") Money totalDividas, @Param("totalPagamentos") Money totalPagamentos, @Param("saldo") Money saldo,
+			@Param("quantidadeDividas") int quantidadeDividas, @Param("quantidadePagamentos") int quantidadePagamentos);
+
+	// Somas em centavos; nulas quando a empresa não tem contas
+	interface TotaisEmpresa {
+		Long getQuantidadeContas();
+		Long getTotalDividas();
+		Long getTotalPagamentos();
+		Long getSaldo();
+		Long getQuantidadeDividas();
+		Long getQuantidadePagamentos();
+	}
+
+	interface TotaisConta {
+		UUID getContaId();
+		UUID getEmpresaId();
+		Long getVersao();
+		Money getTotalDividas();
+		Money getTotalPagamentos();
+		Integer getQuantidadeDividas();
+		Integer getQuantidadePagamentos();
+		// Somas em centavos; nulas quando a conta não tem linhas
+		Long getTotalDividasReal();
+		Long getTotalPagamentosReal();
+		Long getQuantidadeDividasReal();
+		Long getQuantidadePagamentosReal();
+	}
 }
@@ -1,15 +1,33 @@
 package tech.devleo.projeto_orlando.repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import tech.devleo.projeto_orlando.domain.Contrato;
 import tech.devleo.projeto_orlando.domain.Devedor;
 import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.dto.ContratoResponse;
 
 public interface ContratoRepository extends JpaRepository<Contrato, UUID> {
-    List<Contrato> findByEmpresa(Empresa empresa);
+    // Vazio quando o contrato não existe ou é de outra empresa: id e fiadora_id conferidos na mesma consulta
+    Optional<Contrato> findByIdAndEmpresaId(UUID id, UUID empresaId);
+
+    // Páginas da listagem por keyset, pelo índice (fiadora_id, id); empresa e devedor saem das chaves estrangeiras
+    @Query("select new tech.devleo.projeto_orlando.dto.ContratoResponse(c.id, c.texto_contrato, c.empresa.id, c.devedor.id, "
+            + "c.vencimentoContrato, c.status) "
+            + "from Contrato c where c.empresa = :empresa order by c.id")
+    List<ContratoResponse> findPrimeiraPaginaByEmpresa(@Param("empresa") Empresa empresa, Limit limite);
+
+    @Query("select new tech.devleo.projeto_orlando.dto.ContratoResponse(c.id, c.texto_contrato, c.empresa.id, c.devedor.id, "
+            + "c.vencimentoContrato, c.status) "
+            + "from Contrato c where c.empresa = :empresa and c.id > :apos order by c.id")
+    List<ContratoResponse> findPaginaByEmpresaApos(@Param("empresa") Empresa empresa, @Param("apos") UUID apos, Limit limite);
+
     List<Contrato> findByDevedor(Devedor devedor);
 }
@@ -1,13 +1,31 @@
 package tech.devleo.projeto_orlando.repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import tech.devleo.projeto_orlando.domain.Devedor;
 import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.dto.DevedorResponse;
 
 public interface DevedorRepository extends JpaRepository<Devedor, UUID> {
     List<Devedor> findByEmpresa(Empresa empresa);
+
+    // Vazio quando o devedor não existe ou é de outra empresa
+    Optional<Devedor> findByIdAndEmpresaId(UUID id, UUID empresaId);
+
+    // Página da listagem em uma única consulta (keyset pelo índice (empresa_id, id)): o saldo vem da coluna
+    // desnormalizada da Conta, sem carregar entidades
+    @Query("select new tech.devleo.projeto_orlando.dto.DevedorResponse(d.id, d.name, d.cpf, d.email, c.saldo) "
+            + "from Devedor d join d.conta c where d.empresa = :empresa order by d.id")
+    List<DevedorResponse> findResponsesByEmpresa(@Param("empresa") Empresa empresa, Limit limite);
+
+    @Query("select new tech.devleo.projeto_orlando.dto.DevedorResponse(d.id, d.name, d.cpf, d.email, c.saldo) "
+            + "from Devedor d join d.conta c where d.empresa = :empresa and d.id > :apos order by d.id")
+    List<DevedorResponse> findResponsesByEmpresaApos(@Param("empresa") Empresa empresa, @Param("apos") UUID apos, Limit limite);
 }
@@ -0,0 +1,43 @@
+package tech.devleo.projeto_orlando.repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.dto.DividaBuscaRequest;
+import tech.devleo.projeto_orlando.dto.DividaResponse;
+
+/**
+ * Busca de dívidas montada com Criteria: só os filtros informados viram predicados, então cada combinação
+ * tem a sua consulta (e o seu plano), em vez de um "(:x is null or ...)" genérico que impede o uso dos índices.
+ */
+public interface DividaBuscaRepository {
+
+    List<Linha> buscar(Empresa empresa, Filtro filtro, int limite);
+
+    /**
+     * Filtros já convertidos; campos nulos não filtram. O período é [inicio, fim). apos é a chave do último item da
+     * página anterior (nulo na primeira).
+     */
+    record Filtro(Money min, Money max, UUID contaId, UUID contratoId, ZonedDateTime inicio, ZonedDateTime fim,
+            Boolean pago, DividaBuscaRequest.Ordenacao ordenarPor, Sort.Direction direcao, Apos apos) {
+    }
+
+    /**
+     * Chave de continuação (coluna de ordenação, id): só o campo da ordenação pedida é preenchido, além do id.
+     */
+    record Apos(Money valor, ZonedDateTime dataCriacao, Integer id) {
+    }
+
+    // Item da busca com a data de criação, necessária para o cursor quando a ordenação é por ela
+    record Linha(Integer id, Money valor, UUID contaId, UUID fiadoraId, ZonedDateTime dataCriacao) {
+
+        public DividaResponse toResponse() {
+            return new DividaResponse(id, valor, contaId, fiadoraId);
+        }
+    }
+}
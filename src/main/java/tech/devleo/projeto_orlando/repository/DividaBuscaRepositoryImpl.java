@@ -0,0 +1,128 @@
+package tech.devleo.projeto_orlando.repository;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import tech.devleo.projeto_orlando.domain.Divida;
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.domain.Pagamento;
+import tech.devleo.projeto_orlando.dto.DividaBuscaRequest;
+
+/**
+ * Implementação do fragmento DividaBuscaRepository. Os valores entram como parâmetros e o plano de cada formato
+ * de consulta fica no cache do Hibernate (hibernate.criteria.plan_cache_enabled). Índices usados por formato:
+ * (fiadora_id, dataCriacao) para período, (fiadora_id, valor) para faixa de valor ou ordenação por valor,
+ * (fiadora_id, conta_id) e (fiadora_id, contrato_id) para conta e contrato, chave do Pagamento para pago.
+ */
+class DividaBuscaRepositoryImpl implements DividaBuscaRepository {
+
+    private final EntityManager entityManager;
+
+    DividaBuscaRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Linha> buscar(Empresa empresa, Filtro filtro, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Linha> query = cb.createQuery(Linha.class);
+        Root<Divida> d = query.from(Divida.class);
+
+        List<Predicate> predicados = new ArrayList<>();
+        predicados.add(cb.equal(d.get("fiadora"), empresa));
+        if (filtro.min() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(d.<Money>get("valor"), filtro.min()));
+        }
+        if (filtro.max() != null) {
+            predicados.add(cb.lessThanOrEqualTo(d.<Money>get("valor"), filtro.max()));
+        }
+        if (filtro.contaId() != null) {
+            predicados.add(cb.equal(d.get("conta").get("id"), filtro.contaId()));
+        }
+        if (filtro.contratoId() != null) {
+            predicados.add(cb.equal(d.get("contrato").get("id"), filtro.contratoId()));
+        }
+        if (filtro.inicio() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(d.<ZonedDateTime>get("dataCriacao"), filtro.inicio()));
+        }
+        if (filtro.fim() != null) {
+            predicados.add(cb.lessThan(d.<ZonedDateTime>get("dataCriacao"), filtro.fim()));
+        }
+        if (filtro.pago() != null) {
+            // Anti-join (ou semi-join) pela chave do Pagamento, que começa em divida_id
+            Subquery<Integer> pagamento = query.subquery(Integer.class);
+            Root<Pagamento> p = pagamento.from(Pagamento.class);
+            pagamento.select(p.get("divida").get("id")).where(cb.equal(p.get("divida"), d));
+            predicados.add(filtro.pago() ? cb.exists(pagamento) : cb.not(cb.exists(pagamento)));
+        }
+        if (filtro.apos() != null) {
+            predicados.add(depoisDe(cb, d, filtro));
+        }
+
+        // conta e fiadora saem das chaves estrangeiras, sem join
+        query.select(cb.construct(Linha.class, d.get("id"), d.get("valor"), d.get("conta").get("id"),
+                        d.get("fiadora").get("id"), d.get("dataCriacao")))
+                .where(predicados.toArray(Predicate[]::new))
+                .orderBy(ordenacao(cb, d, filtro));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    /**
+     * Keyset na mesma ordem de ordenacao(): (coluna, id) depois da chave do último item, ou seja,
+     * coluna > v or (coluna = v and id > idApos), com os sinais invertidos em DESC.
+     */
+    private static Predicate depoisDe(CriteriaBuilder cb, Root<Divida> d, Filtro filtro) {
+        boolean desc = filtro.direcao() == Sort.Direction.DESC;
+        Apos apos = filtro.apos();
+        Expression<Integer> id = d.get("id");
+        Predicate idDepois = desc ? cb.lessThan(id, apos.id()) : cb.greaterThan(id, apos.id());
+
+        DividaBuscaRequest.Ordenacao ordenarPor = filtro.ordenarPor() != null ? filtro.ordenarPor() : DividaBuscaRequest.Ordenacao.ID;
+        return switch (ordenarPor) {
+            case VALOR -> {
+                Expression<Money> valor = d.get("valor");
+                yield cb.or(desc ? cb.lessThan(valor, apos.valor()) : cb.greaterThan(valor, apos.valor()),
+                        cb.and(cb.equal(valor, apos.valor()), idDepois));
+            }
+            case DATA_CRIACAO -> {
+                Expression<ZonedDateTime> data = d.get("dataCriacao");
+                yield cb.or(desc ? cb.lessThan(data, apos.dataCriacao()) : cb.greaterThan(data, apos.dataCriacao()),
+                        cb.and(cb.equal(data, apos.dataCriacao()), idDepois));
+            }
+            case ID -> idDepois;
+        };
+    }
+
+    // A coluna pedida e o id como desempate, para uma ordem estável
+    private static List<Order> ordenacao(CriteriaBuilder cb, Root<Divida> d, Filtro filtro) {
+        boolean desc = filtro.direcao() == Sort.Direction.DESC;
+        DividaBuscaRequest.Ordenacao ordenarPor = filtro.ordenarPor() != null ? filtro.ordenarPor() : DividaBuscaRequest.Ordenacao.ID;
+
+        List<Order> ordem = new ArrayList<>(2);
+        Expression<?> coluna = switch (ordenarPor) {
+            case VALOR -> d.get("valor");
+            case DATA_CRIACAO -> d.get("dataCriacao");
+            case ID -> null;
+        };
+        if (coluna != null) {
+            ordem.add(desc ? cb.desc(coluna) : cb.asc(coluna));
+        }
+        ordem.add(desc ? cb.desc(d.get("id")) : cb.asc(d.get("id")));
+        return ordem;
+    }
+}
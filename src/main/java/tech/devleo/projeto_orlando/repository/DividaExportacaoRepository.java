@@ -0,0 +1,25 @@
+package tech.devleo.projeto_orlando.repository;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.Money;
+
+/**
+ * Exportação de dívidas montada com Criteria, como a busca (DividaBuscaRepository): só os filtros informados
+ * viram predicados, então a varredura de cada formato de relatório tem o seu próprio plano.
+ */
+public interface DividaExportacaoRepository {
+
+    /**
+     * Linhas de exportação em streaming: cursor somente-leitura e só os campos exportados, sem carregar entidades.
+     * Qualquer filtro pode ser nulo; somenteEmAberto mantém só as dívidas sem pagamento. O período é [inicio, fim].
+     */
+    Stream<LinhaExportacao> streamExportacao(Empresa empresa, UUID contaId, ZonedDateTime inicio, ZonedDateTime fim,
+            Money minimo, boolean somenteEmAberto);
+
+    record LinhaExportacao(Integer dividaId, UUID contaId, String devedor, ZonedDateTime data, Money valor) {
+    }
+}
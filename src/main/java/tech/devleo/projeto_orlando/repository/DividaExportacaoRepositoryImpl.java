@@ -0,0 +1,77 @@
+package tech.devleo.projeto_orlando.repository;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import tech.devleo.projeto_orlando.domain.Conta;
+import tech.devleo.projeto_orlando.domain.Devedor;
+import tech.devleo.projeto_orlando.domain.Divida;
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.domain.Pagamento;
+
+/**
+ * Implementação do fragmento DividaExportacaoRepository. Índices usados: (fiadora_id, id) para a empresa inteira,
+ * (fiadora_id, conta_id), (fiadora_id, dataCriacao) e (fiadora_id, valor) para os filtros, chave do Pagamento
+ * para somenteEmAberto.
+ */
+class DividaExportacaoRepositoryImpl implements DividaExportacaoRepository {
+
+    private final EntityManager entityManager;
+
+    DividaExportacaoRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Stream<LinhaExportacao> streamExportacao(Empresa empresa, UUID contaId, ZonedDateTime inicio, ZonedDateTime fim,
+            Money minimo, boolean somenteEmAberto) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LinhaExportacao> query = cb.createQuery(LinhaExportacao.class);
+        Root<Divida> d = query.from(Divida.class);
+        Join<Divida, Conta> c = d.join("conta", JoinType.LEFT);
+        Join<Conta, Devedor> dev = c.join("devedor", JoinType.LEFT);
+
+        List<Predicate> predicados = new ArrayList<>();
+        predicados.add(cb.equal(d.get("fiadora"), empresa));
+        if (contaId != null) {
+            predicados.add(cb.equal(d.get("conta").get("id"), contaId));
+        }
+        if (inicio != null) {
+            predicados.add(cb.greaterThanOrEqualTo(d.<ZonedDateTime>get("dataCriacao"), inicio));
+        }
+        if (fim != null) {
+            predicados.add(cb.lessThanOrEqualTo(d.<ZonedDateTime>get("dataCriacao"), fim));
+        }
+        if (minimo != null) {
+            predicados.add(cb.greaterThanOrEqualTo(d.<Money>get("valor"), minimo));
+        }
+        if (somenteEmAberto) {
+            Subquery<Integer> pagamento = query.subquery(Integer.class);
+            Root<Pagamento> p = pagamento.from(Pagamento.class);
+            pagamento.select(p.get("divida").get("id")).where(cb.equal(p.get("divida"), d));
+            predicados.add(cb.not(cb.exists(pagamento)));
+        }
+
+        query.select(cb.construct(LinhaExportacao.class, d.get("id"), c.get("id"), dev.get("name"),
+                        d.get("dataCriacao"), d.get("valor")))
+                .where(predicados.toArray(Predicate[]::new))
+                .orderBy(cb.asc(d.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint("org.hibernate.fetchSize", 1000)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream();
+    }
+}
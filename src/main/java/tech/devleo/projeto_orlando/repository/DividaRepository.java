@@ -2,30 +2,106 @@ package tech.devleo.projeto_orlando.repository;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
 import tech.devleo.projeto_orlando.domain.Divida;
 import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.dto.DividaResponse;
 
-public interface DividaRepository extends JpaRepository<Divida, Integer> {
+public interface DividaRepository extends JpaRepository<Divida, Integer>, DividaBuscaRepository, DividaExportacaoRepository {
 
+	// Vazio quando a dívida não existe ou é de outra empresa: id e fiadora_id conferidos na mesma consulta
+	Optional<Divida> findByIdAndFiadoraId(Integer id, UUID empresaId);
+
+	// Somas em centavos (Money é persistido como BIGINT)
 	@Query("select sum(d.valor) from Divida d where d.conta.id = :contaId and d.fiadora = :empresa")
-	Double sumValorByContaIdAndEmpresa(@Param("contaId") UUID contaId, @Param("empresa") Empresa empresa);
+	Long sumValorByContaIdAndEmpresa(@Param("contaId") UUID contaId, @Param("empresa") Empresa empresa);
 
 	@Query("select count(d) from Divida d where d.fiadora = :empresa")
 	Long countByFiadora(@Param("empresa") Empresa empresa);
 
-	List<Divida> findByFiadora(Empresa empresa);
+	// Páginas da listagem por keyset, pelo índice (fiadora_id, id): a primeira e as seguintes, depois do id :apos.
+	// Projeção direto no DTO: conta e fiadora saem das chaves estrangeiras, sem carregar entidades
+	@Query("select new tech.devleo.projeto_orlando.dto.DividaResponse(d.id, d.valor, d.conta.id, d.fiadora.id) "
+			+ "from Divida d where d.fiadora = :empresa order by d.id")
+	List<DividaResponse> findPrimeiraPaginaByFiadora(@Param("empresa") Empresa empresa, Limit limite);
 
-	// flexible filter: any parameter may be null
-	@Query("select d from Divida d where d.fiadora = :empresa and (:min is null or d.valor >= :min) and (:max is null or d.valor <= :max) and (:contaId is null or d.conta.id = :contaId)")
-	List<Divida> findByFiltersAndEmpresa(@Param("min") Double min, @Param("max") Double max, @Param("contaId") UUID contaId, @Param("empresa") Empresa empresa);
+	@Query("select new tech.devleo.projeto_orlando.dto.DividaResponse(d.id, d.valor, d.conta.id, d.fiadora.id) "
+			+ "from Divida d where d.fiadora = :empresa and d.id > :apos order by d.id")
+	List<DividaResponse> findPaginaByFiadoraApos(@Param("empresa") Empresa empresa, @Param("apos") Integer apos, Limit limite);
 
-	@Query("select sum(d.valor) from Divida d where d.fiadora = :empresa and d.dataCriacao >= :inicio and d.dataCriacao <= :fim")
-	Double sumValorByPeriodo(@Param("empresa") Empresa empresa, @Param("inicio") ZonedDateTime inicio, @Param("fim") ZonedDateTime fim);
-}
+	// Leitura em streaming (apenas data e valor) para reconstruir o ResumoDiario sem carregar entidades
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+	@Query("select d.dataCriacao as data, d.valor as valor from Divida d where d.fiadora = :empresa")
+	Stream<ValorNaData> streamValoresByFiadora(@Param("empresa") Empresa empresa);
+
+	// Dívidas que o delete do devedor remove em cascata: as da conta e as dos contratos dele
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+	@Query("""
+			select d.dataCriacao as data, d.valor as valor
+			from Divida d left join d.contrato ct
+			where d.conta.id = :devedorId or ct.devedor.id = :devedorId""")
+	Stream<ValorNaData> streamValoresByDevedor(@Param("devedorId") UUID devedorId);
+
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+	@Query("select d.dataCriacao as data, d.valor as valor from Divida d where d.contrato.id = :contratoId")
+	Stream<ValorNaData> streamValoresByContrato(@Param("contratoId") UUID contratoId);
+
+	/**
+	 * Dívidas sem pagamento (anti-join pela chave do Pagamento, que começa em divida_id), agregadas por faixa
+	 * de atraso em uma única leitura do índice (fiadora_id, dataCriacao). Os limites são o início do dia que
+	 * encerra cada faixa; somas em centavos. Sem valor mínimo, a consulta não leva o predicado de valor.
+	 */
+	@QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "30000"))
+	@Query(INADIMPLENCIA + " where d.fiadora = :empresa and not exists (select 1 from Pagamento p where p.divida = d)")
+	Inadimplencia sumInadimplenciaByFiadora(@Param("empresa") Empresa empresa,
+			@Param("limite30") ZonedDateTime limite30, @Param("limite60") ZonedDateTime limite60,
+			@Param("limite90") ZonedDateTime limite90);
 
+	@QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "30000"))
+	@Query(INADIMPLENCIA + " where d.fiadora = :empresa and d.valor >= :minimo "
+			+ "and not exists (select 1 from Pagamento p where p.divida = d)")
+	Inadimplencia sumInadimplenciaByFiadoraAPartirDe(@Param("empresa") Empresa empresa, @Param("minimo") Money minimo,
+			@Param("limite30") ZonedDateTime limite30, @Param("limite60") ZonedDateTime limite60,
+			@Param("limite90") ZonedDateTime limite90);
+
+	String INADIMPLENCIA = """
+			select count(d) as quantidade, count(distinct d.conta) as quantidadeContas,
+				sum(case when d.dataCriacao >= :limite30 then 1 else 0 end) as quantidadeAte30,
+				sum(case when d.dataCriacao >= :limite30 then d.valor end) as totalAte30,
+				sum(case when d.dataCriacao < :limite30 and d.dataCriacao >= :limite60 then 1 else 0 end) as quantidade31a60,
+				sum(case when d.dataCriacao < :limite30 and d.dataCriacao >= :limite60 then d.valor end) as total31a60,
+				sum(case when d.dataCriacao < :limite60 and d.dataCriacao >= :limite90 then 1 else 0 end) as quantidade61a90,
+				sum(case when d.dataCriacao < :limite60 and d.dataCriacao >= :limite90 then d.valor end) as total61a90,
+				sum(case when d.dataCriacao < :limite90 then 1 else 0 end) as quantidadeAcima90,
+				sum(case when d.dataCriacao < :limite90 then d.valor end) as totalAcima90
+			from Divida d""";
+
+	interface Inadimplencia {
+		Long getQuantidade();
+		Long getQuantidadeContas();
+		Long getQuantidadeAte30();
+		Long getTotalAte30();
+		Long getQuantidade31a60();
+		Long getTotal31a60();
+		Long getQuantidade61a90();
+		Long getTotal61a90();
+		Long getQuantidadeAcima90();
+		Long getTotalAcima90();
+	}
+
+	interface ValorNaData {
+		ZonedDateTime getData();
+		Money getValor();
+	}
+}
@@ -4,11 +4,20 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.LockModeType;
 import tech.devleo.projeto_orlando.domain.Empresa;
 import tech.devleo.projeto_orlando.domain.User;
 
 public interface EmpresaRepository extends JpaRepository<Empresa, UUID> {
     Optional<Empresa> findByDono(User dono);
     boolean existsByDono(User dono);
+
+    // Trava a linha da empresa até o fim da transação: serializa reconstruções do resumo entre instâncias
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Empresa e where e.id = :id")
+    Optional<Empresa> travarById(@Param("id") UUID id);
 }
@@ -1,12 +1,28 @@
 package tech.devleo.projeto_orlando.repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import tech.devleo.projeto_orlando.domain.Empresa;
 import tech.devleo.projeto_orlando.domain.Notificacao;
+import tech.devleo.projeto_orlando.dto.NotificacaoResponse;
 
 public interface NotificacaoRepository extends JpaRepository<Notificacao, Integer> {
-    List<Notificacao> findByEmpresa(Empresa empresa);
+    // Vazio quando a notificação não existe ou é de outra empresa
+    Optional<Notificacao> findByIdAndEmpresaId(Integer id, UUID empresaId);
+
+    // Páginas da listagem por keyset, pelo índice (empresa_id, id)
+    @Query("select new tech.devleo.projeto_orlando.dto.NotificacaoResponse(n.id, n.mensagem, n.email) "
+            + "from Notificacao n where n.empresa = :empresa order by n.id")
+    List<NotificacaoResponse> findPrimeiraPaginaByEmpresa(@Param("empresa") Empresa empresa, Limit limite);
+
+    @Query("select new tech.devleo.projeto_orlando.dto.NotificacaoResponse(n.id, n.mensagem, n.email) "
+            + "from Notificacao n where n.empresa = :empresa and n.id > :apos order by n.id")
+    List<NotificacaoResponse> findPaginaByEmpresaApos(@Param("empresa") Empresa empresa, @Param("apos") Integer apos, Limit limite);
 }
@@ -0,0 +1,25 @@
+package tech.devleo.projeto_orlando.repository;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
+
+/**
+ * Exportação de pagamentos montada com Criteria (ver DividaExportacaoRepository): só os filtros informados
+ * viram predicados.
+ */
+public interface PagamentoExportacaoRepository {
+
+    /**
+     * Linhas de exportação em streaming, em ordem de divida_id. Qualquer filtro pode ser nulo; o período é [inicio, fim].
+     */
+    Stream<LinhaExportacao> streamExportacao(Empresa empresa, UUID contaId, ZonedDateTime inicio, ZonedDateTime fim);
+
+    record LinhaExportacao(Integer dividaId, UUID contaId, String devedor, ZonedDateTime data, Money valor,
+            MetodoPagamento metodo) {
+    }
+}
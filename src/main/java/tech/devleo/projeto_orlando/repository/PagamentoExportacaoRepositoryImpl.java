@@ -0,0 +1,66 @@
+package tech.devleo.projeto_orlando.repository;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import tech.devleo.projeto_orlando.domain.Conta;
+import tech.devleo.projeto_orlando.domain.Devedor;
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.Pagamento;
+
+/**
+ * Implementação do fragmento PagamentoExportacaoRepository. A empresa e a ordem seguem o índice
+ * (empresa_id, divida_id); dívida e conta saem da chave composta, e a conta só é juntada pelo nome do devedor.
+ */
+class PagamentoExportacaoRepositoryImpl implements PagamentoExportacaoRepository {
+
+    private final EntityManager entityManager;
+
+    PagamentoExportacaoRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Stream<LinhaExportacao> streamExportacao(Empresa empresa, UUID contaId, ZonedDateTime inicio, ZonedDateTime fim) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LinhaExportacao> query = cb.createQuery(LinhaExportacao.class);
+        Root<Pagamento> p = query.from(Pagamento.class);
+        Join<Pagamento, Conta> c = p.join("conta");
+        Join<Conta, Devedor> dev = c.join("devedor", JoinType.LEFT);
+        Path<Integer> dividaId = p.get("id").get("dividaId");
+        Path<UUID> pagamentoContaId = p.get("id").get("contaId");
+
+        List<Predicate> predicados = new ArrayList<>();
+        predicados.add(cb.equal(p.get("empresa"), empresa));
+        if (contaId != null) {
+            predicados.add(cb.equal(pagamentoContaId, contaId));
+        }
+        if (inicio != null) {
+            predicados.add(cb.greaterThanOrEqualTo(p.<ZonedDateTime>get("dataPagamento"), inicio));
+        }
+        if (fim != null) {
+            predicados.add(cb.lessThanOrEqualTo(p.<ZonedDateTime>get("dataPagamento"), fim));
+        }
+
+        query.select(cb.construct(LinhaExportacao.class, dividaId, pagamentoContaId, dev.get("name"),
+                        p.get("dataPagamento"), p.get("valor"), p.get("metodo")))
+                .where(predicados.toArray(Predicate[]::new))
+                .orderBy(cb.asc(dividaId));
+
+        return entityManager.createQuery(query)
+                .setHint("org.hibernate.fetchSize", 1000)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream();
+    }
+}
@@ -1,33 +1,77 @@
 package tech.devleo.projeto_orlando.repository;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
 import tech.devleo.projeto_orlando.domain.Empresa;
 import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
 import tech.devleo.projeto_orlando.domain.Pagamento;
 import tech.devleo.projeto_orlando.domain.Pk.PagamentoId;
+import tech.devleo.projeto_orlando.dto.PagamentoResponse;
 
-public interface PagamentoRepository extends JpaRepository<Pagamento, PagamentoId> {
+public interface PagamentoRepository extends JpaRepository<Pagamento, PagamentoId>, PagamentoExportacaoRepository {
 
-	@Query("select p from Pagamento p where p.conta.devedor.empresa = :empresa")
-	List<Pagamento> findByEmpresa(@Param("empresa") Empresa empresa);
+	// Vazio quando o pagamento não existe ou a dívida é de outra empresa (junção pela chave primária da dívida)
+	Optional<Pagamento> findByIdAndDividaFiadoraId(PagamentoId id, UUID empresaId);
 
-	@Query("select count(p) from Pagamento p where p.conta.devedor.empresa = :empresa and p.metodo = :metodo")
+	// Páginas da listagem por keyset pelo índice (empresa_id, divida_id), sem junções; divida_id identifica o pagamento
+	@Query("select new tech.devleo.projeto_orlando.dto.PagamentoResponse(p.id.dividaId, p.id.contaId, p.metodo) "
+			+ "from Pagamento p where p.empresa = :empresa order by p.id.dividaId")
+	List<PagamentoResponse> findPrimeiraPaginaByEmpresa(@Param("empresa") Empresa empresa, Limit limite);
+
+	@Query("select new tech.devleo.projeto_orlando.dto.PagamentoResponse(p.id.dividaId, p.id.contaId, p.metodo) "
+			+ "from Pagamento p where p.empresa = :empresa and p.id.dividaId > :apos order by p.id.dividaId")
+	List<PagamentoResponse> findPaginaByEmpresaApos(@Param("empresa") Empresa empresa, @Param("apos") Integer apos, Limit limite);
+
+	@Query("select count(p) from Pagamento p where p.empresa = :empresa and p.metodo = :metodo")
 	long countByMetodoAndEmpresa(@Param("metodo") MetodoPagamento metodo, @Param("empresa") Empresa empresa);
 
-	@Query("select count(p) from Pagamento p where p.divida.fiadora = :empresa and p.dataPagamento >= :inicio and p.dataPagamento <= :fim")
-	Long countByPeriodo(@Param("empresa") Empresa empresa, @Param("inicio") ZonedDateTime inicio, @Param("fim") ZonedDateTime fim);
+	// Quantidade e soma (centavos) de todos os métodos pedidos em um único GROUP BY
+	@Query("select p.metodo as metodo, count(p) as quantidade, sum(p.valor) as total from Pagamento p "
+			+ "where p.empresa = :empresa and p.metodo in :metodos group by p.metodo")
+	List<TotalPorMetodo> sumByMetodosAndEmpresa(@Param("metodos") Collection<MetodoPagamento> metodos, @Param("empresa") Empresa empresa);
+
+	@Query("select sum(p.valor) from Pagamento p where p.conta.id = :contaId and p.empresa = :empresa")
+	Long sumValorByContaIdAndEmpresa(@Param("contaId") UUID contaId, @Param("empresa") Empresa empresa);
+
+	// Leitura em streaming (apenas data, método e valor) para reconstruir o ResumoDiario sem carregar entidades
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+	@Query("select p.dataPagamento as data, p.metodo as metodo, p.valor as valor from Pagamento p where p.divida.fiadora = :empresa")
+	Stream<ValorPorMetodo> streamValoresByEmpresa(@Param("empresa") Empresa empresa);
+
+	// Pagamentos que o delete do devedor remove em cascata (ver DividaRepository.streamValoresByDevedor)
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+	@Query("""
+			select p.dataPagamento as data, p.metodo as metodo, p.valor as valor
+			from Pagamento p join p.divida d left join d.contrato ct
+			where p.conta.id = :devedorId or ct.devedor.id = :devedorId""")
+	Stream<ValorPorMetodo> streamValoresByDevedor(@Param("devedorId") UUID devedorId);
 
-	@Query("select sum(p.valor) from Pagamento p where p.conta.devedor.empresa = :empresa and p.dataPagamento >= :inicio and p.dataPagamento <= :fim")
-	Double sumValorByPeriodo(@Param("empresa") Empresa empresa, @Param("inicio") ZonedDateTime inicio, @Param("fim") ZonedDateTime fim);
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+	@Query("select p.dataPagamento as data, p.metodo as metodo, p.valor as valor from Pagamento p where p.divida.contrato.id = :contratoId")
+	Stream<ValorPorMetodo> streamValoresByContrato(@Param("contratoId") UUID contratoId);
 
-	@Query("select sum(p.valor) from Pagamento p where p.conta.id = :contaId and p.conta.devedor.empresa = :empresa")
-	Double sumValorByContaIdAndEmpresa(@Param("contaId") UUID contaId, @Param("empresa") Empresa empresa);
+	interface ValorPorMetodo {
+		ZonedDateTime getData();
+		MetodoPagamento getMetodo();
+		Money getValor();
+	}
 
+	interface TotalPorMetodo {
+		MetodoPagamento getMetodo();
+		Long getQuantidade();
+		Long getTotal();
+	}
 }
@@ -0,0 +1,38 @@
+package tech.devleo.projeto_orlando.repository;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import tech.devleo.projeto_orlando.domain.RefreshToken;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    // Carrega o usuário e a empresa junto, pois o novo access token precisa dos seus ids
+    @EntityGraph(attributePaths = { "user", "user.empresa" })
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Marca o uso de forma atômica: dois refresh concorrentes com o mesmo token não podem ambos vencer
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usadoEm = :agora WHERE r.id = :id AND r.usadoEm IS NULL")
+    int marcarUsado(@Param("id") UUID id, @Param("agora") ZonedDateTime agora);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.familia = :familia")
+    int deleteByFamilia(@Param("familia") UUID familia);
+
+    // Todas as famílias do usuário: troca de senha e exclusão encerram todas as sessões
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.user.id = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiraEm <= :agora")
+    int deleteExpirados(@Param("agora") ZonedDateTime agora);
+}
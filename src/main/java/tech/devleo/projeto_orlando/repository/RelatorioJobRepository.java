@@ -0,0 +1,75 @@
+package tech.devleo.projeto_orlando.repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import tech.devleo.projeto_orlando.domain.RelatorioJob;
+import tech.devleo.projeto_orlando.domain.StatusRelatorioJob;
+
+public interface RelatorioJobRepository extends JpaRepository<RelatorioJob, UUID> {
+
+    Optional<RelatorioJob> findByIdAndEmpresaId(UUID id, UUID empresaId);
+
+    @Query("select j from RelatorioJob j where j.status = :status order by j.criadoEm")
+    List<RelatorioJob> findByStatus(@Param("status") StatusRelatorioJob status, Pageable pageable);
+
+    long countByStatus(StatusRelatorioJob status);
+
+    /**
+     * Reserva o job de forma atômica: com várias instâncias, apenas uma passa de PENDENTE para EXECUTANDO.
+     * A contagem limita os jobs em execução da empresa em todas as instâncias; quem chama trava a linha da
+     * empresa na mesma transação, para que duas reservas simultâneas não vejam a mesma contagem.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update RelatorioJob j set j.status = :executando, j.iniciadoEm = :agora, j.tentativas = j.tentativas + 1,
+                j.reserva = :reserva
+            where j.id = :id and j.status = :pendente
+                and (select count(o) from RelatorioJob o where o.empresa = j.empresa and o.status = :executando) < :maxPorEmpresa""")
+    int reservar(@Param("id") UUID id, @Param("reserva") UUID reserva, @Param("agora") ZonedDateTime agora,
+            @Param("maxPorEmpresa") long maxPorEmpresa,
+            @Param("pendente") StatusRelatorioJob pendente, @Param("executando") StatusRelatorioJob executando);
+
+    // Só finaliza a reserva informada: um worker que passou do timeout não sobrescreve a nova tentativa nem o FALHOU
+    @Transactional
+    @Modifying
+    @Query("""
+            update RelatorioJob j set j.status = :status, j.relatorioId = :relatorioId, j.erro = :erro, j.concluidoEm = :agora
+            where j.id = :id and j.reserva = :reserva and j.status = :executando""")
+    int finalizar(@Param("id") UUID id, @Param("reserva") UUID reserva, @Param("status") StatusRelatorioJob status,
+            @Param("relatorioId") Integer relatorioId, @Param("erro") String erro, @Param("agora") ZonedDateTime agora,
+            @Param("executando") StatusRelatorioJob executando);
+
+    // Jobs que ficaram em EXECUTANDO além do limite (instância reiniciada ou travada) voltam para a fila
+    @Transactional
+    @Modifying
+    @Query("""
+            update RelatorioJob j set j.status = :pendente, j.iniciadoEm = null, j.reserva = null
+            where j.status = :executando and j.iniciadoEm < :limite and j.tentativas < :maxTentativas""")
+    int devolverTravados(@Param("limite") ZonedDateTime limite, @Param("maxTentativas") int maxTentativas,
+            @Param("executando") StatusRelatorioJob executando, @Param("pendente") StatusRelatorioJob pendente);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update RelatorioJob j set j.status = :falhou, j.erro = :erro, j.concluidoEm = :agora
+            where j.status = :executando and j.iniciadoEm < :limite and j.tentativas >= :maxTentativas""")
+    int falharTravados(@Param("limite") ZonedDateTime limite, @Param("maxTentativas") int maxTentativas,
+            @Param("erro") String erro, @Param("agora") ZonedDateTime agora,
+            @Param("executando") StatusRelatorioJob executando, @Param("falhou") StatusRelatorioJob falhou);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RelatorioJob j where j.concluidoEm < :limite")
+    int deleteConcluidosAntes(@Param("limite") ZonedDateTime limite);
+}
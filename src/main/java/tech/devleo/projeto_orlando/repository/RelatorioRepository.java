@@ -1,7 +1,10 @@
 package tech.devleo.projeto_orlando.repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +13,13 @@ import tech.devleo.projeto_orlando.domain.Empresa;
 import tech.devleo.projeto_orlando.domain.Relatorio;
 
 public interface RelatorioRepository extends JpaRepository<Relatorio, Integer> {
-    @Query("select r from Relatorio r left join r.conta c left join c.devedor d where (r.conta is null) or (d.empresa = :empresa)")
-    List<Relatorio> findByEmpresa(@Param("empresa") Empresa empresa);
+    // Vazio quando o relatório não existe ou é de outra empresa
+    Optional<Relatorio> findByIdAndEmpresaId(Integer id, UUID empresaId);
+
+    // Páginas da listagem por keyset, pelo índice (empresa_id, id)
+    @Query("select r from Relatorio r where r.empresa = :empresa order by r.id")
+    List<Relatorio> findPrimeiraPaginaByEmpresa(@Param("empresa") Empresa empresa, Limit limite);
+
+    @Query("select r from Relatorio r where r.empresa = :empresa and r.id > :apos order by r.id")
+    List<Relatorio> findPaginaByEmpresaApos(@Param("empresa") Empresa empresa, @Param("apos") Integer apos, Limit limite);
 }
@@ -0,0 +1,80 @@
+package tech.devleo.projeto_orlando.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.domain.ResumoDiario;
+
+public interface ResumoDiarioRepository extends JpaRepository<ResumoDiario, Long> {
+
+    // Soma os deltas em uma única linha do dia (a de menor id, caso inserções concorrentes tenham criado duas);
+    // retorna 0 quando a linha ainda não existe
+    @Modifying
+    @Query("""
+            update ResumoDiario r set
+                r.quantidadeDividas = r.quantidadeDividas + :quantidadeDividas,
+                r.totalDividas = r.totalDividas + :totalDividas,
+                r.quantidadePagamentos = r.quantidadePagamentos + :quantidadePagamentos,
+                r.totalPagamentos = r.totalPagamentos + :totalPagamentos
+            where r.id = (select min(r2.id) from ResumoDiario r2
+                where r2.empresa = :empresa and r2.dia = :dia
+                    and (r2.metodo = :metodo or (r2.metodo is null and :metodo is null)))""")
+    int incrementar(@Param("empresa") Empresa empresa, @Param("dia") LocalDate dia, @Param("metodo") MetodoPagamento metodo,
+            @Param("quantidadeDividas") long quantidadeDividas, @Param("totalDividas") Money totalDividas,
+            @Param("quantidadePagamentos") long quantidadePagamentos, @Param("totalPagamentos") Money totalPagamentos);
+
+    // Somas em centavos; nulas quando não há linhas no período
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "30000"))
+    @Query("""
+            select sum(r.quantidadeDividas) as quantidadeDividas, sum(r.totalDividas) as totalDividas,
+                sum(r.quantidadePagamentos) as quantidadePagamentos, sum(r.totalPagamentos) as totalPagamentos
+            from ResumoDiario r
+            where r.empresa = :empresa and r.dia >= :inicio and r.dia <= :fim""")
+    TotaisPeriodo sumByPeriodo(@Param("empresa") Empresa empresa, @Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    // Recebimentos do período agrupados por método. O grupo de metodo nulo (linha das dívidas) só tem
+    // pagamentos gravados sem método, então pode vir zerado
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "30000"))
+    @Query("""
+            select r.metodo as metodo, sum(r.quantidadePagamentos) as quantidade, sum(r.totalPagamentos) as total
+            from ResumoDiario r
+            where r.empresa = :empresa and r.dia >= :inicio and r.dia <= :fim
+            group by r.metodo""")
+    List<TotalPorMetodo> sumPagamentosPorMetodo(@Param("empresa") Empresa empresa, @Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    // Empresas com dívidas e nenhuma linha de resumo: histórico ainda não carregado (ex.: primeira subida após o deploy)
+    @Query("""
+            select e from Empresa e
+            where exists (select 1 from Divida d where d.fiadora = e)
+                and not exists (select 1 from ResumoDiario r where r.empresa = e)""")
+    List<Empresa> findEmpresasSemResumo();
+
+    boolean existsByEmpresa(Empresa empresa);
+
+    @Modifying
+    @Query("delete from ResumoDiario r where r.empresa = :empresa")
+    int deleteByEmpresa(@Param("empresa") Empresa empresa);
+
+    interface TotaisPeriodo {
+        Long getQuantidadeDividas();
+        Long getTotalDividas();
+        Long getQuantidadePagamentos();
+        Long getTotalPagamentos();
+    }
+
+    interface TotalPorMetodo {
+        MetodoPagamento getMetodo();
+        Long getQuantidade();
+        Long getTotal();
+    }
+}
@@ -0,0 +1,27 @@
+package tech.devleo.projeto_orlando.repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import tech.devleo.projeto_orlando.domain.TokenRevogado;
+
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, String> {
+
+    // jtis individuais (o filtro de Bloom); os cortes por usuário, com jti começando pelo prefixo, ficam de fora
+    @Query("SELECT t.jti FROM TokenRevogado t WHERE t.expiraEm > :agora AND t.jti NOT LIKE :prefixoUsuario")
+    List<String> findJtisAtivos(@Param("agora") ZonedDateTime agora, @Param("prefixoUsuario") String prefixoUsuario);
+
+    @Query("SELECT t FROM TokenRevogado t WHERE t.expiraEm > :agora AND t.jti LIKE :prefixoUsuario")
+    List<TokenRevogado> findCortesAtivos(@Param("agora") ZonedDateTime agora, @Param("prefixoUsuario") String prefixoUsuario);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevogado t WHERE t.expiraEm <= :agora")
+    int deleteExpirados(@Param("agora") ZonedDateTime agora);
+}
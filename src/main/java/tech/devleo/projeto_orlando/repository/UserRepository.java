@@ -4,6 +4,10 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import tech.devleo.projeto_orlando.domain.User;
 
@@ -12,5 +16,14 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.empresaVersao FROM User u WHERE u.id = :id")
+    Optional<Long> findEmpresaVersaoById(@Param("id") UUID id);
+
+    // Só troca o hash se ele ainda for o que foi verificado, para não sobrescrever uma troca de senha concorrente
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :novoHash WHERE u.id = :id AND u.password = :hashAtual")
+    int atualizarHashSenha(@Param("id") UUID id, @Param("hashAtual") String hashAtual, @Param("novoHash") String novoHash);
 }
 
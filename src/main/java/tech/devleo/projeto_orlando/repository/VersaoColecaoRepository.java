@@ -0,0 +1,31 @@
+package tech.devleo.projeto_orlando.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import tech.devleo.projeto_orlando.domain.Colecao;
+import tech.devleo.projeto_orlando.domain.VersaoColecao;
+
+public interface VersaoColecaoRepository extends JpaRepository<VersaoColecao, Long> {
+
+    // Incrementa uma única linha (a de menor id, caso inserções concorrentes tenham criado duas);
+    // retorna 0 quando a linha ainda não existe
+    @Modifying
+    @Query("""
+            update VersaoColecao v set v.versao = v.versao + 1
+            where v.id = (select min(v2.id) from VersaoColecao v2
+                where v2.empresaId = :empresaId and v2.colecao = :colecao)""")
+    int incrementar(@Param("empresaId") UUID empresaId, @Param("colecao") Colecao colecao);
+
+    // Soma das linhas: só cresce, mesmo quando há mais de uma linha para o par
+    @Query("select coalesce(sum(v.versao), 0) from VersaoColecao v where v.empresaId = :empresaId and v.colecao = :colecao")
+    long findVersao(@Param("empresaId") UUID empresaId, @Param("colecao") Colecao colecao);
+
+    @Modifying
+    @Query("delete from VersaoColecao v where v.empresaId = :empresaId")
+    int deleteByEmpresaId(@Param("empresaId") UUID empresaId);
+}
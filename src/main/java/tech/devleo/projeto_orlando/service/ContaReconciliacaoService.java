@@ -0,0 +1,75 @@
+package tech.devleo.projeto_orlando.service;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import tech.devleo.projeto_orlando.domain.Colecao;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.repository.ContaRepository;
+import tech.devleo.projeto_orlando.repository.ContaRepository.TotaisConta;
+
+/**
+ * Confere os totais desnormalizados da Conta contra as linhas de Divida e Pagamento.
+ * Divergências (escritas feitas fora dos serviços, falhas parciais) são corrigidas e contadas
+ * em conta.reconciliacao.divergencias; contas alteradas durante a conferência ficam para a próxima execução.
+ */
+@Service
+public class ContaReconciliacaoService {
+
+    private final ContaRepository contaRepository;
+    private final VersaoColecaoService versaoColecaoService;
+    private final Counter divergencias;
+
+    public ContaReconciliacaoService(ContaRepository contaRepository, VersaoColecaoService versaoColecaoService,
+            MeterRegistry meterRegistry) {
+        this.contaRepository = contaRepository;
+        this.versaoColecaoService = versaoColecaoService;
+        this.divergencias = Counter.builder("conta.reconciliacao.divergencias")
+                .description("Contas com totais desnormalizados divergentes das linhas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executa a reconciliação e retorna quantas contas foram corrigidas.
+     */
+    @Scheduled(cron = "${conta.reconciliacao.cron:0 0 3 * * *}", zone = "America/Sao_Paulo")
+    public int reconciliar() {
+        List<TotaisConta> totais = contaRepository.findTotaisParaReconciliacao();
+        int corrigidas = 0;
+        for (TotaisConta t : totais) {
+            Money totalDividas = Money.ofCentavos(t.getTotalDividasReal());
+            Money totalPagamentos = Money.ofCentavos(t.getTotalPagamentosReal());
+            if (confere(t, totalDividas, totalPagamentos)) {
+                continue;
+            }
+            divergencias.increment();
+            int corrigida = contaRepository.corrigirTotais(
+                    t.getContaId(),
+                    t.getVersao(),
+                    totalDividas,
+                    totalPagamentos,
+                    totalDividas.minus(totalPagamentos),
+                    t.getQuantidadeDividasReal().intValue(),
+                    t.getQuantidadePagamentosReal().intValue());
+            if (corrigida > 0) {
+                // O saldo aparece na listagem de devedores
+                versaoColecaoService.registrarAlteracao(t.getEmpresaId(), Colecao.DEVEDORES);
+            }
+            corrigidas += corrigida;
+        }
+        return corrigidas;
+    }
+
+    // Com valores em centavos a comparação é exata, sem tolerância de arredondamento
+    private static boolean confere(TotaisConta t, Money totalDividas, Money totalPagamentos) {
+        return totalDividas.equals(t.getTotalDividas())
+                && totalPagamentos.equals(t.getTotalPagamentos())
+                && Objects.equals(t.getQuantidadeDividas() != null ? t.getQuantidadeDividas().longValue() : null, t.getQuantidadeDividasReal())
+                && Objects.equals(t.getQuantidadePagamentos() != null ? t.getQuantidadePagamentos().longValue() : null, t.getQuantidadePagamentosReal());
+    }
+}
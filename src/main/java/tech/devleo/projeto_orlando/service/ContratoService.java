@@ -5,19 +5,22 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import tech.devleo.projeto_orlando.domain.Colecao;
 import tech.devleo.projeto_orlando.domain.Contrato;
 import tech.devleo.projeto_orlando.domain.Devedor;
+import tech.devleo.projeto_orlando.domain.Divida;
 import tech.devleo.projeto_orlando.domain.Empresa;
 import tech.devleo.projeto_orlando.domain.StatusContrato;
 import tech.devleo.projeto_orlando.dto.ContratoRequest;
 import tech.devleo.projeto_orlando.dto.ContratoResponse;
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
 import tech.devleo.projeto_orlando.repository.ContratoRepository;
 import tech.devleo.projeto_orlando.repository.DevedorRepository;
 
@@ -27,35 +30,33 @@ public class ContratoService {
     private final ContratoRepository repository;
     private final DevedorRepository devedorRepository;
     private final EmpresaService empresaService;
+    private final ResumoDiarioService resumoDiarioService;
+    private final VersaoColecaoService versaoColecaoService;
+    private final Paginacao paginacao;
 
-    public ContratoService(ContratoRepository repository, DevedorRepository devedorRepository, EmpresaService empresaService) {
+    public ContratoService(ContratoRepository repository, DevedorRepository devedorRepository, EmpresaService empresaService,
+            ResumoDiarioService resumoDiarioService, VersaoColecaoService versaoColecaoService, Paginacao paginacao) {
         this.repository = repository;
         this.devedorRepository = devedorRepository;
         this.empresaService = empresaService;
+        this.resumoDiarioService = resumoDiarioService;
+        this.versaoColecaoService = versaoColecaoService;
+        this.paginacao = paginacao;
     }
 
-    public List<ContratoResponse> findAll() {
+    public PaginaResponse<ContratoResponse> findAll(String cursor, Integer tamanho) {
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        return repository.findByEmpresa(empresa).stream()
-                .map(c -> new ContratoResponse(
-                        c.getId(), 
-                        c.getTexto_contrato(), 
-                        c.getEmpresa() != null ? c.getEmpresa().getId() : null, 
-                        c.getDevedor() != null ? c.getDevedor().getId() : null, 
-                        c.getVencimentoContrato(),
-                        c.getStatus()))
-                .collect(Collectors.toList());
+        UUID apos = paginacao.cursorUuid(cursor);
+        Limit limite = paginacao.limite(tamanho);
+        List<ContratoResponse> contratos = apos == null
+                ? repository.findPrimeiraPaginaByEmpresa(empresa, limite)
+                : repository.findPaginaByEmpresaApos(empresa, apos, limite);
+        return paginacao.pagina(contratos, tamanho, ContratoResponse::id);
     }
 
     public ContratoResponse findById(UUID id) {
-        Contrato c = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        
-        // Verificar se o contrato pertence à empresa do usuário atual
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        if (!c.getEmpresa().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Contrato não pertence à sua empresa");
-        }
+        Contrato c = buscarDaEmpresa(id, empresa);
         
         return new ContratoResponse(
                 c.getId(), 
@@ -71,14 +72,10 @@ public class ContratoService {
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
         
         UUID devedorUUID = UUID.fromString(req.devedorId());
-        Devedor devedor = devedorRepository.findById(devedorUUID)
+        // Devedor de outra empresa responde como inexistente
+        Devedor devedor = devedorRepository.findByIdAndEmpresaId(devedorUUID, empresa.getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Devedor não encontrado"));
         
-        // Verificar se o devedor pertence à empresa do usuário
-        if (!devedor.getEmpresa().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Devedor não pertence à sua empresa");
-        }
-        
         Contrato contrato = new Contrato();
         contrato.setTexto_contrato(req.textoContrato());
         contrato.setEmpresa(empresa);
@@ -109,24 +106,14 @@ public class ContratoService {
 
     @Transactional
     public ContratoResponse update(UUID id, ContratoRequest req) {
-        Contrato c = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        
-        // Verificar se o contrato pertence à empresa do usuário atual
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        if (!c.getEmpresa().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Contrato não pertence à sua empresa");
-        }
+        Contrato c = buscarDaEmpresa(id, empresa);
         
         UUID devedorUUID = UUID.fromString(req.devedorId());
-        Devedor devedor = devedorRepository.findById(devedorUUID)
+        // Devedor de outra empresa responde como inexistente
+        Devedor devedor = devedorRepository.findByIdAndEmpresaId(devedorUUID, empresa.getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Devedor não encontrado"));
         
-        // Verificar se o devedor pertence à empresa do usuário
-        if (!devedor.getEmpresa().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Devedor não pertence à sua empresa");
-        }
-        
         c.setTexto_contrato(req.textoContrato());
         c.setDevedor(devedor);
         repository.save(c);
@@ -140,16 +127,25 @@ public class ContratoService {
                 c.getStatus());
     }
 
+    @Transactional
     public void delete(UUID id) {
-        Contrato c = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        
-        // Verificar se o contrato pertence à empresa do usuário atual
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        if (!c.getEmpresa().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Contrato não pertence à sua empresa");
-        }
+        Contrato c = buscarDaEmpresa(id, empresa);
         
+        // As dívidas do contrato saem em cascata; os totais das contas são ajustados na mesma transação
+        for (Divida d : c.getDividas()) {
+            if (d.getConta() != null) {
+                d.getConta().removerDivida(d.getValor());
+            }
+        }
+        resumoDiarioService.removerContrato(empresa, id);
         repository.deleteById(id);
+        versaoColecaoService.registrarAlteracao(empresa.getId(), Colecao.DIVIDAS, Colecao.DEVEDORES, Colecao.EMPRESA);
+    }
+
+    // Contrato de outra empresa responde como inexistente: id e empresa conferidos na mesma consulta
+    private Contrato buscarDaEmpresa(UUID id, Empresa empresa) {
+        return repository.findByIdAndEmpresaId(id, empresa.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 }
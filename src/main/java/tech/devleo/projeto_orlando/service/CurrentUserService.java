@@ -7,6 +7,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import tech.devleo.projeto_orlando.config.TenantPrincipal;
 import tech.devleo.projeto_orlando.domain.User;
 import tech.devleo.projeto_orlando.repository.UserRepository;
 
@@ -31,7 +32,24 @@ public class CurrentUserService {
     }
 
     public UUID getCurrentUserId() {
+        TenantPrincipal tenant = getCurrentTenant();
+        if (tenant != null && tenant.userId() != null) {
+            return tenant.userId();
+        }
         return getCurrentUser().getId();
     }
+
+    /**
+     * Retorna o principal publicado pelo JwtFilter, ou null quando a autenticação não veio de um token
+     * com claims de tenant (ex.: testes que autenticam apenas pelo email).
+     */
+    public TenantPrincipal getCurrentTenant() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof TenantPrincipal tenant) {
+            return tenant;
+        }
+        return null;
+    }
 }
 
@@ -2,18 +2,20 @@ package tech.devleo.projeto_orlando.service;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import tech.devleo.projeto_orlando.domain.Colecao;
 import tech.devleo.projeto_orlando.domain.Conta;
 import tech.devleo.projeto_orlando.domain.Devedor;
 import tech.devleo.projeto_orlando.domain.Empresa;
 import tech.devleo.projeto_orlando.dto.DevedorRequest;
 import tech.devleo.projeto_orlando.dto.DevedorResponse;
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
 import tech.devleo.projeto_orlando.repository.ContaRepository;
 import tech.devleo.projeto_orlando.repository.ContratoRepository;
 import tech.devleo.projeto_orlando.repository.DevedorRepository;
@@ -25,31 +27,40 @@ public class DevedorService {
     private final ContaRepository contaRepository;
     private final ContratoRepository contratoRepository;
     private final EmpresaService empresaService;
+    private final ResumoDiarioService resumoDiarioService;
+    private final VersaoColecaoService versaoColecaoService;
+    private final Paginacao paginacao;
 
-    public DevedorService(DevedorRepository repository, ContaRepository contaRepository, ContratoRepository contratoRepository, EmpresaService empresaService) {
+    public DevedorService(DevedorRepository repository, ContaRepository contaRepository, ContratoRepository contratoRepository,
+            EmpresaService empresaService, ResumoDiarioService resumoDiarioService, VersaoColecaoService versaoColecaoService,
+            Paginacao paginacao) {
         this.repository = repository;
         this.contaRepository = contaRepository;
         this.contratoRepository = contratoRepository;
         this.empresaService = empresaService;
+        this.resumoDiarioService = resumoDiarioService;
+        this.versaoColecaoService = versaoColecaoService;
+        this.paginacao = paginacao;
     }
 
-    public List<DevedorResponse> findAll() {
+    // Mesma ETag para a listagem e o detalhe: qualquer escrita que muda um devedor ou o saldo da conta a incrementa
+    public String etag() {
+        return versaoColecaoService.etag(empresaService.getEmpresaByCurrentUser().getId(), Colecao.DEVEDORES);
+    }
+
+    public PaginaResponse<DevedorResponse> findAll(String cursor, Integer tamanho) {
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        return repository.findByEmpresa(empresa).stream()
-                .map(d -> new DevedorResponse(d.getId(), d.getName(), d.getCpf(), d.getEmail(), d.getConta().getSaldo()))
-                .collect(Collectors.toList());
+        UUID apos = paginacao.cursorUuid(cursor);
+        Limit limite = paginacao.limite(tamanho);
+        List<DevedorResponse> devedores = apos == null
+                ? repository.findResponsesByEmpresa(empresa, limite)
+                : repository.findResponsesByEmpresaApos(empresa, apos, limite);
+        return paginacao.pagina(devedores, tamanho, DevedorResponse::id);
     }
 
     public DevedorResponse findById(String id) {
         UUID uuid = UUID.fromString(id);
-        Devedor d = repository.findById(uuid)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        
-        // Verificar se o devedor pertence à empresa do usuário atual
-        Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        if (!d.getEmpresa().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Devedor não pertence à sua empresa");
-        }
+        Devedor d = buscarDaEmpresa(uuid);
         
         return new DevedorResponse(d.getId(), d.getName(), d.getCpf(), d.getEmail(), d.getConta().getSaldo());
     }
@@ -65,12 +76,13 @@ public class DevedorService {
         d.setEmpresa(empresa);
         
         // Auto-criar Conta associada ao Devedor antes de salvar
-        // A conta nasce sem dívidas, logo, saldo zero (calculado dinamicamente)
+        // A conta nasce sem dívidas, logo, totais e saldo zero
         Conta c = new Conta();
         c.setDevedor(d);
         d.setConta(c);
         
         d = repository.save(d);
+        versaoColecaoService.registrarAlteracao(empresa.getId(), Colecao.DEVEDORES);
 
         return new DevedorResponse(d.getId(), d.getName(), d.getCpf(), d.getEmail(), d.getConta().getSaldo());
     }
@@ -78,36 +90,33 @@ public class DevedorService {
     @Transactional
     public DevedorResponse update(String id, DevedorRequest req) {
         UUID uuid = UUID.fromString(id);
-        Devedor d = repository.findById(uuid)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        
-        // Verificar se o devedor pertence à empresa do usuário atual
-        Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        if (!d.getEmpresa().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Devedor não pertence à sua empresa");
-        }
+        Devedor d = buscarDaEmpresa(uuid);
         
         d.setName(req.name());
         d.setCpf(req.cpf());
         d.setEmail(req.email());
         repository.save(d);
+        versaoColecaoService.registrarAlteracao(d.getEmpresa().getId(), Colecao.DEVEDORES);
         return new DevedorResponse(d.getId(), d.getName(), d.getCpf(), d.getEmail(), d.getConta().getSaldo());
     }
 
     @Transactional
     public void delete(String id) {
         UUID uuid = UUID.fromString(id);
-        Devedor d = repository.findById(uuid)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Devedor não encontrado"));
-        
-        // Verificar se o devedor pertence à empresa do usuário atual
-        Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        if (!d.getEmpresa().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Devedor não pertence à sua empresa");
-        }
+        Devedor d = buscarDaEmpresa(uuid);
         
         // Com cascade configurado, os contratos e suas dívidas serão deletados automaticamente
-        // quando o devedor for deletado
+        // quando o devedor for deletado; o resumo diário desconta essas linhas antes
+        resumoDiarioService.removerDevedor(d.getEmpresa(), uuid);
         repository.deleteById(uuid);
+        // As dívidas da conta saem junto
+        versaoColecaoService.registrarAlteracao(d.getEmpresa().getId(), Colecao.DEVEDORES, Colecao.DIVIDAS, Colecao.EMPRESA);
+    }
+
+    // Devedor de outra empresa responde como inexistente: id e empresa conferidos na mesma consulta
+    private Devedor buscarDaEmpresa(UUID id) {
+        Empresa empresa = empresaService.getEmpresaByCurrentUser();
+        return repository.findByIdAndEmpresaId(id, empresa.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Devedor não encontrado"));
     }
 }
@@ -1,45 +1,70 @@
 package tech.devleo.projeto_orlando.service;
 
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import tech.devleo.projeto_orlando.domain.Colecao;
 import tech.devleo.projeto_orlando.domain.Conta;
 import tech.devleo.projeto_orlando.domain.Divida;
 import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.dto.DividaBuscaRequest;
 import tech.devleo.projeto_orlando.dto.DividaRequest;
 import tech.devleo.projeto_orlando.dto.DividaResponse;
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
 import tech.devleo.projeto_orlando.repository.ContaRepository;
+import tech.devleo.projeto_orlando.repository.DividaBuscaRepository;
 import tech.devleo.projeto_orlando.repository.DividaRepository;
 
 @Service
 public class DividaService {
 
+    private static final ZoneId ZONE_ID = ZoneId.of("America/Sao_Paulo");
+
     private final DividaRepository repository;
     private final ContaRepository contaRepository;
     private final EmpresaService empresaService;
+    private final ResumoDiarioService resumoDiarioService;
+    private final VersaoColecaoService versaoColecaoService;
+    private final Paginacao paginacao;
 
-    public DividaService(DividaRepository repository, ContaRepository contaRepository, EmpresaService empresaService) {
+    public DividaService(DividaRepository repository, ContaRepository contaRepository, EmpresaService empresaService,
+            ResumoDiarioService resumoDiarioService, VersaoColecaoService versaoColecaoService, Paginacao paginacao) {
         this.repository = repository;
         this.contaRepository = contaRepository;
         this.empresaService = empresaService;
+        this.resumoDiarioService = resumoDiarioService;
+        this.versaoColecaoService = versaoColecaoService;
+        this.paginacao = paginacao;
+    }
+
+    // Mesma ETag para a listagem e o detalhe
+    public String etag() {
+        return versaoColecaoService.etag(empresaService.getEmpresaByCurrentUser().getId(), Colecao.DIVIDAS);
     }
 
-    public List<DividaResponse> findAll() {
+    public PaginaResponse<DividaResponse> findAll(String cursor, Integer tamanho) {
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        return repository.findByFiadora(empresa).stream()
-                .map(d -> new DividaResponse(d.getId(), d.getValor(), d.getConta() != null ? d.getConta().getId() : null, d.getFiadora() != null ? d.getFiadora().getId() : null))
-                .collect(Collectors.toList());
+        Integer apos = paginacao.cursorInteiro(cursor);
+        Limit limite = paginacao.limite(tamanho);
+        List<DividaResponse> dividas = apos == null
+                ? repository.findPrimeiraPaginaByFiadora(empresa, limite)
+                : repository.findPaginaByFiadoraApos(empresa, apos, limite);
+        return paginacao.pagina(dividas, tamanho, DividaResponse::id);
     }
 
     // Aggregation: sum of values by conta da empresa
-    public Double sumValorByConta(java.util.UUID contaId) {
+    public Money sumValorByConta(java.util.UUID contaId) {
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        return repository.sumValorByContaIdAndEmpresa(contaId, empresa);
+        return Money.ofCentavos(repository.sumValorByContaIdAndEmpresa(contaId, empresa));
     }
 
     // Aggregation: count of dividas by fiadora (empresa atual)
@@ -48,23 +73,73 @@ public class DividaService {
         return repository.countByFiadora(empresa);
     }
 
-    // Multi-criteria search using repository query with optional params
-    public List<DividaResponse> search(Double minValor, Double maxValor, java.util.UUID contaId) {
+    /**
+     * Busca com filtros opcionais: só os informados entram na consulta. Paginada por keyset na ordem pedida:
+     * o cursor guarda a coluna de ordenação e o id do último item, então as páginas seguintes não repetem nem pulam
+     * itens com o mesmo valor.
+     */
+    public PaginaResponse<DividaResponse> search(DividaBuscaRequest busca) {
+        if (busca.min() != null && busca.max() != null && busca.min().compareTo(busca.max()) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "min não pode ser maior que max");
+        }
+        if (busca.inicio() != null && busca.fim() != null && busca.inicio().isAfter(busca.fim())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "inicio não pode ser depois de fim");
+        }
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        return repository.findByFiltersAndEmpresa(minValor, maxValor, contaId, empresa).stream()
-                .map(d -> new DividaResponse(d.getId(), d.getValor(), d.getConta() != null ? d.getConta().getId() : null, d.getFiadora() != null ? d.getFiadora().getId() : null))
-                .collect(Collectors.toList());
+
+        DividaBuscaRepository.Filtro filtro = new DividaBuscaRepository.Filtro(
+                busca.min() != null ? Money.of(busca.min()) : null,
+                busca.max() != null ? Money.of(busca.max()) : null,
+                busca.contaId(),
+                busca.contratoId(),
+                busca.inicio() != null ? busca.inicio().atStartOfDay(ZONE_ID) : null,
+                // Dia inteiro: até o início do dia seguinte, exclusivo
+                busca.fim() != null ? busca.fim().plusDays(1).atStartOfDay(ZONE_ID) : null,
+                busca.pago(),
+                busca.ordenarPor(),
+                busca.direcao(),
+                cursorBusca(busca));
+        List<DividaBuscaRepository.Linha> linhas = repository.buscar(empresa, filtro, paginacao.limite(busca.tamanho()).max());
+        return paginacao.pagina(linhas, busca.tamanho(), linha -> chaveBusca(linha, busca.ordenarPor()),
+                DividaBuscaRepository.Linha::toResponse);
+    }
+
+    // Cursor da busca: "id" ou "coluna:id", com valor em centavos e data como instante ISO-8601
+    private static String chaveBusca(DividaBuscaRepository.Linha linha, DividaBuscaRequest.Ordenacao ordenarPor) {
+        return switch (ordenarPor != null ? ordenarPor : DividaBuscaRequest.Ordenacao.ID) {
+            case VALOR -> linha.valor().centavos() + ":" + linha.id();
+            case DATA_CRIACAO -> linha.dataCriacao().toInstant() + ":" + linha.id();
+            case ID -> linha.id().toString();
+        };
+    }
+
+    private DividaBuscaRepository.Apos cursorBusca(DividaBuscaRequest busca) {
+        String chave = paginacao.cursorTexto(busca.cursor());
+        if (chave == null) {
+            return null;
+        }
+        DividaBuscaRequest.Ordenacao ordenarPor = busca.ordenarPor() != null ? busca.ordenarPor() : DividaBuscaRequest.Ordenacao.ID;
+        int separador = chave.lastIndexOf(':');
+        // Cursor de outra ordenação: "coluna:id" só nas ordenações por coluna
+        if ((separador < 0) != (ordenarPor == DividaBuscaRequest.Ordenacao.ID)) {
+            throw Paginacao.cursorInvalido();
+        }
+        try {
+            Integer id = Integer.valueOf(chave.substring(separador + 1));
+            String coluna = chave.substring(0, Math.max(separador, 0));
+            return switch (ordenarPor) {
+                case VALOR -> new DividaBuscaRepository.Apos(Money.ofCentavos(Long.parseLong(coluna)), null, id);
+                case DATA_CRIACAO -> new DividaBuscaRepository.Apos(null, Instant.parse(coluna).atZone(ZONE_ID), id);
+                case ID -> new DividaBuscaRepository.Apos(null, null, id);
+            };
+        } catch (NumberFormatException | DateTimeException e) {
+            throw Paginacao.cursorInvalido();
+        }
     }
 
     public DividaResponse findById(Integer id) {
-        Divida d = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dívida não encontrada"));
-        
-        // Verificar se a dívida pertence à empresa do usuário
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        if (d.getFiadora() == null || !d.getFiadora().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Dívida não pertence à sua empresa");
-        }
+        Divida d = buscarDaEmpresa(id, empresa);
         
         return new DividaResponse(d.getId(), d.getValor(), d.getConta() != null ? d.getConta().getId() : null, d.getFiadora() != null ? d.getFiadora().getId() : null);
     }
@@ -74,65 +149,82 @@ public class DividaService {
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
         
         Divida d = new Divida();
-        d.setValor(req.valor());
+        d.setValor(Money.of(req.valor()));
         d.setFiadora(empresa);
         
         if (req.contaId() != null) {
             java.util.UUID contaUUID = java.util.UUID.fromString(req.contaId());
-            Conta c = contaRepository.findById(contaUUID)
+            // Conta de outra empresa responde como inexistente
+            Conta c = contaRepository.findByIdAndDevedorEmpresaId(contaUUID, empresa.getId())
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Conta não encontrada"));
             
-            // Verificar se a conta pertence à empresa
-            if (c.getDevedor() == null || !c.getDevedor().getEmpresa().getId().equals(empresa.getId())) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Conta não pertence à sua empresa");
-            }
-            
             d.setConta(c);
+            // Totais da conta atualizados na mesma transação (protegidos pelo @Version da Conta)
+            c.registrarDivida(d.getValor());
         }
         
         d = repository.save(d);
+        resumoDiarioService.registrarDivida(empresa, d.getDataCriacao(), d.getValor());
+        // Saldo do devedor e quantidade de dívidas da empresa mudam junto
+        versaoColecaoService.registrarAlteracao(empresa.getId(), Colecao.DIVIDAS, Colecao.DEVEDORES, Colecao.EMPRESA);
         return new DividaResponse(d.getId(), d.getValor(), d.getConta() != null ? d.getConta().getId() : null, d.getFiadora().getId());
     }
 
     @Transactional
     public DividaResponse update(Integer id, DividaRequest req) {
-        Divida d = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dívida não encontrada"));
-        
-        // Verificar se a dívida pertence à empresa do usuário
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        if (d.getFiadora() == null || !d.getFiadora().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Dívida não pertence à sua empresa");
-        }
+        Divida d = buscarDaEmpresa(id, empresa);
         
-        d.setValor(req.valor());
+        Conta contaAnterior = d.getConta();
+        Money valorAnterior = d.getValor();
+        d.setValor(Money.of(req.valor()));
         
         if (req.contaId() != null) {
             java.util.UUID contaUUID = java.util.UUID.fromString(req.contaId());
-            Conta c = contaRepository.findById(contaUUID)
+            // Conta de outra empresa responde como inexistente
+            Conta c = contaRepository.findByIdAndDevedorEmpresaId(contaUUID, empresa.getId())
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Conta não encontrada"));
             
-            // Verificar se a conta pertence à empresa
-            if (c.getDevedor() == null || !c.getDevedor().getEmpresa().getId().equals(empresa.getId())) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Conta não pertence à sua empresa");
-            }
-            
             d.setConta(c);
         }
         
+        atualizarTotaisConta(contaAnterior, valorAnterior, d.getConta(), d.getValor());
+        resumoDiarioService.alterarValorDivida(empresa, d.getDataCriacao(), valorAnterior, d.getValor());
+        versaoColecaoService.registrarAlteracao(empresa.getId(), Colecao.DIVIDAS, Colecao.DEVEDORES);
+        
         d = repository.save(d);
         return new DividaResponse(d.getId(), d.getValor(), d.getConta() != null ? d.getConta().getId() : null, d.getFiadora().getId());
     }
 
-    public void delete(Integer id) {
-        Divida d = repository.findById(id)
+    // Dívida de outra empresa responde como inexistente
+    private Divida buscarDaEmpresa(Integer id, Empresa empresa) {
+        return repository.findByIdAndFiadoraId(id, empresa.getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dívida não encontrada"));
-        
-        // Verificar se a dívida pertence à empresa do usuário
+    }
+
+    private void atualizarTotaisConta(Conta contaAnterior, Money valorAnterior, Conta contaNova, Money valorNovo) {
+        if (contaAnterior != null && contaNova != null && contaAnterior.getId().equals(contaNova.getId())) {
+            contaNova.alterarValorDivida(valorAnterior, valorNovo);
+            return;
+        }
+        if (contaAnterior != null) {
+            contaAnterior.removerDivida(valorAnterior);
+        }
+        if (contaNova != null) {
+            contaNova.registrarDivida(valorNovo);
+        }
+    }
+
+    @Transactional
+    public void delete(Integer id) {
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        if (d.getFiadora() == null || !d.getFiadora().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Dívida não pertence à sua empresa");
+        Divida d = buscarDaEmpresa(id, empresa);
+        
+        if (d.getConta() != null) {
+            d.getConta().removerDivida(d.getValor());
         }
+        resumoDiarioService.removerDivida(empresa, d.getDataCriacao(), d.getValor());
+        versaoColecaoService.registrarAlteracao(empresa.getId(), Colecao.DIVIDAS, Colecao.DEVEDORES, Colecao.EMPRESA);
         
         repository.deleteById(id);
     }
@@ -1,12 +1,21 @@
 package tech.devleo.projeto_orlando.service;
 
+import java.util.Objects;
 import java.util.UUID;
 
+import org.hibernate.Session;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.server.ResponseStatusException;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import tech.devleo.projeto_orlando.config.TenantPrincipal;
+import tech.devleo.projeto_orlando.domain.Colecao;
 import tech.devleo.projeto_orlando.domain.Empresa;
 import tech.devleo.projeto_orlando.domain.User;
 import tech.devleo.projeto_orlando.dto.EmpresaRequest;
@@ -17,14 +26,29 @@ import tech.devleo.projeto_orlando.repository.UserRepository;
 @Service
 public class EmpresaService {
 
+    private static final String EMPRESA_REQUEST_ATTRIBUTE = EmpresaService.class.getName() + ".empresa";
+
     private final EmpresaRepository repository;
     private final CurrentUserService currentUserService;
     private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ResumoDiarioService resumoDiarioService;
+    private final VersaoColecaoService versaoColecaoService;
 
-    public EmpresaService(EmpresaRepository repository, CurrentUserService currentUserService, UserRepository userRepository) {
+    public EmpresaService(EmpresaRepository repository, CurrentUserService currentUserService, UserRepository userRepository,
+            EntityManagerFactory entityManagerFactory, ResumoDiarioService resumoDiarioService,
+            VersaoColecaoService versaoColecaoService) {
         this.repository = repository;
         this.currentUserService = currentUserService;
         this.userRepository = userRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.resumoDiarioService = resumoDiarioService;
+        this.versaoColecaoService = versaoColecaoService;
+    }
+
+    // ETag de /me: muda com os dados da empresa e com a quantidade de dívidas
+    public String etag() {
+        return versaoColecaoService.etag(getEmpresaByCurrentUser().getId(), Colecao.EMPRESA);
     }
 
     public EmpresaResponse getMyEmpresa() {
@@ -51,6 +75,7 @@ public class EmpresaService {
         
         empresa = repository.save(empresa);
         currentUser.setEmpresa(empresa);
+        currentUser.setEmpresaVersao(currentUser.getEmpresaVersao() + 1);
         userRepository.save(currentUser);
         
         return toResponse(empresa);
@@ -66,6 +91,7 @@ public class EmpresaService {
         empresa.setCnpj(req.cnpj());
         empresa.setTelefone(req.telefone());
         empresa = repository.save(empresa);
+        versaoColecaoService.registrarAlteracao(empresa.getId(), Colecao.EMPRESA);
         
         return toResponse(empresa);
     }
@@ -78,8 +104,12 @@ public class EmpresaService {
         
         UUID empresaId = empresa.getId();
         
+        // Antes do flush abaixo, que já remove a empresa (orphanRemoval em User.empresa)
+        resumoDiarioService.removerEmpresa(empresa);
+        
         // Remover referência da empresa no usuário antes de deletar
         currentUser.setEmpresa(null);
+        currentUser.setEmpresaVersao(currentUser.getEmpresaVersao() + 1);
         userRepository.save(currentUser);
         
         // Fazer flush para garantir que a atualização do usuário foi aplicada
@@ -88,12 +118,66 @@ public class EmpresaService {
         // Deletar a empresa usando deleteById para evitar problemas com o contexto de persistência
         // Os devedores, contratos e dívidas serão deletados em cascade conforme configurado
         repository.deleteById(empresaId);
+        versaoColecaoService.removerEmpresa(empresaId);
     }
 
+    /**
+     * Resolve a empresa do usuário atual e habilita o filtro de tenant (Empresa.FILTRO_TENANT) na sessão
+     * aberta, para que as consultas seguintes só vejam linhas dessa empresa.
+     * Quando a versão da empresa no token ainda é a do usuário no banco (nenhuma criação/remoção de empresa
+     * depois da emissão, em qualquer instância), usa o empresaId do token sem carregar a empresa. Caso contrário,
+     * busca pelo dono. O resultado vale para a requisição inteira.
+     */
     public Empresa getEmpresaByCurrentUser() {
-        User currentUser = currentUserService.getCurrentUser();
-        return repository.findByDono(currentUser)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Empresa não encontrada"));
+        Empresa empresa = resolverEmpresa();
+        habilitarFiltroTenant(empresa.getId());
+        return empresa;
+    }
+
+    private Empresa resolverEmpresa() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(EMPRESA_REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Empresa cached) {
+            return cached;
+        }
+
+        Empresa empresa;
+        TenantPrincipal tenant = currentUserService.getCurrentTenant();
+        if (tenant != null && isTokenAtual(tenant)) {
+            if (tenant.empresaId() == null) {
+                // Token emitido sem empresa e nenhuma empresa criada desde então
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Empresa não encontrada");
+            }
+            empresa = repository.getReferenceById(tenant.empresaId());
+        } else {
+            User currentUser = currentUserService.getCurrentUser();
+            empresa = repository.findByDono(currentUser)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Empresa não encontrada"));
+        }
+        if (attributes != null) {
+            attributes.setAttribute(EMPRESA_REQUEST_ATTRIBUTE, empresa, RequestAttributes.SCOPE_REQUEST);
+        }
+        return empresa;
+    }
+
+    // Só há o que filtrar quando já existe sessão na thread (transação ou open-in-view); jobs sem usuário não passam aqui
+    private void habilitarFiltroTenant(UUID empresaId) {
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager != null) {
+            entityManager.unwrap(Session.class)
+                    .enableFilter(Empresa.FILTRO_TENANT)
+                    .setParameter(Empresa.PARAMETRO_TENANT, empresaId);
+        }
+    }
+
+    // Consulta só a coluna empresa_versao pela chave primária do usuário; tokens antigos (sem a claim) nunca são atuais
+    private boolean isTokenAtual(TenantPrincipal tenant) {
+        if (tenant.userId() == null || tenant.empresaVersao() == null) {
+            return false;
+        }
+        return userRepository.findEmpresaVersaoById(tenant.userId())
+                .map(versao -> Objects.equals(versao, tenant.empresaVersao()))
+                .orElse(false);
     }
 
     private EmpresaResponse toResponse(Empresa empresa) {
@@ -0,0 +1,112 @@
+package tech.devleo.projeto_orlando.service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limita tentativas de login que falharam, por email e por IP, em janelas fixas de tempo.
+ * A tentativa é contada antes do hash (o limite vale também para pedidos simultâneos) e devolvida
+ * quando o login dá certo ou é recusado antes de conferir a senha, então só falhas consomem o limite.
+ * Os contadores ficam em arrays de tamanho fixo (striped): cada chave cai em uma posição pelo hash,
+ * então a memória não cresce com o número de emails/IPs distintos. Colisões apenas somam tentativas
+ * de chaves diferentes, o que só torna o limite mais conservador.
+ */
+@Service
+public class LoginThrottleService {
+
+    private static final int STRIPES = 1 << 14;
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    // Cada posição guarda (janela << 24) | tentativas, atualizado por CAS
+    private final AtomicLongArray porEmail = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray porIp = new AtomicLongArray(STRIPES);
+
+    private final long janelaMillis;
+    private final int maxPorEmail;
+    private final int maxPorIp;
+    private final Counter bloqueadasEmail;
+    private final Counter bloqueadasIp;
+
+    public LoginThrottleService(MeterRegistry meterRegistry,
+            @Value("${auth.login.throttle.window:PT1M}") Duration janela,
+            @Value("${auth.login.throttle.max-per-email:10}") int maxPorEmail,
+            @Value("${auth.login.throttle.max-per-ip:100}") int maxPorIp) {
+        this.janelaMillis = janela.toMillis();
+        this.maxPorEmail = maxPorEmail;
+        this.maxPorIp = maxPorIp;
+        this.bloqueadasEmail = Counter.builder("auth.login.rejected").tag("reason", "throttled_email").register(meterRegistry);
+        this.bloqueadasIp = Counter.builder("auth.login.rejected").tag("reason", "throttled_ip").register(meterRegistry);
+    }
+
+    /**
+     * Registra uma tentativa de login e lança 429 se o email ou o IP excederam o limite da janela atual.
+     */
+    public void registrarTentativa(String email, String ip) {
+        long janela = System.currentTimeMillis() / janelaMillis;
+        if (ip != null && !incrementar(porIp, ip, janela, maxPorIp)) {
+            bloqueadasIp.increment();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Muitas tentativas de login deste endereço. Tente novamente mais tarde.");
+        }
+        if (email != null && !incrementar(porEmail, email.toLowerCase(Locale.ROOT), janela, maxPorEmail)) {
+            bloqueadasEmail.increment();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Muitas tentativas de login para este email. Tente novamente mais tarde.");
+        }
+    }
+
+    /**
+     * Devolve a tentativa contada em {@link #registrarTentativa}: login válido ou recusado pela fila do pool.
+     */
+    public void devolverTentativa(String email, String ip) {
+        long janela = System.currentTimeMillis() / janelaMillis;
+        if (ip != null) {
+            devolver(porIp, ip, janela);
+        }
+        if (email != null) {
+            devolver(porEmail, email.toLowerCase(Locale.ROOT), janela);
+        }
+    }
+
+    private static boolean incrementar(AtomicLongArray stripes, String chave, long janela, int limite) {
+        int indice = indice(chave);
+        while (true) {
+            long atual = stripes.get(indice);
+            long tentativas = (atual >>> COUNT_BITS) == janela ? atual & COUNT_MASK : 0;
+            if (tentativas >= limite) {
+                return false;
+            }
+            long novo = (janela << COUNT_BITS) | (tentativas + 1);
+            if (stripes.compareAndSet(indice, atual, novo)) {
+                return true;
+            }
+        }
+    }
+
+    // Se a janela já virou, o contador foi zerado e não há o que devolver
+    private static void devolver(AtomicLongArray stripes, String chave, long janela) {
+        int indice = indice(chave);
+        while (true) {
+            long atual = stripes.get(indice);
+            if ((atual >>> COUNT_BITS) != janela || (atual & COUNT_MASK) == 0) {
+                return;
+            }
+            if (stripes.compareAndSet(indice, atual, atual - 1)) {
+                return;
+            }
+        }
+    }
+
+    private static int indice(String chave) {
+        int h = chave.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -1,8 +1,8 @@
 package tech.devleo.projeto_orlando.service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,6 +12,7 @@ import tech.devleo.projeto_orlando.domain.Empresa;
 import tech.devleo.projeto_orlando.domain.Notificacao;
 import tech.devleo.projeto_orlando.dto.NotificacaoRequest;
 import tech.devleo.projeto_orlando.dto.NotificacaoResponse;
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
 import tech.devleo.projeto_orlando.repository.NotificacaoRepository;
 
 @Service
@@ -19,28 +20,26 @@ public class NotificacaoService {
 
     private final NotificacaoRepository repository;
     private final EmpresaService empresaService;
+    private final Paginacao paginacao;
 
-    public NotificacaoService(NotificacaoRepository repository, EmpresaService empresaService) {
+    public NotificacaoService(NotificacaoRepository repository, EmpresaService empresaService, Paginacao paginacao) {
         this.repository = repository;
         this.empresaService = empresaService;
+        this.paginacao = paginacao;
     }
 
-    public List<NotificacaoResponse> findAll() {
+    public PaginaResponse<NotificacaoResponse> findAll(String cursor, Integer tamanho) {
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        return repository.findByEmpresa(empresa).stream()
-                .map(n -> new NotificacaoResponse(n.getId(), n.getMensagem(), n.getEmail()))
-                .collect(Collectors.toList());
+        Integer apos = paginacao.cursorInteiro(cursor);
+        Limit limite = paginacao.limite(tamanho);
+        List<NotificacaoResponse> notificacoes = apos == null
+                ? repository.findPrimeiraPaginaByEmpresa(empresa, limite)
+                : repository.findPaginaByEmpresaApos(empresa, apos, limite);
+        return paginacao.pagina(notificacoes, tamanho, NotificacaoResponse::id);
     }
 
     public NotificacaoResponse findById(Integer id) {
-        Notificacao n = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Notificação não encontrada"));
-        
-        // Verificar se a notificação pertence à empresa do usuário
-        Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        if (n.getEmpresa() == null || !n.getEmpresa().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Notificação não pertence à sua empresa");
-        }
+        Notificacao n = buscarDaEmpresa(id);
         
         return new NotificacaoResponse(n.getId(), n.getMensagem(), n.getEmail());
     }
@@ -60,14 +59,7 @@ public class NotificacaoService {
 
     @Transactional
     public NotificacaoResponse update(Integer id, NotificacaoRequest req) {
-        Notificacao n = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Notificação não encontrada"));
-        
-        // Verificar se a notificação pertence à empresa do usuário
-        Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        if (n.getEmpresa() == null || !n.getEmpresa().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Notificação não pertence à sua empresa");
-        }
+        Notificacao n = buscarDaEmpresa(id);
         
         n.setMensagem(req.mensagem());
         n.setEmail(req.email());
@@ -77,15 +69,15 @@ public class NotificacaoService {
     }
 
     public void delete(Integer id) {
-        Notificacao n = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Notificação não encontrada"));
-        
-        // Verificar se a notificação pertence à empresa do usuário
-        Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        if (n.getEmpresa() == null || !n.getEmpresa().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Notificação não pertence à sua empresa");
-        }
+        Notificacao n = buscarDaEmpresa(id);
         
         repository.deleteById(id);
     }
+
+    // Notificação de outra empresa responde como inexistente: id e empresa conferidos na mesma consulta
+    private Notificacao buscarDaEmpresa(Integer id) {
+        Empresa empresa = empresaService.getEmpresaByCurrentUser();
+        return repository.findByIdAndEmpresaId(id, empresa.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Notificação não encontrada"));
+    }
 }
@@ -1,20 +1,30 @@
 package tech.devleo.projeto_orlando.service;
 
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import tech.devleo.projeto_orlando.domain.Colecao;
 import tech.devleo.projeto_orlando.domain.Divida;
 import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
 import tech.devleo.projeto_orlando.domain.Pagamento;
 import tech.devleo.projeto_orlando.domain.Pk.PagamentoId;
 import tech.devleo.projeto_orlando.dto.PagamentoRequest;
 import tech.devleo.projeto_orlando.dto.PagamentoResponse;
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
+import tech.devleo.projeto_orlando.dto.TotalPorMetodoResponse;
 import tech.devleo.projeto_orlando.repository.DividaRepository;
 import tech.devleo.projeto_orlando.repository.PagamentoRepository;
 
@@ -24,19 +34,28 @@ public class PagamentoService {
     private final PagamentoRepository repository;
     private final DividaRepository dividaRepository;
     private final EmpresaService empresaService;
+    private final ResumoDiarioService resumoDiarioService;
+    private final VersaoColecaoService versaoColecaoService;
+    private final Paginacao paginacao;
 
-    public PagamentoService(PagamentoRepository repository, DividaRepository dividaRepository,
-            EmpresaService empresaService) {
+    public PagamentoService(PagamentoRepository repository, DividaRepository dividaRepository, EmpresaService empresaService,
+            ResumoDiarioService resumoDiarioService, VersaoColecaoService versaoColecaoService, Paginacao paginacao) {
         this.repository = repository;
         this.dividaRepository = dividaRepository;
         this.empresaService = empresaService;
+        this.resumoDiarioService = resumoDiarioService;
+        this.versaoColecaoService = versaoColecaoService;
+        this.paginacao = paginacao;
     }
 
-    public List<PagamentoResponse> findAll() {
+    public PaginaResponse<PagamentoResponse> findAll(String cursor, Integer tamanho) {
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        return repository.findByEmpresa(empresa).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        Integer apos = paginacao.cursorInteiro(cursor);
+        Limit limite = paginacao.limite(tamanho);
+        List<PagamentoResponse> pagamentos = apos == null
+                ? repository.findPrimeiraPaginaByEmpresa(empresa, limite)
+                : repository.findPaginaByEmpresaApos(empresa, apos, limite);
+        return paginacao.pagina(pagamentos, tamanho, PagamentoResponse::dividaId);
     }
 
     // Método auxiliar para converter entidade em resposta
@@ -51,29 +70,48 @@ public class PagamentoService {
     // Assinatura alterada para receber a chave composta
     public PagamentoResponse findById(Integer dividaId, UUID contaId) {
         PagamentoId id = new PagamentoId(dividaId, contaId);
-        Pagamento p = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pagamento não encontrado"));
-
-        validarPertencimentoEmpresa(p);
+        Pagamento p = buscarDaEmpresa(id);
 
         return toResponse(p);
     }
 
-    public long countByMetodo(tech.devleo.projeto_orlando.domain.MetodoPagamento metodo) {
+    public long countByMetodo(MetodoPagamento metodo) {
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
         return repository.countByMetodoAndEmpresa(metodo, empresa);
     }
 
+    /**
+     * Quantidade e total de cada método pedido (todos quando vazio) em uma única consulta agrupada.
+     * Métodos sem pagamentos aparecem zerados.
+     */
+    public List<TotalPorMetodoResponse> totaisPorMetodo(Collection<MetodoPagamento> metodos) {
+        Empresa empresa = empresaService.getEmpresaByCurrentUser();
+        Set<MetodoPagamento> pedidos = metodos == null || metodos.isEmpty()
+                ? EnumSet.allOf(MetodoPagamento.class)
+                : EnumSet.copyOf(metodos);
+
+        Map<MetodoPagamento, PagamentoRepository.TotalPorMetodo> porMetodo = new EnumMap<>(MetodoPagamento.class);
+        for (PagamentoRepository.TotalPorMetodo t : repository.sumByMetodosAndEmpresa(pedidos, empresa)) {
+            porMetodo.put(t.getMetodo(), t);
+        }
+
+        return pedidos.stream()
+                .map(metodo -> {
+                    PagamentoRepository.TotalPorMetodo t = porMetodo.get(metodo);
+                    return t != null
+                            ? new TotalPorMetodoResponse(metodo, t.getQuantidade(), Money.ofCentavos(t.getTotal()))
+                            : new TotalPorMetodoResponse(metodo, 0, Money.ZERO);
+                })
+                .toList();
+    }
+
     @Transactional
     public PagamentoResponse create(PagamentoRequest req) {
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
 
-        Divida divida = dividaRepository.findById(req.dividaId())
+        // Dívida de outra empresa responde como inexistente
+        Divida divida = dividaRepository.findByIdAndFiadoraId(req.dividaId(), empresa.getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dívida não encontrada"));
-
-        if (divida.getFiadora() == null || !divida.getFiadora().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Dívida não pertence à sua empresa");
-        }
         
         // Verificar se já existe pagamento para esta dívida (regra 1 para 1 implícita pela chave composta)
         PagamentoId novoId = new PagamentoId(divida.getId(), divida.getConta().getId());
@@ -87,48 +125,58 @@ public class PagamentoService {
         p.setMetodo(req.metodo());
         p.setDivida(divida);
         p.setConta(divida.getConta());
+        p.setEmpresa(empresa);
         p.setValor(divida.getValor());
+        // Totais da conta atualizados na mesma transação (protegidos pelo @Version da Conta)
+        divida.getConta().registrarPagamento(p.getValor());
 
         p = repository.save(p);
+        resumoDiarioService.registrarPagamento(empresa, p.getDataPagamento(), p.getMetodo(), p.getValor());
+        // Pagamentos só aparecem nas leituras condicionais pelo saldo do devedor
+        versaoColecaoService.registrarAlteracao(empresa.getId(), Colecao.DEVEDORES);
         return toResponse(p);
     }
 
     @Transactional
     public PagamentoResponse update(Integer dividaId, UUID contaId, PagamentoRequest req) {
         PagamentoId id = new PagamentoId(dividaId, contaId);
-        Pagamento p = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pagamento não encontrado"));
-
-        validarPertencimentoEmpresa(p);
+        Pagamento p = buscarDaEmpresa(id);
 
         // Nota: Não permitimos alterar a 'Divida' ou 'Conta' aqui, pois isso mudaria o ID.
         // Se o usuário tentar passar um dividaId diferente no body, podemos ignorar ou lançar erro.
         // Aqui atualizaremos apenas dados mutáveis, como o método.
         
+        MetodoPagamento metodoAnterior = p.getMetodo();
         p.setMetodo(req.metodo());
         
         // Se a regra de negócio permitir recalcular o valor baseada na dívida atual:
+        Money valorAnterior = p.getValor();
         p.setValor(p.getDivida().getValor()); 
+        p.getConta().alterarValorPagamento(valorAnterior, p.getValor());
+        resumoDiarioService.alterarPagamento(p.getDivida().getFiadora(), p.getDataPagamento(),
+                metodoAnterior, valorAnterior, p.getMetodo(), p.getValor());
+        versaoColecaoService.registrarAlteracao(p.getDivida().getFiadora().getId(), Colecao.DEVEDORES);
 
         p = repository.save(p);
         return toResponse(p);
     }
 
+    @Transactional
     public void delete(Integer dividaId, UUID contaId) {
         PagamentoId id = new PagamentoId(dividaId, contaId);
-        Pagamento p = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pagamento não encontrado"));
+        Pagamento p = buscarDaEmpresa(id);
 
-        validarPertencimentoEmpresa(p);
+        p.getConta().removerPagamento(p.getValor());
+        resumoDiarioService.removerPagamento(p.getDivida().getFiadora(), p.getDataPagamento(), p.getMetodo(), p.getValor());
+        versaoColecaoService.registrarAlteracao(p.getDivida().getFiadora().getId(), Colecao.DEVEDORES);
 
         repository.deleteById(id);
     }
     
-    private void validarPertencimentoEmpresa(Pagamento p) {
+    // Pagamento de outra empresa responde como inexistente; a empresa é conferida na mesma consulta
+    private Pagamento buscarDaEmpresa(PagamentoId id) {
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        if (p.getConta() == null || p.getConta().getDevedor() == null ||
-                !p.getConta().getDevedor().getEmpresa().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Pagamento não pertence à sua empresa");
-        }
+        return repository.findByIdAndDividaFiadoraId(id, empresa.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pagamento não encontrado"));
     }
 }
\ No newline at end of file
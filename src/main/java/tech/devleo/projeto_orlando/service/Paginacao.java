@@ -0,0 +1,112 @@
+package tech.devleo.projeto_orlando.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
+
+/**
+ * Paginação por keyset das listagens: cada página continua depois da chave do último item da anterior
+ * (where id > :apos order by id), então o custo de uma página não depende de quantas vieram antes.
+ * O cursor é a chave codificada em Base64 URL; o cliente só o repassa.
+ */
+@Component
+public class Paginacao {
+
+    private final int tamanhoPadrao;
+    private final int tamanhoMaximo;
+
+    public Paginacao(@Value("${paginacao.tamanho-padrao:50}") int tamanhoPadrao,
+            @Value("${paginacao.tamanho-maximo:500}") int tamanhoMaximo) {
+        this.tamanhoPadrao = tamanhoPadrao;
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    /**
+     * Limite da consulta: um item além do tamanho da página, que só indica se há próxima página.
+     */
+    public Limit limite(Integer tamanho) {
+        return Limit.of(tamanho(tamanho) + 1);
+    }
+
+    public Integer cursorInteiro(String cursor) {
+        String chave = decodificar(cursor);
+        try {
+            return chave != null ? Integer.valueOf(chave) : null;
+        } catch (NumberFormatException e) {
+            throw cursorInvalido();
+        }
+    }
+
+    // Chave composta (ex.: coluna de ordenação e id), interpretada por quem a codificou
+    public String cursorTexto(String cursor) {
+        return decodificar(cursor);
+    }
+
+    public UUID cursorUuid(String cursor) {
+        String chave = decodificar(cursor);
+        try {
+            return chave != null ? UUID.fromString(chave) : null;
+        } catch (IllegalArgumentException e) {
+            throw cursorInvalido();
+        }
+    }
+
+    /**
+     * Monta a página a partir das linhas lidas com limite(tamanho); chave deve ser a mesma coluna da ordenação.
+     */
+    public <T> PaginaResponse<T> pagina(List<T> linhas, Integer tamanho, Function<T, ?> chave) {
+        return pagina(linhas, tamanho, chave, Function.identity());
+    }
+
+    // Variante para consultas que retornam entidades, convertidas em resposta só para os itens da página
+    public <E, R> PaginaResponse<R> pagina(List<E> linhas, Integer tamanho, Function<E, ?> chave, Function<E, R> resposta) {
+        int limite = tamanho(tamanho);
+        boolean haMais = linhas.size() > limite;
+        List<E> pagina = haMais ? linhas.subList(0, limite) : linhas;
+
+        String next = haMais ? codificar(chave.apply(pagina.get(limite - 1))) : null;
+        return new PaginaResponse<>(pagina.stream().map(resposta).toList(), next);
+    }
+
+    /**
+     * Tamanho da página pedido, limitado ao máximo; padrão quando nulo.
+     */
+    public int tamanho(Integer pedido) {
+        if (pedido == null) {
+            return tamanhoPadrao;
+        }
+        if (pedido < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "tamanho deve ser maior que zero");
+        }
+        return Math.min(pedido, tamanhoMaximo);
+    }
+
+    private static String codificar(Object chave) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(chave.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw cursorInvalido();
+        }
+    }
+
+    public static ResponseStatusException cursorInvalido() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor inválido");
+    }
+}
@@ -0,0 +1,123 @@
+package tech.devleo.projeto_orlando.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Executa as verificações de senha (BCrypt) em um pool dedicado e limitado, fora das threads do servlet.
+ * Quando o pool e a fila estão cheios a requisição é rejeitada imediatamente com 429,
+ * evitando que picos de login consumam a CPU das demais rotas.
+ */
+@Service
+public class PasswordVerificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordVerificationService.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer hashTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejeitadas;
+    private final Counter rehashes;
+    private final Counter rehashesAdiados;
+
+    public PasswordVerificationService(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+            @Value("${auth.login.threads:0}") int threads,
+            @Value("${auth.login.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // executor.queued / executor.active / executor.pool.size com name=auth.login
+        new ExecutorServiceMetrics(executor, "auth.login", Tags.empty()).bindTo(meterRegistry);
+        this.hashTimer = Timer.builder("auth.login.hash")
+                .description("Tempo de verificação do hash de senha")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.login.queue.wait")
+                .description("Tempo de espera na fila de verificação de senha")
+                .register(meterRegistry);
+        this.rejeitadas = Counter.builder("auth.login.rejected")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.rehashes = Counter.builder("auth.password.rehash")
+                .tag("result", "done")
+                .register(meterRegistry);
+        this.rehashesAdiados = Counter.builder("auth.password.rehash")
+                .tag("result", "deferred")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Agenda a comparação da senha com o hash no pool de login.
+     * Lança 429 (TOO_MANY_REQUESTS) de forma síncrona quando não há capacidade.
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        long enfileiradoEm = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWaitTimer.record(System.nanoTime() - enfileiradoEm, TimeUnit.NANOSECONDS);
+                return hashTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejeitadas.increment();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Muitas tentativas de login simultâneas. Tente novamente em instantes.");
+        }
+    }
+
+    /**
+     * Se o hash está com custo/algoritmo desatualizado, gera um novo hash em segundo plano no pool de login
+     * e entrega ao callback para persistência. Com o pool cheio o rehash é adiado para o próximo login,
+     * sem afetar a resposta atual.
+     */
+    public void rehashSeNecessario(String rawPassword, String encodedPassword, Consumer<String> salvar) {
+        if (!passwordEncoder.upgradeEncoding(encodedPassword)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    salvar.accept(passwordEncoder.encode(rawPassword));
+                    rehashes.increment();
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao atualizar hash de senha", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rehashesAdiados.increment();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,133 @@
+package tech.devleo.projeto_orlando.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import tech.devleo.projeto_orlando.config.TokenService;
+import tech.devleo.projeto_orlando.domain.RefreshToken;
+import tech.devleo.projeto_orlando.domain.User;
+import tech.devleo.projeto_orlando.dto.AuthResponse;
+import tech.devleo.projeto_orlando.repository.RefreshTokenRepository;
+
+/**
+ * Emite e rotaciona refresh tokens, permitindo renovar o access token sem refazer a verificação BCrypt.
+ * O valor do token nunca é persistido, apenas o seu SHA-256.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final ZoneId ZONE_ID = ZoneId.of("America/Sao_Paulo");
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository repository;
+    private final TokenService tokenService;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Counter renovados;
+    private final Counter reutilizados;
+
+    @Value("${jwt.refresh.expiration:P30D}")
+    private Duration refreshExpiration;
+
+    public RefreshTokenService(RefreshTokenRepository repository, TokenService tokenService, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.tokenService = tokenService;
+        this.renovados = Counter.builder("auth.refresh").tag("result", "renewed").register(meterRegistry);
+        this.reutilizados = Counter.builder("auth.refresh").tag("result", "reused").register(meterRegistry);
+    }
+
+    /**
+     * Gera o par access token + refresh token de um login, iniciando uma nova família.
+     */
+    @Transactional
+    public AuthResponse emitir(User user) {
+        String refreshToken = criar(user, UUID.randomUUID());
+        return new AuthResponse(tokenService.generateToken(user), refreshToken);
+    }
+
+    /**
+     * Troca um refresh token válido por um novo par. O token apresentado é consumido;
+     * se ele já tinha sido usado (possível roubo), toda a família é revogada.
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public AuthResponse renovar(String refreshToken) {
+        ZonedDateTime agora = ZonedDateTime.now(ZONE_ID);
+        RefreshToken atual = repository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token"));
+
+        if (!atual.getExpiraEm().isAfter(agora)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token expired");
+        }
+        if (atual.getUsadoEm() != null || repository.marcarUsado(atual.getId(), agora) == 0) {
+            reutilizados.increment();
+            repository.deleteByFamilia(atual.getFamilia());
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token already used");
+        }
+
+        User user = atual.getUser();
+        if (!user.isEnabled()) {
+            repository.deleteByFamilia(atual.getFamilia());
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User disabled");
+        }
+
+        renovados.increment();
+        String novoRefreshToken = criar(user, atual.getFamilia());
+        return new AuthResponse(tokenService.generateToken(user), novoRefreshToken);
+    }
+
+    /**
+     * Revoga a família do refresh token informado (logout do dispositivo). Tokens desconhecidos são ignorados.
+     */
+    @Transactional
+    public void revogar(String refreshToken) {
+        repository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> repository.deleteByFamilia(token.getFamilia()));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.cleanup-interval:PT1H}", initialDelayString = "${jwt.refresh.cleanup-interval:PT1H}")
+    @Transactional
+    public void removerExpirados() {
+        repository.deleteExpirados(ZonedDateTime.now(ZONE_ID));
+    }
+
+    private String criar(User user, UUID familia) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String valor = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        ZonedDateTime agora = ZonedDateTime.now(ZONE_ID);
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(valor));
+        token.setFamilia(familia);
+        token.setUser(user);
+        token.setCriadoEm(agora);
+        token.setExpiraEm(agora.plus(refreshExpiration));
+        repository.save(token);
+        return valor;
+    }
+
+    private static String hash(String valor) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(sha256.digest(valor.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package tech.devleo.projeto_orlando.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import tech.devleo.projeto_orlando.domain.Colecao;
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.repository.ResumoDiarioRepository;
+
+/**
+ * Cache dos agregados de período por empresa: totais (PERIODO e auditoria) e recebimentos por método (RECEBIMENTOS).
+ * Guarda futures, então cálculos simultâneos da mesma chave são feitos uma vez só.
+ * Uma escrita confirmada de Divida/Pagamento remove apenas as entradas da empresa cujo intervalo contém o dia alterado.
+ * Escritas feitas em outra instância não chegam a esse evento: cada entrada guarda a versão RESUMO da empresa
+ * (tabela versao_colecao) do início do cálculo, e a leitura descarta a entrada quando a versão atual é maior.
+ */
+@Service
+public class RelatorioCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatorioCacheService.class);
+
+    private final ResumoDiarioRepository resumoDiarioRepository;
+    private final VersaoColecaoService versaoColecaoService;
+    private final AsyncCache<Chave, Object> agregados;
+    private final Map<Consulta, Timer> calculo = new EnumMap<>(Consulta.class);
+    private final Counter deduplicadas;
+
+    public RelatorioCacheService(ResumoDiarioRepository resumoDiarioRepository, VersaoColecaoService versaoColecaoService,
+            MeterRegistry meterRegistry,
+            @Value("${relatorio.cache.ttl:PT10M}") Duration ttl,
+            @Value("${relatorio.cache.max-size:10000}") long maxSize) {
+        this.resumoDiarioRepository = resumoDiarioRepository;
+        this.versaoColecaoService = versaoColecaoService;
+        this.agregados = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        for (Consulta consulta : Consulta.values()) {
+            calculo.put(consulta, Timer.builder("relatorio.cache.calculo")
+                    .tag("consulta", consulta.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.deduplicadas = Counter.builder("relatorio.cache.deduplicadas").register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, agregados, "relatorio.totais");
+    }
+
+    public ResumoDiarioRepository.TotaisPeriodo totaisPeriodo(Empresa empresa, LocalDate inicio, LocalDate fim) {
+        return obter(new Chave(empresa.getId(), Consulta.TOTAIS, inicio, fim),
+                () -> resumoDiarioRepository.sumByPeriodo(empresa, inicio, fim));
+    }
+
+    public List<ResumoDiarioRepository.TotalPorMetodo> recebimentosPorMetodo(Empresa empresa, LocalDate inicio, LocalDate fim) {
+        return obter(new Chave(empresa.getId(), Consulta.RECEBIMENTOS_POR_METODO, inicio, fim),
+                () -> List.copyOf(resumoDiarioRepository.sumPagamentosPorMetodo(empresa, inicio, fim)));
+    }
+
+    /**
+     * Single-flight: chamadas simultâneas com a mesma chave compartilham um único cálculo. A primeira cria o
+     * future e consulta o banco na própria thread (com a transação e o contexto dela); as demais só aguardam,
+     * sem ir ao banco. Se o cálculo falhar, todas recebem o mesmo erro e o future não fica no cache.
+     * Antes, lê a versão RESUMO da empresa (uma linha, pelo índice de versao_colecao): um valor calculado antes
+     * da última escrita confirmada, nesta ou em outra instância, é descartado e calculado de novo.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T obter(Chave chave, Supplier<T> consulta) {
+        // A chave sempre inclui a empresa do chamador: cálculos nunca são compartilhados entre empresas
+        long versaoAtual = versaoColecaoService.versao(chave.empresaId(), Colecao.RESUMO);
+
+        while (true) {
+            CompletableFuture<Object> novo = new CompletableFuture<>();
+            CompletableFuture<Object> atual = agregados.get(chave, (k, executor) -> novo);
+
+            if (atual != novo) {
+                if (!atual.isDone()) {
+                    deduplicadas.increment();
+                }
+                Calculado calculado = (Calculado) aguardar(atual);
+                if (calculado.versao() >= versaoAtual) {
+                    return (T) calculado.valor();
+                }
+                // Calculado antes de uma escrita que esta instância não viu (outra réplica)
+                agregados.asMap().remove(chave, atual);
+                continue;
+            }
+
+            try {
+                novo.complete(new Calculado(versaoAtual, calcular(chave, consulta)));
+            } catch (RuntimeException | Error e) {
+                novo.completeExceptionally(e);
+                throw e;
+            }
+            return (T) ((Calculado) novo.join()).valor();
+        }
+    }
+
+    /**
+     * Chamado depois do commit de uma escrita (ver ResumoDiarioService). Escritas desfeitas não invalidam nada.
+     */
+    @TransactionalEventListener
+    public void aoAlterarResumo(ResumoDiarioService.ResumoAlterado evento) {
+        agregados.asMap().keySet().removeIf(chave -> chave.empresaId().equals(evento.empresaId())
+                && (evento.dia() == null || chave.contem(evento.dia())));
+    }
+
+    private <T> T calcular(Chave chave, Supplier<T> consulta) {
+        long inicio = System.nanoTime();
+        try {
+            return consulta.get();
+        } finally {
+            long nanos = System.nanoTime() - inicio;
+            calculo.get(chave.consulta()).record(Duration.ofNanos(nanos));
+            log.debug("Totais {} calculados em {} ms", chave, nanos / 1_000_000);
+        }
+    }
+
+    private static Object aguardar(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Repassa o erro original do cálculo (ex.: ResponseStatusException, DataAccessException)
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    // Valor do cache com a versão RESUMO lida antes do cálculo; uma escrita confirmada durante o cálculo já a torna antiga
+    private record Calculado(long versao, Object valor) {
+    }
+
+    private enum Consulta {
+        TOTAIS,
+        RECEBIMENTOS_POR_METODO
+    }
+
+    private record Chave(UUID empresaId, Consulta consulta, LocalDate inicio, LocalDate fim) {
+        boolean contem(LocalDate dia) {
+            return !dia.isBefore(inicio) && !dia.isAfter(fim);
+        }
+    }
+}
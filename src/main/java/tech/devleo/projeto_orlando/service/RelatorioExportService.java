@@ -0,0 +1,244 @@
+package tech.devleo.projeto_orlando.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.domain.Relatorio;
+import tech.devleo.projeto_orlando.repository.DividaRepository;
+import tech.devleo.projeto_orlando.repository.PagamentoRepository;
+import tech.devleo.projeto_orlando.repository.RelatorioRepository;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Exporta as dívidas e pagamentos por trás de um relatório em CSV ou NDJSON. As linhas são lidas por cursor
+ * (fetch size, somente leitura, projeções sem entidades) e escritas direto na resposta, então a memória usada
+ * não depende do número de linhas.
+ */
+@Service
+public class RelatorioExportService {
+
+    private static final int BUFFER = 64 * 1024;
+    private static final String CABECALHO_CSV = "tipo,divida_id,conta_id,devedor,data,valor,metodo";
+
+    private final RelatorioRepository repository;
+    private final DividaRepository dividaRepository;
+    private final PagamentoRepository pagamentoRepository;
+    private final EmpresaService empresaService;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+
+    public RelatorioExportService(RelatorioRepository repository, DividaRepository dividaRepository,
+            PagamentoRepository pagamentoRepository, EmpresaService empresaService,
+            PlatformTransactionManager transactionManager, JsonMapper jsonMapper) {
+        this.repository = repository;
+        this.dividaRepository = dividaRepository;
+        this.pagamentoRepository = pagamentoRepository;
+        this.empresaService = empresaService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Confere o acesso e resolve os filtros na thread da requisição: a escrita roda depois, em outra thread,
+     * sem o usuário autenticado.
+     */
+    @Transactional(readOnly = true)
+    public Exportacao preparar(Integer id) {
+        Empresa empresa = empresaService.getEmpresaByCurrentUser();
+        Relatorio r = repository.findByIdAndEmpresaId(id, empresa.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Relatório não encontrado"));
+
+        UUID contaId = r.getConta() != null ? r.getConta().getId() : null;
+        return switch (r.getTipo()) {
+            case MANUAL -> contaId != null
+                    ? new Exportacao(r.getId(), empresa, contaId, null, null, null, true, true, false)
+                    // Sem conta não há linhas por trás do valor informado
+                    : new Exportacao(r.getId(), empresa, null, null, null, null, false, false, false);
+            case CONTA_ESPECIFICA -> new Exportacao(r.getId(), empresa, contaId, null, null, null, true, true, false);
+            case CONSOLIDADO_EMPRESA -> new Exportacao(r.getId(), empresa, null, null, null, null, true, true, false);
+            case PERIODO -> new Exportacao(r.getId(), empresa, null, r.getDataInicio(), r.getDataFim(), null, true, true, false);
+            case RECEBIMENTOS -> new Exportacao(r.getId(), empresa, null, r.getDataInicio(), r.getDataFim(), null, false, true, false);
+            case INADIMPLENCIA -> new Exportacao(r.getId(), empresa, null, null, null, r.getValorMinimoInadimplencia(), true, false, true);
+        };
+    }
+
+    /**
+     * Escreve as linhas em out dentro de uma transação somente leitura (necessária para o cursor em alguns bancos).
+     * Com gzip a compressão é feita durante a escrita; out não é fechado.
+     */
+    public void escrever(Exportacao exportacao, Formato formato, boolean gzip, OutputStream out) throws IOException {
+        GZIPOutputStream compactado = gzip ? new GZIPOutputStream(out, BUFFER) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(compactado != null ? compactado : out, StandardCharsets.UTF_8), BUFFER);
+
+        if (formato == Formato.CSV) {
+            writer.write(CABECALHO_CSV);
+            writer.write('\n');
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> escreverLinhas(exportacao, formato, writer));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (compactado != null) {
+            compactado.finish();
+        }
+    }
+
+    private void escreverLinhas(Exportacao e, Formato formato, Writer writer) {
+        if (e.dividas()) {
+            try (Stream<DividaRepository.LinhaExportacao> dividas = dividaRepository.streamExportacao(
+                    e.empresa(), e.contaId(), e.inicio(), e.fim(), e.valorMinimo(), e.somenteEmAberto())) {
+                dividas.forEach(d -> escreverLinha(writer, formato,
+                        new Linha("DIVIDA", d.dividaId(), d.contaId(), d.devedor(), d.data(), d.valor(), null)));
+            }
+        }
+        if (e.pagamentos()) {
+            try (Stream<PagamentoRepository.LinhaExportacao> pagamentos = pagamentoRepository.streamExportacao(
+                    e.empresa(), e.contaId(), e.inicio(), e.fim())) {
+                pagamentos.forEach(p -> escreverLinha(writer, formato,
+                        new Linha("PAGAMENTO", p.dividaId(), p.contaId(), p.devedor(), p.data(), p.valor(), p.metodo())));
+            }
+        }
+    }
+
+    private void escreverLinha(Writer writer, Formato formato, Linha linha) {
+        try {
+            if (formato == Formato.NDJSON) {
+                writer.write(jsonMapper.writeValueAsString(linha));
+            } else {
+                writer.write(linha.tipo());
+                writer.write(',');
+                writer.write(texto(linha.dividaId()));
+                writer.write(',');
+                writer.write(texto(linha.contaId()));
+                writer.write(',');
+                writer.write(csv(linha.devedor()));
+                writer.write(',');
+                writer.write(linha.data() != null ? DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(linha.data()) : "");
+                writer.write(',');
+                writer.write(texto(linha.valor()));
+                writer.write(',');
+                writer.write(texto(linha.metodo()));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            // Cliente desconectado: encerra o cursor e a transação
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String texto(Object valor) {
+        return valor != null ? valor.toString() : "";
+    }
+
+    // RFC 4180: aspas só quando o campo tem vírgula, aspas ou quebra de linha
+    private static String csv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Lê o Accept-Encoding (RFC 9110): gzip é aceito quando listado (ou coberto por "*") com q maior que zero.
+     * Uma entrada explícita de gzip vale mais que "*"; q inválido conta como zero.
+     */
+    public static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double qualquer = null;
+        for (String entrada : acceptEncoding.split(",")) {
+            String[] partes = entrada.split(";");
+            String codificacao = partes[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim().toLowerCase(Locale.ROOT);
+                if (parametro.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(parametro.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (codificacao.equals("gzip") || codificacao.equals("x-gzip")) {
+                gzip = q;
+            } else if (codificacao.equals("*")) {
+                qualquer = q;
+            }
+        }
+        double aceito = gzip != null ? gzip : qualquer != null ? qualquer : 0;
+        return aceito > 0;
+    }
+
+    /**
+     * Filtros da exportação, resolvidos a partir do relatório. Campos nulos não filtram.
+     */
+    public record Exportacao(Integer relatorioId, Empresa empresa, UUID contaId, ZonedDateTime inicio, ZonedDateTime fim,
+            Money valorMinimo, boolean dividas, boolean pagamentos, boolean somenteEmAberto) {
+    }
+
+    public enum Formato {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+        private final String extensao;
+        private final MediaType mediaType;
+
+        Formato(String extensao, MediaType mediaType) {
+            this.extensao = extensao;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtensao() {
+            return extensao;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Formato of(String valor) {
+            try {
+                return valueOf(valor.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format deve ser csv ou ndjson");
+            }
+        }
+    }
+
+    // Linha exportada; no NDJSON os nomes dos campos são as chaves
+    record Linha(String tipo, Integer dividaId, UUID contaId, String devedor, ZonedDateTime data, Money valor,
+            MetodoPagamento metodo) {
+    }
+}
@@ -0,0 +1,360 @@
+package tech.devleo.projeto_orlando.service;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.RelatorioJob;
+import tech.devleo.projeto_orlando.domain.StatusRelatorioJob;
+import tech.devleo.projeto_orlando.domain.TipoRelatorio;
+import tech.devleo.projeto_orlando.dto.RelatorioJobResponse;
+import tech.devleo.projeto_orlando.dto.RelatorioRequest;
+import tech.devleo.projeto_orlando.dto.RelatorioResponse;
+import tech.devleo.projeto_orlando.repository.EmpresaRepository;
+import tech.devleo.projeto_orlando.repository.RelatorioJobRepository;
+
+/**
+ * Geração assíncrona de relatórios. O pedido é gravado como RelatorioJob (PENDENTE) e a requisição
+ * retorna imediatamente; um despachante reserva os jobs no banco e os executa em um pool limitado por
+ * instância. O máximo de jobs simultâneos por empresa vale para todas as instâncias, pois é conferido na
+ * própria reserva. Como a fila é a própria tabela, jobs pendentes sobrevivem a um restart, e jobs
+ * interrompidos no meio voltam para a fila após o timeout; cada reserva tem um token, e só o worker que
+ * detém a reserva atual grava o resultado.
+ */
+@Service
+public class RelatorioJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatorioJobService.class);
+    private static final ZoneId ZONE_ID = ZoneId.of("America/Sao_Paulo");
+
+    private final RelatorioJobRepository repository;
+    private final EmpresaRepository empresaRepository;
+    private final RelatorioService relatorioService;
+    private final EmpresaService empresaService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+
+    private final boolean habilitado;
+    private final int maxConcorrencia;
+    private final int maxPorEmpresa;
+    private final Duration timeout;
+    private final int maxTentativas;
+    private final Duration retencao;
+
+    // Um despacho por vez nesta instância; ReentrantLock em vez de synchronized, que prende a thread virtual à portadora
+    private final ReentrantLock despacho = new ReentrantLock();
+
+    // Jobs em execução nesta instância: max-concurrency limita o pool local, não o total entre instâncias
+    private final AtomicInteger ativos = new AtomicInteger();
+    private final AtomicLong pendentes = new AtomicLong();
+
+    // Requisições aguardando a conclusão de um job executado nesta instância (long polling)
+    private final Map<UUID, List<CompletableFuture<Void>>> aguardando = new ConcurrentHashMap<>();
+
+    private final Timer esperaNaFila;
+
+    public RelatorioJobService(RelatorioJobRepository repository, EmpresaRepository empresaRepository,
+            RelatorioService relatorioService, EmpresaService empresaService, MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${relatorio.jobs.enabled:true}") boolean habilitado,
+            @Value("${relatorio.jobs.virtual-threads:true}") boolean virtualThreads,
+            @Value("${relatorio.jobs.max-concurrency:4}") int maxConcorrencia,
+            @Value("${relatorio.jobs.max-per-empresa:2}") int maxPorEmpresa,
+            @Value("${relatorio.jobs.timeout:PT10M}") Duration timeout,
+            @Value("${relatorio.jobs.max-attempts:3}") int maxTentativas,
+            @Value("${relatorio.jobs.retention:P7D}") Duration retencao) {
+        this.repository = repository;
+        this.empresaRepository = empresaRepository;
+        this.relatorioService = relatorioService;
+        this.empresaService = empresaService;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.maxConcorrencia = maxConcorrencia;
+        this.maxPorEmpresa = maxPorEmpresa;
+        this.timeout = timeout;
+        this.maxTentativas = maxTentativas;
+        this.retencao = retencao;
+
+        // O limite de concorrência é aplicado pelo despachante, então o executor em si não precisa de fila
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("relatorio-job-", 1).factory())
+                : Executors.newFixedThreadPool(maxConcorrencia, Thread.ofPlatform().name("relatorio-job-", 1).daemon().factory());
+
+        Gauge.builder("relatorio.jobs.queue", pendentes, AtomicLong::get)
+                .description("Jobs de relatório pendentes")
+                .register(meterRegistry);
+        Gauge.builder("relatorio.jobs.active", ativos, AtomicInteger::get)
+                .description("Jobs de relatório em execução nesta instância")
+                .register(meterRegistry);
+        this.esperaNaFila = Timer.builder("relatorio.jobs.queue.wait")
+                .description("Tempo entre o pedido e o início da execução")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Valida e grava o pedido como job pendente da empresa do usuário atual, disparando o despachante.
+     */
+    public RelatorioJobResponse enfileirar(RelatorioRequest req) {
+        relatorioService.validar(req);
+        Empresa empresa = empresaService.getEmpresaByCurrentUser();
+
+        RelatorioJob job = new RelatorioJob();
+        job.setEmpresa(empresa);
+        job.setTipo(req.tipo() != null ? req.tipo() : TipoRelatorio.MANUAL);
+        job.setValorMovimentado(req.valorMovimentado());
+        job.setContaId(req.contaId());
+        job.setDataInicio(req.dataInicio());
+        job.setDataFim(req.dataFim());
+        job.setValorMinimoInadimplencia(req.valorMinimoInadimplencia());
+        job.setDescricao(req.descricao());
+        job.setCriadoEm(ZonedDateTime.now(ZONE_ID));
+        job = repository.save(job);
+
+        despachar();
+        return toResponse(job, null);
+    }
+
+    public RelatorioJobResponse buscar(UUID id) {
+        return buscar(id, empresaService.getEmpresaByCurrentUser().getId());
+    }
+
+    /**
+     * Retorna o job assim que ele terminar ou, no máximo, após a espera informada.
+     * A empresa é resolvida antes, pois a resposta pode ser montada na thread do worker.
+     */
+    public CompletableFuture<RelatorioJobResponse> aguardar(UUID id, Duration espera) {
+        UUID empresaId = empresaService.getEmpresaByCurrentUser().getId();
+        RelatorioJobResponse atual = buscar(id, empresaId);
+        if (isFinal(atual.status()) || espera.isZero() || espera.isNegative()) {
+            return CompletableFuture.completedFuture(atual);
+        }
+
+        CompletableFuture<Void> conclusao = new CompletableFuture<>();
+        aguardando.compute(id, (chave, lista) -> {
+            List<CompletableFuture<Void>> novaLista = lista != null ? lista : new ArrayList<>();
+            novaLista.add(conclusao);
+            return novaLista;
+        });
+        conclusao.whenComplete((v, e) -> aguardando.computeIfPresent(id, (chave, lista) -> {
+            lista.remove(conclusao);
+            return lista.isEmpty() ? null : lista;
+        }));
+        // O job pode ter terminado entre a primeira leitura e o registro da espera
+        if (isFinal(buscar(id, empresaId).status())) {
+            conclusao.complete(null);
+        }
+
+        return conclusao
+                .completeOnTimeout(null, espera.toMillis(), TimeUnit.MILLISECONDS)
+                // Fora da thread que completou (worker ou timer do CompletableFuture), pois consulta o banco;
+                // no executor dos jobs, e não no ForkJoinPool comum
+                .thenApplyAsync(v -> buscar(id, empresaId), executor);
+    }
+
+    /**
+     * Reserva e executa jobs pendentes enquanto houver capacidade nesta instância e na empresa.
+     * Roda após cada enfileiramento, ao fim de cada job e periodicamente (jobs de outras instâncias ou após restart).
+     */
+    @Scheduled(fixedDelayString = "${relatorio.jobs.poll-interval:PT5S}", initialDelayString = "${relatorio.jobs.poll-interval:PT5S}")
+    public void despachar() {
+        despacho.lock();
+        try {
+            pendentes.set(repository.countByStatus(StatusRelatorioJob.PENDENTE));
+            if (!habilitado) {
+                return;
+            }
+
+            int livres = maxConcorrencia - ativos.get();
+            if (livres <= 0 || pendentes.get() == 0) {
+                return;
+            }
+
+            // Lê mais do que a capacidade livre para poder pular empresas que já estão no limite
+            List<RelatorioJob> candidatos = repository.findByStatus(StatusRelatorioJob.PENDENTE, PageRequest.of(0, livres * 4));
+            for (RelatorioJob job : candidatos) {
+                if (ativos.get() >= maxConcorrencia) {
+                    break;
+                }
+
+                ZonedDateTime agora = ZonedDateTime.now(ZONE_ID);
+                UUID reserva = reservar(job, agora);
+                if (reserva == null) {
+                    continue; // reservado por outra instância ou empresa no limite
+                }
+                esperaNaFila.record(Duration.between(job.getCriadoEm(), agora));
+                pendentes.decrementAndGet();
+                ativos.incrementAndGet();
+
+                executor.execute(() -> {
+                    try {
+                        executar(job, reserva);
+                    } finally {
+                        ativos.decrementAndGet();
+                        despachar();
+                    }
+                });
+            }
+        } finally {
+            despacho.unlock();
+        }
+    }
+
+    /**
+     * Passa o job para EXECUTANDO com um novo token de reserva, se ainda estiver pendente e a empresa tiver
+     * menos de max-per-empresa jobs em execução (em qualquer instância). Retorna null se não reservou.
+     */
+    private UUID reservar(RelatorioJob job, ZonedDateTime agora) {
+        UUID reserva = UUID.randomUUID();
+        Integer reservados = transactionTemplate.execute(status -> {
+            // Serializa as reservas da empresa entre instâncias: a contagem do reservar não pode ser lida por duas ao mesmo tempo
+            empresaRepository.travarById(job.getEmpresa().getId());
+            return repository.reservar(job.getId(), reserva, agora, maxPorEmpresa,
+                    StatusRelatorioJob.PENDENTE, StatusRelatorioJob.EXECUTANDO);
+        });
+        return reservados != null && reservados > 0 ? reserva : null;
+    }
+
+    /**
+     * Gera o relatório de um job reservado e grava o resultado, desde que a reserva ainda seja a atual. Se o job
+     * voltou para a fila ou falhou por timeout enquanto este worker rodava, o relatório gerado é descartado
+     * (rollback) e o job fica com a tentativa que o assumiu. Erros de negócio (ResponseStatusException) viram a
+     * mensagem do job; erros inesperados são registrados no log.
+     */
+    public void executar(RelatorioJob job, UUID reserva) {
+        long inicio = System.nanoTime();
+        String resultado = StatusRelatorioJob.FALHOU.name();
+        try {
+            boolean gravado = Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+                RelatorioResponse relatorio = relatorioService.criar(toRequest(job), job.getEmpresa());
+                if (finalizar(job, reserva, StatusRelatorioJob.CONCLUIDO, relatorio.id(), null)) {
+                    return true;
+                }
+                tx.setRollbackOnly();
+                return false;
+            }));
+            if (gravado) {
+                resultado = StatusRelatorioJob.CONCLUIDO.name();
+            } else {
+                resultado = "DESCARTADO";
+                log.warn("Job de relatório {} terminou depois de perder a reserva; resultado descartado", job.getId());
+            }
+        } catch (ResponseStatusException e) {
+            finalizar(job, reserva, StatusRelatorioJob.FALHOU, null, e.getReason());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gerar relatório do job {}", job.getId(), e);
+            finalizar(job, reserva, StatusRelatorioJob.FALHOU, null, "Erro interno ao gerar relatório");
+        } finally {
+            Timer.builder("relatorio.jobs.duration")
+                    .description("Tempo de geração de relatórios assíncronos")
+                    .tag("tipo", job.getTipo().name())
+                    .tag("status", resultado)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            List<CompletableFuture<Void>> esperando = aguardando.remove(job.getId());
+            if (esperando != null) {
+                esperando.forEach(f -> f.complete(null));
+            }
+        }
+    }
+
+    private boolean finalizar(RelatorioJob job, UUID reserva, StatusRelatorioJob status, Integer relatorioId, String erro) {
+        return repository.finalizar(job.getId(), reserva, status, relatorioId, erro, ZonedDateTime.now(ZONE_ID),
+                StatusRelatorioJob.EXECUTANDO) > 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarAoIniciar() {
+        despachar();
+    }
+
+    /**
+     * Devolve para a fila os jobs que passaram do timeout em EXECUTANDO (até max-attempts tentativas)
+     * e remove os jobs finalizados há mais tempo que a retenção.
+     */
+    @Scheduled(fixedDelayString = "${relatorio.jobs.cleanup-interval:PT1M}", initialDelayString = "${relatorio.jobs.cleanup-interval:PT1M}")
+    public void recuperarTravados() {
+        ZonedDateTime agora = ZonedDateTime.now(ZONE_ID);
+        ZonedDateTime limite = agora.minus(timeout);
+        repository.falharTravados(limite, maxTentativas, "Tempo limite excedido", agora,
+                StatusRelatorioJob.EXECUTANDO, StatusRelatorioJob.FALHOU);
+        int devolvidos = repository.devolverTravados(limite, maxTentativas,
+                StatusRelatorioJob.EXECUTANDO, StatusRelatorioJob.PENDENTE);
+        if (devolvidos > 0) {
+            log.warn("{} jobs de relatório excederam {} em execução e voltaram para a fila", devolvidos, timeout);
+        }
+        repository.deleteConcluidosAntes(agora.minus(retencao));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private RelatorioJobResponse buscar(UUID id, UUID empresaId) {
+        RelatorioJob job = repository.findByIdAndEmpresaId(id, empresaId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job de relatório não encontrado"));
+        RelatorioResponse relatorio = job.getRelatorioId() != null ? relatorioService.buscarResponse(job.getRelatorioId()) : null;
+        return toResponse(job, relatorio);
+    }
+
+    private static boolean isFinal(StatusRelatorioJob status) {
+        return status == StatusRelatorioJob.CONCLUIDO || status == StatusRelatorioJob.FALHOU;
+    }
+
+    private static RelatorioRequest toRequest(RelatorioJob job) {
+        return new RelatorioRequest(
+            job.getTipo(),
+            job.getValorMovimentado(),
+            job.getContaId(),
+            job.getDataInicio(),
+            job.getDataFim(),
+            job.getValorMinimoInadimplencia(),
+            job.getDescricao()
+        );
+    }
+
+    private static RelatorioJobResponse toResponse(RelatorioJob job, RelatorioResponse relatorio) {
+        return new RelatorioJobResponse(
+            job.getId(),
+            job.getStatus(),
+            job.getTipo(),
+            job.getCriadoEm(),
+            job.getIniciadoEm(),
+            job.getConcluidoEm(),
+            job.getErro(),
+            relatorio
+        );
+    }
+}
@@ -1,14 +1,14 @@
 package tech.devleo.projeto_orlando.service;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
-import org.hibernate.Hibernate;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,15 +16,23 @@ import org.springframework.web.server.ResponseStatusException;
 
 import tech.devleo.projeto_orlando.domain.Conta;
 import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.FaixaAtraso;
+import tech.devleo.projeto_orlando.domain.InadimplenciaPorFaixa;
+import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.domain.RecebimentoPorMetodo;
 import tech.devleo.projeto_orlando.domain.Relatorio;
 import tech.devleo.projeto_orlando.domain.TipoRelatorio;
 import tech.devleo.projeto_orlando.dto.AuditoriaResponse;
+import tech.devleo.projeto_orlando.dto.FaixaAtrasoResponse;
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
 import tech.devleo.projeto_orlando.dto.RelatorioRequest;
 import tech.devleo.projeto_orlando.dto.RelatorioResponse;
+import tech.devleo.projeto_orlando.dto.TotalPorMetodoResponse;
 import tech.devleo.projeto_orlando.repository.ContaRepository;
 import tech.devleo.projeto_orlando.repository.DividaRepository;
-import tech.devleo.projeto_orlando.repository.PagamentoRepository;
 import tech.devleo.projeto_orlando.repository.RelatorioRepository;
+import tech.devleo.projeto_orlando.repository.ResumoDiarioRepository;
 
 @Service
 public class RelatorioService {
@@ -32,36 +40,41 @@ public class RelatorioService {
     private final RelatorioRepository repository;
     private final ContaRepository contaRepository;
     private final DividaRepository dividaRepository;
-    private final PagamentoRepository pagamentoRepository;
+    private final RelatorioCacheService relatorioCacheService;
     private final EmpresaService empresaService;
+    private final Paginacao paginacao;
 
-    public RelatorioService(RelatorioRepository repository, ContaRepository contaRepository, DividaRepository dividaRepository, PagamentoRepository pagamentoRepository, EmpresaService empresaService) {
+    public RelatorioService(RelatorioRepository repository, ContaRepository contaRepository, DividaRepository dividaRepository,
+            RelatorioCacheService relatorioCacheService, EmpresaService empresaService, Paginacao paginacao) {
         this.repository = repository;
         this.contaRepository = contaRepository;
         this.dividaRepository = dividaRepository;
-        this.pagamentoRepository = pagamentoRepository;
+        this.relatorioCacheService = relatorioCacheService;
         this.empresaService = empresaService;
+        this.paginacao = paginacao;
     }
 
-    public List<RelatorioResponse> findAll() {
+    @Transactional(readOnly = true)
+    public PaginaResponse<RelatorioResponse> findAll(String cursor, Integer tamanho) {
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        return repository.findByEmpresa(empresa).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        Integer apos = paginacao.cursorInteiro(cursor);
+        Limit limite = paginacao.limite(tamanho);
+        List<Relatorio> relatorios = apos == null
+                ? repository.findPrimeiraPaginaByEmpresa(empresa, limite)
+                : repository.findPaginaByEmpresaApos(empresa, apos, limite);
+        return paginacao.pagina(relatorios, tamanho, Relatorio::getId, this::toResponse);
     }
 
     public RelatorioResponse findById(Integer id) {
-        Relatorio r = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Relatório não encontrado"));
-        
+        return toResponse(buscarDaEmpresa(id));
+    }
+
+    // Relatório de outra empresa responde como inexistente; a empresa é conferida na mesma consulta,
+    // sem passar pela conta e pelo devedor
+    private Relatorio buscarDaEmpresa(Integer id) {
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        if (r.getConta() != null && r.getConta().getDevedor() != null) {
-            if (!r.getConta().getDevedor().getEmpresa().getId().equals(empresa.getId())) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Relatório não pertence à sua empresa");
-            }
-        }
-        
-        return toResponse(r);
+        return repository.findByIdAndEmpresaId(id, empresa.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Relatório não encontrado"));
     }
     
     private RelatorioResponse toResponse(Relatorio r) {
@@ -78,16 +91,40 @@ public class RelatorioService {
             r.getConta() != null ? r.getConta().getId() : null,
             r.getDataGeracao(),
             r.getDataInicio(),
-            r.getDataFim()
+            r.getDataFim(),
+            r.getTipo() == TipoRelatorio.RECEBIMENTOS ? toResponse(r.getRecebimentosPorMetodo()) : null,
+            r.getTipo() == TipoRelatorio.INADIMPLENCIA ? toFaixasResponse(r.getInadimplenciaPorFaixa()) : null
         );
     }
 
+    private static List<FaixaAtrasoResponse> toFaixasResponse(List<InadimplenciaPorFaixa> faixas) {
+        return faixas.stream()
+                .map(f -> new FaixaAtrasoResponse(f.getFaixa(), f.getQuantidade(), f.getTotal()))
+                .toList();
+    }
+
+    private static List<TotalPorMetodoResponse> toResponse(List<RecebimentoPorMetodo> recebimentos) {
+        return recebimentos.stream()
+                .map(rm -> new TotalPorMetodoResponse(rm.getMetodo(), rm.getQuantidade(), rm.getTotal()))
+                .toList();
+    }
+
     @Transactional
     public RelatorioResponse create(RelatorioRequest req) {
-        Empresa empresa = empresaService.getEmpresaByCurrentUser();
+        return criar(req, empresaService.getEmpresaByCurrentUser());
+    }
+
+    /**
+     * Gera o relatório para a empresa informada, sem depender do usuário autenticado.
+     * Usado pelo create síncrono e pelos workers do RelatorioJobService.
+     */
+    @Transactional
+    public RelatorioResponse criar(RelatorioRequest req, Empresa empresa) {
+        validar(req);
         TipoRelatorio tipo = req.tipo() != null ? req.tipo() : TipoRelatorio.MANUAL;
         
         Relatorio r = new Relatorio();
+        r.setEmpresa(empresa);
         r.setTipo(tipo);
         r.setDescricao(req.descricao());
         
@@ -95,19 +132,13 @@ public class RelatorioService {
         
         switch (tipo) {
             case MANUAL:
-                if (req.valorMovimentado() == null) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "valorMovimentado é obrigatório para relatório MANUAL");
-                }
-                r.setValorMovimentado(req.valorMovimentado());
+                r.setValorMovimentado(Money.of(req.valorMovimentado()));
                 if (req.contaId() != null) {
                     setConta(r, req.contaId(), empresa);
                 }
                 break;
                 
             case CONTA_ESPECIFICA:
-                if (req.contaId() == null) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "contaId é obrigatório para relatório CONTA_ESPECIFICA");
-                }
                 setConta(r, req.contaId(), empresa);
                 gerarRelatorioContaEspecifica(r, empresa);
                 break;
@@ -117,18 +148,18 @@ public class RelatorioService {
                 break;
                 
             case PERIODO:
-                if (req.dataInicio() == null || req.dataFim() == null) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "dataInicio e dataFim são obrigatórios para relatório PERIODO");
-                }
                 r.setDataInicio(req.dataInicio().atStartOfDay(zoneId));
                 r.setDataFim(req.dataFim().atTime(LocalTime.MAX).atZone(zoneId));
                 gerarRelatorioPeriodo(r, empresa);
                 break;
                 
+            case INADIMPLENCIA:
+                r.setValorMinimoInadimplencia(req.valorMinimoInadimplencia() != null
+                        ? Money.of(req.valorMinimoInadimplencia()) : null);
+                gerarRelatorioInadimplencia(r, empresa, r.getValorMinimoInadimplencia(), zoneId);
+                break;
+                
             case RECEBIMENTOS:
-                if (req.dataInicio() == null || req.dataFim() == null) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "dataInicio e dataFim são obrigatórios para relatório RECEBIMENTOS");
-                }
                 r.setDataInicio(req.dataInicio().atStartOfDay(zoneId));
                 r.setDataFim(req.dataFim().atTime(LocalTime.MAX).atZone(zoneId));
                 gerarRelatorioRecebimentos(r, empresa);
@@ -138,104 +169,99 @@ public class RelatorioService {
         r = repository.save(r);
         return toResponse(r);
     }
+
+    /**
+     * Confere os campos obrigatórios de cada tipo, lançando 400. Chamado antes de enfileirar um job
+     * para que pedidos inválidos falhem na própria requisição.
+     */
+    public void validar(RelatorioRequest req) {
+        TipoRelatorio tipo = req.tipo() != null ? req.tipo() : TipoRelatorio.MANUAL;
+        switch (tipo) {
+            case MANUAL:
+                if (req.valorMovimentado() == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "valorMovimentado é obrigatório para relatório MANUAL");
+                }
+                break;
+            case CONTA_ESPECIFICA:
+                if (req.contaId() == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "contaId é obrigatório para relatório CONTA_ESPECIFICA");
+                }
+                break;
+            case PERIODO:
+            case RECEBIMENTOS:
+                if (req.dataInicio() == null || req.dataFim() == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "dataInicio e dataFim são obrigatórios para relatório " + tipo);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    RelatorioResponse buscarResponse(Integer id) {
+        return repository.findById(id).map(this::toResponse).orElse(null);
+    }
     
     private void setConta(Relatorio r, String contaId, Empresa empresa) {
         java.util.UUID contaUUID = java.util.UUID.fromString(contaId);
-        Conta c = contaRepository.findById(contaUUID)
+        // Conta de outra empresa responde como inexistente
+        Conta c = contaRepository.findByIdAndDevedorEmpresaId(contaUUID, empresa.getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Conta não encontrada"));
         
-        if (c.getDevedor() == null || !c.getDevedor().getEmpresa().getId().equals(empresa.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Conta não pertence à sua empresa");
-        }
-        
         r.setConta(c);
     }
     
     private void gerarRelatorioContaEspecifica(Relatorio r, Empresa empresa) {
         Conta conta = r.getConta();
         
-        Hibernate.initialize(conta.getDividas());
-        Hibernate.initialize(conta.getPagamentos());
-        
-        Double totalDividas = conta.getDividas().stream()
-                .mapToDouble(d -> d.getValor() != null ? d.getValor() : 0.0)
-                .sum();
+        // Totais desnormalizados na Conta: não é preciso carregar as dívidas e os pagamentos
+        Money saldo = conta.getSaldo();
         
-        Double totalPagamentos = conta.getPagamentos().stream()
-                .mapToDouble(p -> p.getValor() != null ? p.getValor() : 0.0)
-                .sum();
-        
-        BigDecimal saldo = conta.getSaldo();
-        
-        r.setTotalDividas(totalDividas);
-        r.setTotalPagamentos(totalPagamentos);
-        r.setQuantidadeDividas(conta.getDividas().size());
-        r.setQuantidadePagamentos(conta.getPagamentos().size());
-        r.setValorMovimentado(saldo.doubleValue());
+        r.setTotalDividas(conta.getTotalDividas());
+        r.setTotalPagamentos(conta.getTotalPagamentos());
+        r.setQuantidadeDividas(conta.getQuantidadeDividas());
+        r.setQuantidadePagamentos(conta.getQuantidadePagamentos());
+        r.setValorMovimentado(saldo);
         
         if (r.getDescricao() == null) {
-            r.setDescricao(String.format("Relatório da conta de %s - Saldo: R$ %.2f", 
-                conta.getDevedor().getName(), saldo.doubleValue()));
+            r.setDescricao(String.format("Relatório da conta de %s - Saldo: R$ %s", 
+                conta.getDevedor().getName(), saldo));
         }
     }
     
     private void gerarRelatorioConsolidado(Relatorio r, Empresa empresa) {
-        List<Conta> contas = contaRepository.findByDevedorEmpresa(empresa);
-        
-        contas.forEach(c -> {
-            Hibernate.initialize(c.getDividas());
-            Hibernate.initialize(c.getPagamentos());
-        });
-        
-        Double totalDividas = 0.0;
-        Double totalPagamentos = 0.0;
-        int qtdDividas = 0;
-        int qtdPagamentos = 0;
-        Double saldoTotal = 0.0;
+        // Agregado calculado no banco: memória constante independente do número de contas/dívidas
+        ContaRepository.TotaisEmpresa totais = contaRepository.sumTotaisByEmpresa(empresa);
         
-        for (Conta conta : contas) {
-            totalDividas += conta.getDividas().stream()
-                    .mapToDouble(d -> d.getValor() != null ? d.getValor() : 0.0)
-                    .sum();
-            
-            totalPagamentos += conta.getPagamentos().stream()
-                    .mapToDouble(p -> p.getValor() != null ? p.getValor() : 0.0)
-                    .sum();
-            
-            qtdDividas += conta.getDividas().size();
-            qtdPagamentos += conta.getPagamentos().size();
-            saldoTotal += conta.getSaldo().doubleValue();
-        }
+        Money saldoTotal = Money.ofCentavos(totais.getSaldo());
+        int qtdContas = totais.getQuantidadeContas() != null ? totais.getQuantidadeContas().intValue() : 0;
         
-        r.setTotalDividas(totalDividas);
-        r.setTotalPagamentos(totalPagamentos);
-        r.setQuantidadeDividas(qtdDividas);
-        r.setQuantidadePagamentos(qtdPagamentos);
-        r.setQuantidadeContas(contas.size());
+        r.setTotalDividas(Money.ofCentavos(totais.getTotalDividas()));
+        r.setTotalPagamentos(Money.ofCentavos(totais.getTotalPagamentos()));
+        r.setQuantidadeDividas(totais.getQuantidadeDividas() != null ? totais.getQuantidadeDividas().intValue() : 0);
+        r.setQuantidadePagamentos(totais.getQuantidadePagamentos() != null ? totais.getQuantidadePagamentos().intValue() : 0);
+        r.setQuantidadeContas(qtdContas);
         r.setValorMovimentado(saldoTotal);
         
         if (r.getDescricao() == null) {
-            r.setDescricao(String.format("Relatório consolidado - %d contas - Saldo total: R$ %.2f", 
-                contas.size(), saldoTotal));
+            r.setDescricao(String.format("Relatório consolidado - %d contas - Saldo total: R$ %s", 
+                qtdContas, saldoTotal));
         }
     }
     
     private void gerarRelatorioPeriodo(Relatorio r, Empresa empresa) {
-        Double totalDividas = dividaRepository.sumValorByPeriodo(empresa, r.getDataInicio(), r.getDataFim());
-        Double totalPagamentos = pagamentoRepository.sumValorByPeriodo(empresa, r.getDataInicio(), r.getDataFim());
-        Long qtdPagamentos = pagamentoRepository.countByPeriodo(empresa, r.getDataInicio(), r.getDataFim());
+        // Períodos são sempre dias inteiros, então o resumo diário cobre o intervalo exatamente
+        ResumoDiarioRepository.TotaisPeriodo totais = relatorioCacheService.totaisPeriodo(
+                empresa, r.getDataInicio().toLocalDate(), r.getDataFim().toLocalDate());
+        Money totalDividas = Money.ofCentavos(totais.getTotalDividas());
+        Money totalPagamentos = Money.ofCentavos(totais.getTotalPagamentos());
         
-        List<tech.devleo.projeto_orlando.domain.Divida> dividas = dividaRepository.findByFiadora(empresa).stream()
-                .filter(d -> d.getDataCriacao() != null && 
-                        !d.getDataCriacao().isBefore(r.getDataInicio()) && 
-                        !d.getDataCriacao().isAfter(r.getDataFim()))
-                .toList();
-        
-        r.setTotalDividas(totalDividas != null ? totalDividas : 0.0);
-        r.setTotalPagamentos(totalPagamentos != null ? totalPagamentos : 0.0);
-        r.setQuantidadeDividas(dividas.size());
-        r.setQuantidadePagamentos(qtdPagamentos != null ? qtdPagamentos.intValue() : 0);
-        r.setValorMovimentado((totalDividas != null ? totalDividas : 0.0) - (totalPagamentos != null ? totalPagamentos : 0.0));
+        r.setTotalDividas(totalDividas);
+        r.setTotalPagamentos(totalPagamentos);
+        r.setQuantidadeDividas(quantidade(totais.getQuantidadeDividas()));
+        r.setQuantidadePagamentos(quantidade(totais.getQuantidadePagamentos()));
+        r.setValorMovimentado(totalDividas.minus(totalPagamentos));
         
         if (r.getDescricao() == null) {
             r.setDescricao(String.format("Relatório de período %s a %s", 
@@ -244,38 +270,96 @@ public class RelatorioService {
     }
 
     private void gerarRelatorioRecebimentos(Relatorio r, Empresa empresa) {
-        Double totalRecebido = pagamentoRepository.sumValorByPeriodo(empresa, r.getDataInicio(), r.getDataFim());
-        Long qtdPagamentos = pagamentoRepository.countByPeriodo(empresa, r.getDataInicio(), r.getDataFim());
+        // Um único GROUP BY por método; o total geral é a soma dos grupos
+        Map<MetodoPagamento, ResumoDiarioRepository.TotalPorMetodo> porMetodo = new EnumMap<>(MetodoPagamento.class);
+        ResumoDiarioRepository.TotalPorMetodo semMetodo = null;
+        for (ResumoDiarioRepository.TotalPorMetodo t : relatorioCacheService.recebimentosPorMetodo(
+                empresa, r.getDataInicio().toLocalDate(), r.getDataFim().toLocalDate())) {
+            if (t.getMetodo() != null) {
+                porMetodo.put(t.getMetodo(), t);
+            } else {
+                semMetodo = t;
+            }
+        }
+
+        for (MetodoPagamento metodo : MetodoPagamento.values()) {
+            r.getRecebimentosPorMetodo().add(recebimento(metodo, porMetodo.get(metodo)));
+        }
+        // Pagamentos antigos gravados sem método entram no total em uma linha com metodo nulo
+        if (semMetodo != null && quantidade(semMetodo.getQuantidade()) > 0) {
+            r.getRecebimentosPorMetodo().add(recebimento(null, semMetodo));
+        }
+
+        Money totalRecebido = Money.somar(r.getRecebimentosPorMetodo(), RecebimentoPorMetodo::getTotal);
+        long quantidadePagamentos = r.getRecebimentosPorMetodo().stream().mapToLong(RecebimentoPorMetodo::getQuantidade).sum();
         
-        r.setTotalPagamentos(totalRecebido != null ? totalRecebido : 0.0);
-        r.setQuantidadePagamentos(qtdPagamentos != null ? qtdPagamentos.intValue() : 0);
-        r.setValorMovimentado(totalRecebido != null ? totalRecebido : 0.0);
+        r.setTotalPagamentos(totalRecebido);
+        r.setQuantidadePagamentos((int) quantidadePagamentos);
+        r.setValorMovimentado(totalRecebido);
         
         if (r.getDescricao() == null) {
-            r.setDescricao(String.format("Relatório de recebimentos - Período: %s a %s - Total recebido: R$ %.2f", 
+            r.setDescricao(String.format("Relatório de recebimentos - Período: %s a %s - Total recebido: R$ %s", 
                 r.getDataInicio().toLocalDate(), r.getDataFim().toLocalDate(), 
-                totalRecebido != null ? totalRecebido : 0.0));
+                totalRecebido));
+        }
+    }
+
+    private void gerarRelatorioInadimplencia(Relatorio r, Empresa empresa, Money valorMinimo, ZoneId zoneId) {
+        // Idade contada em dias de calendário: a dívida criada há 30 dias ainda está em ATE_30_DIAS
+        LocalDate hoje = LocalDate.now(zoneId);
+        ZonedDateTime limite30 = limite(hoje, FaixaAtraso.ATE_30_DIAS, zoneId);
+        ZonedDateTime limite60 = limite(hoje, FaixaAtraso.DE_31_A_60_DIAS, zoneId);
+        ZonedDateTime limite90 = limite(hoje, FaixaAtraso.DE_61_A_90_DIAS, zoneId);
+        DividaRepository.Inadimplencia i = valorMinimo == null
+                ? dividaRepository.sumInadimplenciaByFiadora(empresa, limite30, limite60, limite90)
+                : dividaRepository.sumInadimplenciaByFiadoraAPartirDe(empresa, valorMinimo, limite30, limite60, limite90);
+
+        List<InadimplenciaPorFaixa> faixas = r.getInadimplenciaPorFaixa();
+        faixas.add(new InadimplenciaPorFaixa(FaixaAtraso.ATE_30_DIAS, quantidade(i.getQuantidadeAte30()), Money.ofCentavos(i.getTotalAte30())));
+        faixas.add(new InadimplenciaPorFaixa(FaixaAtraso.DE_31_A_60_DIAS, quantidade(i.getQuantidade31a60()), Money.ofCentavos(i.getTotal31a60())));
+        faixas.add(new InadimplenciaPorFaixa(FaixaAtraso.DE_61_A_90_DIAS, quantidade(i.getQuantidade61a90()), Money.ofCentavos(i.getTotal61a90())));
+        faixas.add(new InadimplenciaPorFaixa(FaixaAtraso.ACIMA_DE_90_DIAS, quantidade(i.getQuantidadeAcima90()), Money.ofCentavos(i.getTotalAcima90())));
+
+        Money totalEmAberto = Money.somar(faixas, InadimplenciaPorFaixa::getTotal);
+        int qtdContas = quantidade(i.getQuantidadeContas());
+
+        r.setTotalDividas(totalEmAberto);
+        r.setQuantidadeDividas(quantidade(i.getQuantidade()));
+        r.setQuantidadeContas(qtdContas);
+        r.setValorMovimentado(totalEmAberto);
+
+        if (r.getDescricao() == null) {
+            r.setDescricao(String.format("Relatório de inadimplência - %d contas - Total em aberto: R$ %s",
+                qtdContas, totalEmAberto));
         }
     }
 
+    // Início do dia mais antigo que ainda pertence à faixa
+    private static ZonedDateTime limite(LocalDate hoje, FaixaAtraso faixa, ZoneId zoneId) {
+        return hoje.minusDays(faixa.getDiasMaximo()).atStartOfDay(zoneId);
+    }
+
+    private static RecebimentoPorMetodo recebimento(MetodoPagamento metodo, ResumoDiarioRepository.TotalPorMetodo t) {
+        if (t == null) {
+            return new RecebimentoPorMetodo(metodo, 0, Money.ZERO);
+        }
+        return new RecebimentoPorMetodo(metodo, quantidade(t.getQuantidade()), Money.ofCentavos(t.getTotal()));
+    }
+
+    private static int quantidade(Long valor) {
+        return valor != null ? valor.intValue() : 0;
+    }
+
     @Transactional
     public RelatorioResponse update(Integer id, RelatorioRequest req) {
-        Relatorio r = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Relatório não encontrado"));
-        
-        Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        if (r.getConta() != null && r.getConta().getDevedor() != null) {
-            if (!r.getConta().getDevedor().getEmpresa().getId().equals(empresa.getId())) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Relatório não pertence à sua empresa");
-            }
-        }
+        Relatorio r = buscarDaEmpresa(id);
         
         if (req.descricao() != null) {
             r.setDescricao(req.descricao());
         }
         
         if (r.getTipo() == TipoRelatorio.MANUAL && req.valorMovimentado() != null) {
-            r.setValorMovimentado(req.valorMovimentado());
+            r.setValorMovimentado(Money.of(req.valorMovimentado()));
         }
         
         r = repository.save(r);
@@ -283,33 +367,17 @@ public class RelatorioService {
     }
 
     public void delete(Integer id) {
-        Relatorio r = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Relatório não encontrado"));
-        
-        Empresa empresa = empresaService.getEmpresaByCurrentUser();
-        
-        if (r.getConta() != null) {
-            if (r.getConta().getDevedor() == null || 
-                !r.getConta().getDevedor().getEmpresa().getId().equals(empresa.getId())) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Relatório não pertence à sua empresa");
-            }
-        }
-        
-        repository.deleteById(id);
+        repository.delete(buscarDaEmpresa(id));
     }
 
     public AuditoriaResponse gerarAuditoria(LocalDate inicio, LocalDate fim) {
         Empresa empresa = empresaService.getEmpresaByCurrentUser();
         
-        ZoneId zoneId = ZoneId.of("America/Sao_Paulo");
-        ZonedDateTime inicioZoned = inicio.atStartOfDay(zoneId);
-        ZonedDateTime fimZoned = fim.atTime(LocalTime.MAX).atZone(zoneId);
-        
-        Double valorTotalDividas = dividaRepository.sumValorByPeriodo(empresa, inicioZoned, fimZoned);
-        Long totalPagamentos = pagamentoRepository.countByPeriodo(empresa, inicioZoned, fimZoned);
+        ResumoDiarioRepository.TotaisPeriodo totais = relatorioCacheService.totaisPeriodo(empresa, inicio, fim);
+        Long totalPagamentos = totais.getQuantidadePagamentos();
         
         return new AuditoriaResponse(
-                valorTotalDividas != null ? valorTotalDividas : 0.0,
+                Money.ofCentavos(totais.getTotalDividas()),
                 totalPagamentos != null ? totalPagamentos : 0L,
                 inicio.toString(),
                 fim.toString()
@@ -0,0 +1,284 @@
+package tech.devleo.projeto_orlando.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tech.devleo.projeto_orlando.domain.Colecao;
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.domain.ResumoDiario;
+import tech.devleo.projeto_orlando.repository.DividaRepository;
+import tech.devleo.projeto_orlando.repository.EmpresaRepository;
+import tech.devleo.projeto_orlando.repository.PagamentoRepository;
+import tech.devleo.projeto_orlando.repository.ResumoDiarioRepository;
+
+/**
+ * Mantém o ResumoDiario: cada escrita de Divida/Pagamento aplica o seu delta na linha do dia,
+ * dentro da mesma transação da escrita. reconstruir() recalcula tudo a partir das linhas de fato
+ * (carga inicial após o deploy ou correção de escritas feitas fora dos serviços).
+ */
+@Service
+public class ResumoDiarioService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumoDiarioService.class);
+    private static final ZoneId ZONE_ID = ZoneId.of("America/Sao_Paulo");
+
+    private final ResumoDiarioRepository repository;
+    private final DividaRepository dividaRepository;
+    private final PagamentoRepository pagamentoRepository;
+    private final EmpresaRepository empresaRepository;
+    private final VersaoColecaoService versaoColecaoService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${relatorio.resumo-diario.reconstruir-ao-iniciar:false}")
+    private boolean reconstruirAoIniciar;
+
+    public ResumoDiarioService(ResumoDiarioRepository repository, DividaRepository dividaRepository,
+            PagamentoRepository pagamentoRepository, EmpresaRepository empresaRepository, VersaoColecaoService versaoColecaoService,
+            PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
+        this.repository = repository;
+        this.dividaRepository = dividaRepository;
+        this.pagamentoRepository = pagamentoRepository;
+        this.empresaRepository = empresaRepository;
+        this.versaoColecaoService = versaoColecaoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarDivida(Empresa empresa, ZonedDateTime data, Money valor) {
+        aplicar(empresa, dia(data), null, 1, valor, 0, Money.ZERO);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removerDivida(Empresa empresa, ZonedDateTime data, Money valor) {
+        aplicar(empresa, dia(data), null, -1, negativo(valor), 0, Money.ZERO);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void alterarValorDivida(Empresa empresa, ZonedDateTime data, Money valorAnterior, Money valorNovo) {
+        Money delta = valorOuZero(valorNovo).minus(valorAnterior);
+        if (delta.centavos() != 0) {
+            aplicar(empresa, dia(data), null, 0, delta, 0, Money.ZERO);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarPagamento(Empresa empresa, ZonedDateTime data, MetodoPagamento metodo, Money valor) {
+        aplicar(empresa, dia(data), metodo, 0, Money.ZERO, 1, valor);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removerPagamento(Empresa empresa, ZonedDateTime data, MetodoPagamento metodo, Money valor) {
+        aplicar(empresa, dia(data), metodo, 0, Money.ZERO, -1, negativo(valor));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void alterarPagamento(Empresa empresa, ZonedDateTime data, MetodoPagamento metodoAnterior, Money valorAnterior,
+            MetodoPagamento metodoNovo, Money valorNovo) {
+        if (metodoAnterior == metodoNovo) {
+            Money delta = valorOuZero(valorNovo).minus(valorAnterior);
+            if (delta.centavos() != 0) {
+                aplicar(empresa, dia(data), metodoNovo, 0, Money.ZERO, 0, delta);
+            }
+            return;
+        }
+        removerPagamento(empresa, data, metodoAnterior, valorAnterior);
+        registrarPagamento(empresa, data, metodoNovo, valorNovo);
+    }
+
+    /**
+     * Recalcula o resumo da empresa a partir das dívidas e pagamentos, lendo em streaming.
+     * A memória usada é proporcional ao número de dias × métodos, não ao número de linhas.
+     * Escritas concorrentes durante a reconstrução podem ficar de fora; rode fora do horário de pico.
+     */
+    @Transactional
+    public int reconstruir(Empresa empresa) {
+        // Duas reconstruções simultâneas da mesma empresa (outra instância) duplicariam as linhas
+        empresaRepository.travarById(empresa.getId());
+        Map<Chave, ResumoDiario> resumos = new HashMap<>();
+
+        try (Stream<DividaRepository.ValorNaData> dividas = dividaRepository.streamValoresByFiadora(empresa)) {
+            somarDividas(resumos, empresa, dividas);
+        }
+        try (Stream<PagamentoRepository.ValorPorMetodo> pagamentos = pagamentoRepository.streamValoresByEmpresa(empresa)) {
+            somarPagamentos(resumos, empresa, pagamentos);
+        }
+
+        repository.deleteByEmpresa(empresa);
+        repository.saveAll(resumos.values());
+        alterado(empresa, null);
+        return resumos.size();
+    }
+
+    /**
+     * Desconta as dívidas e pagamentos que o delete do devedor remove em cascata (os da conta e os dos contratos).
+     * Chamar antes do delete, na mesma transação: uma atualização por dia e método, não por linha removida.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removerDevedor(Empresa empresa, UUID devedorId) {
+        Map<Chave, ResumoDiario> removidos = new HashMap<>();
+        try (Stream<DividaRepository.ValorNaData> dividas = dividaRepository.streamValoresByDevedor(devedorId)) {
+            somarDividas(removidos, empresa, dividas);
+        }
+        try (Stream<PagamentoRepository.ValorPorMetodo> pagamentos = pagamentoRepository.streamValoresByDevedor(devedorId)) {
+            somarPagamentos(removidos, empresa, pagamentos);
+        }
+        descontar(empresa, removidos);
+    }
+
+    // Como removerDevedor, para as dívidas (e seus pagamentos) que saem com o contrato
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removerContrato(Empresa empresa, UUID contratoId) {
+        Map<Chave, ResumoDiario> removidos = new HashMap<>();
+        try (Stream<DividaRepository.ValorNaData> dividas = dividaRepository.streamValoresByContrato(contratoId)) {
+            somarDividas(removidos, empresa, dividas);
+        }
+        try (Stream<PagamentoRepository.ValorPorMetodo> pagamentos = pagamentoRepository.streamValoresByContrato(contratoId)) {
+            somarPagamentos(removidos, empresa, pagamentos);
+        }
+        descontar(empresa, removidos);
+    }
+
+    // As linhas da empresa saem antes dela (chave estrangeira); o cache da empresa inteira é invalidado
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removerEmpresa(Empresa empresa) {
+        repository.deleteByEmpresa(empresa);
+        alterado(empresa, null);
+    }
+
+    /**
+     * Com reconstruir-ao-iniciar, reconstrói todas as empresas. Sem ele, só as que têm dívidas e nenhuma linha de resumo
+     * (primeira subida após o deploy), para que o histórico não apareça zerado até a reconstrução agendada.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirTodasAoIniciar() {
+        if (reconstruirAoIniciar) {
+            reconstruirTodas();
+            return;
+        }
+        for (Empresa empresa : repository.findEmpresasSemResumo()) {
+            // Conferido de novo dentro da transação: outra instância pode ter reconstruído a empresa neste meio tempo
+            Integer linhas = transactionTemplate.execute(status -> {
+                empresaRepository.travarById(empresa.getId());
+                return repository.existsByEmpresa(empresa) ? null : reconstruir(empresa);
+            });
+            if (linhas != null) {
+                log.info("ResumoDiario da empresa {} carregado: {} linhas", empresa.getId(), linhas);
+            }
+        }
+    }
+
+    /**
+     * Reconstrução periódica: corrige desvios de escritas feitas fora dos serviços (SQL manual, cargas).
+     * Agendada para a madrugada porque escritas concorrentes à reconstrução de uma empresa podem ficar de fora.
+     */
+    @Scheduled(cron = "${relatorio.resumo-diario.reconstruir-cron:0 30 3 * * *}", zone = "America/Sao_Paulo")
+    public void reconstruirTodas() {
+        // Uma transação por empresa, para não segurar locks de todas ao mesmo tempo
+        for (Empresa empresa : empresaRepository.findAll()) {
+            int linhas = transactionTemplate.execute(status -> reconstruir(empresa));
+            log.info("ResumoDiario da empresa {} reconstruído: {} linhas", empresa.getId(), linhas);
+        }
+    }
+
+    private static void somarDividas(Map<Chave, ResumoDiario> resumos, Empresa empresa, Stream<DividaRepository.ValorNaData> dividas) {
+        dividas.forEach(d -> {
+            ResumoDiario r = resumos.computeIfAbsent(new Chave(dia(d.getData()), null), k -> novo(empresa, k));
+            r.setQuantidadeDividas(r.getQuantidadeDividas() + 1);
+            r.setTotalDividas(r.getTotalDividas().plus(d.getValor()));
+        });
+    }
+
+    private static void somarPagamentos(Map<Chave, ResumoDiario> resumos, Empresa empresa,
+            Stream<PagamentoRepository.ValorPorMetodo> pagamentos) {
+        pagamentos.forEach(p -> {
+            ResumoDiario r = resumos.computeIfAbsent(new Chave(dia(p.getData()), p.getMetodo()), k -> novo(empresa, k));
+            r.setQuantidadePagamentos(r.getQuantidadePagamentos() + 1);
+            r.setTotalPagamentos(r.getTotalPagamentos().plus(p.getValor()));
+        });
+    }
+
+    /**
+     * Publica o ResumoAlterado (invalidação local do cache, depois do commit) e incrementa a versão RESUMO da
+     * empresa na mesma transação, que as outras instâncias conferem ao ler o cache (ver RelatorioCacheService).
+     */
+    private void alterado(Empresa empresa, LocalDate dia) {
+        eventPublisher.publishEvent(new ResumoAlterado(empresa.getId(), dia));
+        versaoColecaoService.registrarAlteracao(empresa.getId(), Colecao.RESUMO);
+    }
+
+    private void descontar(Empresa empresa, Map<Chave, ResumoDiario> removidos) {
+        removidos.forEach((chave, r) -> aplicar(empresa, chave.dia(), chave.metodo(),
+                -r.getQuantidadeDividas(), negativo(r.getTotalDividas()),
+                -r.getQuantidadePagamentos(), negativo(r.getTotalPagamentos())));
+    }
+
+    private void aplicar(Empresa empresa, LocalDate dia, MetodoPagamento metodo,
+            long quantidadeDividas, Money totalDividas, long quantidadePagamentos, Money totalPagamentos) {
+        totalDividas = valorOuZero(totalDividas);
+        totalPagamentos = valorOuZero(totalPagamentos);
+        alterado(empresa, dia);
+        if (repository.incrementar(empresa, dia, metodo, quantidadeDividas, totalDividas, quantidadePagamentos, totalPagamentos) > 0) {
+            return;
+        }
+        // Primeira escrita do dia: duas transações podem criar a mesma linha ao mesmo tempo,
+        // o que só divide o total em duas linhas (as consultas sempre somam)
+        ResumoDiario r = novo(empresa, new Chave(dia, metodo));
+        r.setQuantidadeDividas(quantidadeDividas);
+        r.setTotalDividas(totalDividas);
+        r.setQuantidadePagamentos(quantidadePagamentos);
+        r.setTotalPagamentos(totalPagamentos);
+        repository.save(r);
+    }
+
+    private static ResumoDiario novo(Empresa empresa, Chave chave) {
+        ResumoDiario r = new ResumoDiario();
+        r.setEmpresa(empresa);
+        r.setDia(chave.dia());
+        r.setMetodo(chave.metodo());
+        return r;
+    }
+
+    private static LocalDate dia(ZonedDateTime data) {
+        return (data != null ? data.withZoneSameInstant(ZONE_ID) : ZonedDateTime.now(ZONE_ID)).toLocalDate();
+    }
+
+    private static Money valorOuZero(Money valor) {
+        return valor != null ? valor : Money.ZERO;
+    }
+
+    private static Money negativo(Money valor) {
+        return Money.ZERO.minus(valor);
+    }
+
+    private record Chave(LocalDate dia, MetodoPagamento metodo) {
+    }
+
+    /**
+     * Publicado a cada alteração do resumo, dentro da transação da escrita; dia nulo indica que a empresa toda
+     * foi recalculada. Ouvintes transacionais (ex.: RelatorioCacheService) só o recebem após o commit.
+     */
+    public record ResumoAlterado(UUID empresaId, LocalDate dia) {
+    }
+}
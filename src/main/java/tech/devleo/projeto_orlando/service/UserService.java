@@ -1,12 +1,19 @@
 package tech.devleo.projeto_orlando.service;
 
+import java.time.Instant;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import tech.devleo.projeto_orlando.config.JwtRevocationStore;
 import tech.devleo.projeto_orlando.domain.User;
+import tech.devleo.projeto_orlando.repository.RefreshTokenRepository;
 import tech.devleo.projeto_orlando.repository.UserRepository;
 
 @Service
@@ -14,10 +21,18 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordVerificationService passwordVerificationService;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtRevocationStore revocationStore;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            PasswordVerificationService passwordVerificationService, RefreshTokenRepository refreshTokenRepository,
+            JwtRevocationStore revocationStore) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.passwordVerificationService = passwordVerificationService;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revocationStore = revocationStore;
     }
 
     public Optional<User> findByUsername(String username) {
@@ -29,17 +44,35 @@ public class UserService {
     }
 
     public boolean validateCredentials(String email, String password) {
+        return authenticate(email, password).join().isPresent();
+    }
+
+    /**
+     * Valida as credenciais e retorna o usuário autenticado, para que o token possa carregar seus ids.
+     * A busca do usuário roda na thread atual; a comparação do hash roda no pool limitado de login.
+     * Após um login válido, hashes com custo desatualizado são regravados em segundo plano.
+     */
+    public CompletableFuture<Optional<User>> authenticate(String email, String password) {
         Optional<User> userOpt = userRepository.findByEmail(email);
         if (userOpt.isEmpty()) {
-            return false;
+            return CompletableFuture.completedFuture(Optional.empty());
         }
         
         User user = userOpt.get();
         if (!user.isEnabled()) {
-            return false;
+            return CompletableFuture.completedFuture(Optional.empty());
         }
         
-        return passwordEncoder.matches(password, user.getPassword());
+        return passwordVerificationService.matches(password, user.getPassword())
+                .thenApply(matches -> {
+                    if (!matches) {
+                        return Optional.<User>empty();
+                    }
+                    String hashAtual = user.getPassword();
+                    passwordVerificationService.rehashSeNecessario(password, hashAtual,
+                            novoHash -> userRepository.atualizarHashSenha(user.getId(), hashAtual, novoHash));
+                    return userOpt;
+                });
     }
 
     @Transactional
@@ -59,5 +92,39 @@ public class UserService {
 
         return userRepository.save(user);
     }
+
+    /**
+     * Troca a senha após conferir a atual e encerra todas as sessões: os refresh tokens são apagados e os
+     * access tokens emitidos até agora são revogados, inclusive o da própria requisição.
+     */
+    @Transactional
+    public void alterarSenha(UUID userId, String senhaAtual, String novaSenha) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
+        if (!passwordVerificationService.matches(senhaAtual, user.getPassword()).join()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Senha atual incorreta");
+        }
+        user.setPassword(passwordEncoder.encode(novaSenha));
+        encerrarSessoes(userId);
+    }
+
+    /**
+     * Exclui o usuário e revoga todos os seus tokens. A empresa precisa ser removida antes (DELETE /api/empresas).
+     */
+    @Transactional
+    public void delete(UUID userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
+        if (user.getEmpresa() != null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Remova a empresa antes de excluir o usuário");
+        }
+        encerrarSessoes(userId);
+        userRepository.delete(user);
+    }
+
+    private void encerrarSessoes(UUID userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+        revocationStore.revogarTodos(userId, Instant.now());
+    }
 }
 
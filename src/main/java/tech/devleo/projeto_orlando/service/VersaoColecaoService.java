@@ -0,0 +1,55 @@
+package tech.devleo.projeto_orlando.service;
+
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import tech.devleo.projeto_orlando.domain.Colecao;
+import tech.devleo.projeto_orlando.domain.VersaoColecao;
+import tech.devleo.projeto_orlando.repository.VersaoColecaoRepository;
+
+/**
+ * Mantém os contadores de VersaoColecao e monta as ETags das leituras a partir deles.
+ * Os serviços registram a alteração na mesma transação da escrita; assim uma ETag lida depois do commit
+ * já reflete a escrita, e a leitura da ETag custa uma consulta indexada em vez da listagem inteira.
+ */
+@Service
+public class VersaoColecaoService {
+
+    private final VersaoColecaoRepository repository;
+
+    public VersaoColecaoService(VersaoColecaoRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * ETag forte da coleção na empresa: muda a cada alteração registrada e se repete enquanto nada muda.
+     */
+    public String etag(UUID empresaId, Colecao colecao) {
+        return "\"" + colecao.name().toLowerCase() + "-" + empresaId + "-" + repository.findVersao(empresaId, colecao) + "\"";
+    }
+
+    public long versao(UUID empresaId, Colecao colecao) {
+        return repository.findVersao(empresaId, colecao);
+    }
+
+    // Participa da transação da escrita quando há uma; a reconciliação, que não tem, abre a sua
+    @Transactional
+    public void registrarAlteracao(UUID empresaId, Colecao... colecoes) {
+        for (Colecao colecao : colecoes) {
+            if (repository.incrementar(empresaId, colecao) == 0) {
+                VersaoColecao versao = new VersaoColecao();
+                versao.setEmpresaId(empresaId);
+                versao.setColecao(colecao);
+                versao.setVersao(1);
+                repository.save(versao);
+            }
+        }
+    }
+
+    @Transactional
+    public void removerEmpresa(UUID empresaId) {
+        repository.deleteByEmpresaId(empresaId);
+    }
+}
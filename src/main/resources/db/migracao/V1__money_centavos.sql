@@ -0,0 +1,24 @@
+-- Converte as colunas monetárias de DOUBLE/NUMERIC (reais) para BIGINT (centavos).
+-- O ddl-auto=update não altera o tipo de colunas existentes; rode este script uma vez
+-- (sintaxe PostgreSQL) antes de subir a versão que usa Money.
+
+BEGIN;
+
+ALTER TABLE divida ALTER COLUMN valor TYPE BIGINT USING ROUND(valor * 100);
+ALTER TABLE pagamento ALTER COLUMN valor TYPE BIGINT USING ROUND(valor * 100);
+
+-- Os totais da conta só existem se o ddl-auto=update já os criou; senão o V4 os cria como BIGINT
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns WHERE table_name = 'conta' AND column_name = 'total_dividas') THEN
+        ALTER TABLE conta ALTER COLUMN total_dividas TYPE BIGINT USING ROUND(total_dividas * 100);
+        ALTER TABLE conta ALTER COLUMN total_pagamentos TYPE BIGINT USING ROUND(total_pagamentos * 100);
+        ALTER TABLE conta ALTER COLUMN saldo TYPE BIGINT USING ROUND(saldo * 100);
+    END IF;
+END $$;
+
+ALTER TABLE relatorio ALTER COLUMN valor_movimentado TYPE BIGINT USING ROUND(valor_movimentado * 100);
+ALTER TABLE relatorio ALTER COLUMN total_dividas TYPE BIGINT USING ROUND(total_dividas * 100);
+ALTER TABLE relatorio ALTER COLUMN total_pagamentos TYPE BIGINT USING ROUND(total_pagamentos * 100);
+
+COMMIT;
@@ -0,0 +1,25 @@
+-- Relatório passa a guardar a empresa dona (relatorio.empresa_id). Antes, só relatórios com conta
+-- indicavam a empresa, e os demais apareciam para todas. Rode este script uma vez (sintaxe PostgreSQL)
+-- antes de subir a versão que filtra relatórios por empresa.
+
+BEGIN;
+
+ALTER TABLE relatorio ADD COLUMN IF NOT EXISTS empresa_id UUID REFERENCES empresa (id);
+
+-- Relatórios de uma conta: empresa do devedor
+UPDATE relatorio r SET empresa_id = d.empresa_id
+FROM devedor d
+WHERE r.empresa_id IS NULL AND r.conta_id = d.id;
+
+-- Relatórios gerados por job assíncrono: empresa do job
+UPDATE relatorio r SET empresa_id = j.empresa_id
+FROM relatorio_job j
+WHERE r.empresa_id IS NULL AND j.relatorio_id = r.id;
+
+-- Relatórios que continuam sem empresa não têm dono identificável: revise-os (atribua ou remova)
+-- antes do NOT NULL abaixo, que falha enquanto houver algum.
+ALTER TABLE relatorio ALTER COLUMN empresa_id SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_relatorio_empresa_id ON relatorio (empresa_id, id);
+
+COMMIT;
@@ -0,0 +1,26 @@
+-- Colunas de versão (lock otimista) em devedor, divida e empresa e a tabela versao_colecao, que guarda
+-- as ETags das leituras. O ddl-auto=update criaria versao sem valor nas linhas existentes, e o Hibernate
+-- não atualiza linhas com versão nula; rode este script uma vez (sintaxe PostgreSQL) antes de subir a versão.
+
+BEGIN;
+
+ALTER TABLE devedor ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE devedor ADD COLUMN IF NOT EXISTS atualizado_em TIMESTAMP(6) WITH TIME ZONE;
+
+ALTER TABLE divida ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE divida ADD COLUMN IF NOT EXISTS atualizado_em TIMESTAMP(6) WITH TIME ZONE;
+
+ALTER TABLE empresa ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE empresa ADD COLUMN IF NOT EXISTS atualizado_em TIMESTAMP(6) WITH TIME ZONE;
+
+-- Sem linhas iniciais: a primeira escrita de cada (empresa, coleção) cria a sua
+CREATE TABLE IF NOT EXISTS versao_colecao (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    empresa_id UUID NOT NULL,
+    colecao VARCHAR(255) NOT NULL CHECK (colecao IN ('DEVEDORES', 'DIVIDAS', 'EMPRESA')),
+    versao BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_versao_colecao_empresa ON versao_colecao (empresa_id, colecao);
+
+COMMIT;
@@ -0,0 +1,37 @@
+-- Totais desnormalizados da Conta (total_dividas, total_pagamentos, saldo, quantidades) e a coluna versao
+-- do lock otimista. O ddl-auto=update cria essas colunas sem valor nas contas existentes, e o Hibernate não
+-- atualiza linhas com versão nula: a primeira dívida ou pagamento de uma conta antiga responderia 409.
+-- Rode este script uma vez (sintaxe PostgreSQL), depois do V1, antes de subir a versão com os totais.
+-- Pode ser repetido: os totais são sempre recalculados a partir das dívidas e pagamentos.
+
+BEGIN;
+
+ALTER TABLE conta ADD COLUMN IF NOT EXISTS total_dividas BIGINT;
+ALTER TABLE conta ADD COLUMN IF NOT EXISTS total_pagamentos BIGINT;
+ALTER TABLE conta ADD COLUMN IF NOT EXISTS saldo BIGINT;
+ALTER TABLE conta ADD COLUMN IF NOT EXISTS quantidade_dividas INTEGER;
+ALTER TABLE conta ADD COLUMN IF NOT EXISTS quantidade_pagamentos INTEGER;
+ALTER TABLE conta ADD COLUMN IF NOT EXISTS versao BIGINT;
+
+-- Valores em centavos (V1): as somas são exatas
+UPDATE conta c SET
+    total_dividas = t.total_dividas,
+    total_pagamentos = t.total_pagamentos,
+    saldo = t.total_dividas - t.total_pagamentos,
+    quantidade_dividas = t.quantidade_dividas,
+    quantidade_pagamentos = t.quantidade_pagamentos,
+    versao = COALESCE(c.versao, 0)
+FROM (
+    SELECT c2.id,
+        COALESCE((SELECT SUM(d.valor) FROM divida d WHERE d.conta_id = c2.id), 0) AS total_dividas,
+        COALESCE((SELECT SUM(p.valor) FROM pagamento p WHERE p.conta_id = c2.id), 0) AS total_pagamentos,
+        (SELECT COUNT(*) FROM divida d WHERE d.conta_id = c2.id) AS quantidade_dividas,
+        (SELECT COUNT(*) FROM pagamento p WHERE p.conta_id = c2.id) AS quantidade_pagamentos
+    FROM conta c2
+) t
+WHERE c.id = t.id;
+
+ALTER TABLE conta ALTER COLUMN versao SET DEFAULT 0;
+ALTER TABLE conta ALTER COLUMN versao SET NOT NULL;
+
+COMMIT;
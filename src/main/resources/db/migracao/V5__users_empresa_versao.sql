@@ -0,0 +1,6 @@
+-- Versão da empresa de cada usuário, comparada com a claim empresaVersao do token para saber se o empresaId
+-- do token ainda vale. O ddl-auto=update não cria a coluna NOT NULL em uma tabela com linhas; rode este
+-- script uma vez (sintaxe PostgreSQL) antes de subir a versão. Tokens emitidos antes não têm a claim e
+-- resolvem a empresa pelo banco até expirarem.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS empresa_versao BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,11 @@
+-- Nova coleção RESUMO em versao_colecao, incrementada a cada escrita no resumo_diario e conferida pelo cache de
+-- relatórios de cada instância. A restrição criada pelo V3 (ou pelo ddl-auto) só aceita as coleções antigas e o
+-- ddl-auto=update não a altera; rode este script uma vez (sintaxe PostgreSQL) antes de subir a versão.
+
+BEGIN;
+
+ALTER TABLE versao_colecao DROP CONSTRAINT IF EXISTS versao_colecao_colecao_check;
+ALTER TABLE versao_colecao ADD CONSTRAINT versao_colecao_colecao_check
+    CHECK (colecao IN ('DEVEDORES', 'DIVIDAS', 'EMPRESA', 'RESUMO'));
+
+COMMIT;
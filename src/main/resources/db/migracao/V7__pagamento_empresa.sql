@@ -0,0 +1,26 @@
+-- Coluna empresa_id no pagamento (cópia da fiadora da dívida) e o índice (empresa_id, divida_id) usados pela
+-- listagem paginada e pelo filtro de tenant. O ddl-auto=update cria a coluna sem valor nos pagamentos
+-- existentes, que sumiriam da listagem e do filtro da empresa.
+-- Rode este script uma vez (sintaxe PostgreSQL) antes de subir a versão com a coluna.
+-- Pode ser repetido: a coluna é sempre recalculada a partir da dívida.
+
+BEGIN;
+
+ALTER TABLE pagamento ADD COLUMN IF NOT EXISTS empresa_id UUID;
+
+UPDATE pagamento p SET empresa_id = d.fiadora_id
+FROM divida d
+WHERE d.id = p.divida_id;
+
+ALTER TABLE pagamento ALTER COLUMN empresa_id SET NOT NULL;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_pagamento_empresa') THEN
+        ALTER TABLE pagamento ADD CONSTRAINT fk_pagamento_empresa FOREIGN KEY (empresa_id) REFERENCES empresa (id);
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_pagamento_empresa_divida ON pagamento (empresa_id, divida_id);
+
+COMMIT;
@@ -0,0 +1,97 @@
+package tech.devleo.projeto_orlando.benchmark;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+/**
+ * Custo de verificação de um token por algoritmo.
+ * hmacPorChamada reproduz o caminho antigo do TokenService (Algorithm e JWTVerifier criados a cada requisição);
+ * os demais usam verifiers reutilizados, como o JwtKeyStore faz por kid.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="JwtVerificationBenchmark -f 1"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "your-secret-key-change-this-in-production-use-a-strong-random-key";
+
+    private String hmacToken;
+    private String es256Token;
+    private String rs256Token;
+
+    private JWTVerifier hmacVerifier;
+    private JWTVerifier es256Verifier;
+    private JWTVerifier rs256Verifier;
+
+    @Setup
+    public void setup() throws Exception {
+        Algorithm hmac = Algorithm.HMAC256(SECRET);
+        hmacVerifier = JWT.require(hmac).build();
+        hmacToken = token().sign(hmac);
+
+        KeyPairGenerator ecGenerator = KeyPairGenerator.getInstance("EC");
+        ecGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair ec = ecGenerator.generateKeyPair();
+        es256Token = token().withKeyId("es").sign(Algorithm.ECDSA256((ECPublicKey) ec.getPublic(), (ECPrivateKey) ec.getPrivate()));
+        es256Verifier = JWT.require(Algorithm.ECDSA256((ECPublicKey) ec.getPublic(), null)).build();
+
+        KeyPairGenerator rsaGenerator = KeyPairGenerator.getInstance("RSA");
+        rsaGenerator.initialize(2048);
+        KeyPair rsa = rsaGenerator.generateKeyPair();
+        rs256Token = token().withKeyId("rs").sign(Algorithm.RSA256((RSAPublicKey) rsa.getPublic(), (RSAPrivateKey) rsa.getPrivate()));
+        rs256Verifier = JWT.require(Algorithm.RSA256((RSAPublicKey) rsa.getPublic(), null)).build();
+    }
+
+    private static com.auth0.jwt.JWTCreator.Builder token() {
+        Date now = new Date();
+        return JWT.create()
+                .withSubject("usuario@example.com")
+                .withClaim("userId", UUID.randomUUID().toString())
+                .withClaim("empresaId", UUID.randomUUID().toString())
+                .withIssuedAt(now)
+                .withExpiresAt(new Date(now.getTime() + 3600000));
+    }
+
+    @Benchmark
+    public DecodedJWT hmacPorChamada() {
+        return JWT.require(Algorithm.HMAC256(SECRET)).build().verify(hmacToken);
+    }
+
+    @Benchmark
+    public DecodedJWT hmacReutilizado() {
+        return hmacVerifier.verify(hmacToken);
+    }
+
+    @Benchmark
+    public DecodedJWT es256() {
+        return es256Verifier.verify(es256Token);
+    }
+
+    @Benchmark
+    public DecodedJWT rs256() {
+        return rs256Verifier.verify(rs256Token);
+    }
+}
@@ -0,0 +1,128 @@
+package tech.devleo.projeto_orlando.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import tech.devleo.projeto_orlando.ProjetoOrlandoApplication;
+import tech.devleo.projeto_orlando.domain.Conta;
+import tech.devleo.projeto_orlando.domain.Devedor;
+import tech.devleo.projeto_orlando.domain.Divida;
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.domain.User;
+import tech.devleo.projeto_orlando.dto.DividaResponse;
+import tech.devleo.projeto_orlando.repository.DividaRepository;
+
+/**
+ * Página de dívidas (500 linhas, H2 em memória): entidades convertidas em DividaResponse, como DividaService.findAll
+ * fazia (Divida com conta, devedor e fiadora carregados só para ler os ids), contra a projeção direto no DTO.
+ * Com OperationsPerInvocation cada operação é uma linha: ops/s é linhas/s e, com -prof gc, gc.alloc.rate.norm
+ * é a alocação por linha.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="ListagemBenchmark -f 1 -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ListagemBenchmark.LINHAS)
+public class ListagemBenchmark {
+
+    static final int LINHAS = 500;
+    private static final int CONTAS = 50;
+
+    private ConfigurableApplicationContext contexto;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private DividaRepository dividaRepository;
+    private Empresa empresa;
+
+    @Setup
+    public void setup() {
+        contexto = new SpringApplicationBuilder(ProjetoOrlandoApplication.class)
+                .profiles("test")
+                .properties("spring.main.web-application-type=none",
+                        "spring.jpa.properties.hibernate.generate_statistics=false")
+                .run();
+        transactionTemplate = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        entityManager = contexto.getBean(EntityManager.class);
+        dividaRepository = contexto.getBean(DividaRepository.class);
+
+        empresa = transactionTemplate.execute(status -> popular());
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<DividaResponse> entidades() {
+        return transactionTemplate.execute(status -> entityManager
+                .createQuery("select d from Divida d where d.fiadora = :empresa order by d.id", Divida.class)
+                .setParameter("empresa", empresa)
+                .setMaxResults(LINHAS)
+                .getResultList().stream()
+                .map(d -> new DividaResponse(d.getId(), d.getValor(), d.getConta() != null ? d.getConta().getId() : null,
+                        d.getFiadora() != null ? d.getFiadora().getId() : null))
+                .toList());
+    }
+
+    @Benchmark
+    public List<DividaResponse> projecao() {
+        return transactionTemplate.execute(status -> dividaRepository.findPrimeiraPaginaByFiadora(empresa, Limit.of(LINHAS)));
+    }
+
+    private Empresa popular() {
+        User dono = new User();
+        dono.setUsername("benchmark");
+        dono.setEmail("benchmark@example.com");
+        dono.setPassword("-");
+        dono.setEnabled(true);
+        entityManager.persist(dono);
+
+        Empresa e = new Empresa();
+        e.setName("Empresa Benchmark");
+        e.setCnpj("12345678000100");
+        e.setTelefone("11999999999");
+        e.setDono(dono);
+        entityManager.persist(e);
+
+        for (int c = 0; c < CONTAS; c++) {
+            Devedor devedor = new Devedor();
+            devedor.setName("Devedor " + c);
+            devedor.setCpf(String.format("%011d", c));
+            devedor.setEmail("devedor" + c + "@example.com");
+            devedor.setEmpresa(e);
+            Conta conta = new Conta();
+            conta.setDevedor(devedor);
+            devedor.setConta(conta);
+            entityManager.persist(devedor);
+
+            for (int i = 0; i < LINHAS / CONTAS; i++) {
+                Divida divida = new Divida();
+                divida.setValor(Money.ofCentavos(1_000L + i));
+                divida.setConta(conta);
+                divida.setFiadora(e);
+                entityManager.persist(divida);
+            }
+        }
+        return e;
+    }
+}
@@ -0,0 +1,84 @@
+package tech.devleo.projeto_orlando.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import tech.devleo.projeto_orlando.domain.Money;
+
+/**
+ * Custo de somar N valores monetários (µs/op) como double, BigDecimal e Money (long de centavos).
+ * O double é a referência de velocidade, mas acumula erro de arredondamento; BigDecimal é exato e aloca a cada soma.
+ * somarCentavos mede o caminho sem objetos (long[] vindo de projeções/agregados), somarMoney o de entidades carregadas.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="MoneyBenchmark -f 1"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MoneyBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int quantidade;
+
+    private double[] doubles;
+    private BigDecimal[] decimais;
+    private List<Money> valores;
+    private long[] centavos;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        doubles = new double[quantidade];
+        decimais = new BigDecimal[quantidade];
+        Money[] money = new Money[quantidade];
+        this.centavos = new long[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            long centavos = random.nextLong(1, 10_000_000);
+            doubles[i] = centavos / 100.0;
+            decimais[i] = BigDecimal.valueOf(centavos, 2);
+            money[i] = Money.ofCentavos(centavos);
+            this.centavos[i] = centavos;
+        }
+        valores = Arrays.asList(money);
+    }
+
+    @Benchmark
+    public double somarDouble() {
+        double total = 0;
+        for (double valor : doubles) {
+            total += valor;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal somarBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal valor : decimais) {
+            total = total.add(valor);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money somarMoney() {
+        return Money.somar(valores, v -> v);
+    }
+
+    @Benchmark
+    public Money somarCentavos() {
+        return Money.somar(centavos);
+    }
+}
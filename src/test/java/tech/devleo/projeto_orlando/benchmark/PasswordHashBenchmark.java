@@ -0,0 +1,45 @@
+package tech.devleo.projeto_orlando.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import tech.devleo.projeto_orlando.config.PasswordEncoderConfig;
+
+/**
+ * Tempo de uma verificação de senha (ms/verify) por custo do BCrypt, usando o mesmo encoder da aplicação.
+ * Use o resultado para escolher auth.password.bcrypt-strength dentro do SLO de login no hardware de produção.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PasswordHashBenchmark -f 1"
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PasswordHashBenchmark -f 1 -p strength=12,14"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordHashBenchmark {
+
+    @Param({ "10", "11", "12", "13" })
+    private int strength;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        encoder = PasswordEncoderConfig.criarEncoder(strength);
+        hash = encoder.encode("senha-de-benchmark");
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches("senha-de-benchmark", hash);
+    }
+}
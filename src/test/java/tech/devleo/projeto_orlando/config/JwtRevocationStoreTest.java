@@ -0,0 +1,113 @@
+package tech.devleo.projeto_orlando.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tech.devleo.projeto_orlando.domain.TokenRevogado;
+import tech.devleo.projeto_orlando.repository.TokenRevogadoRepository;
+
+class JwtRevocationStoreTest {
+
+    private TokenRevogadoRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtRevocationStore revocationStore;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(TokenRevogadoRepository.class);
+        when(repository.findJtisAtivos(any(ZonedDateTime.class), anyString())).thenReturn(List.of("jti-persistido"));
+        meterRegistry = new SimpleMeterRegistry();
+        revocationStore = new JwtRevocationStore(repository, meterRegistry);
+        ReflectionTestUtils.setField(revocationStore, "capacidadeEsperada", 1000);
+        ReflectionTestUtils.setField(revocationStore, "taxaFalsoPositivo", 0.01);
+        ReflectionTestUtils.setField(revocationStore, "expiration", 900000L);
+        revocationStore.init();
+    }
+
+    @Test
+    void testIsRevogado_JtiNaoRevogado_NaoDeveConsultarBanco() {
+        assertFalse(revocationStore.isRevogado(UUID.randomUUID().toString()));
+
+        verify(repository, never()).existsById(anyString());
+        assertEquals(1.0, meterRegistry.get("jwt.revocation.checks").tag("result", "negative").counter().count());
+    }
+
+    @Test
+    void testRevogar_DeveConfirmarPositivoNoBanco() {
+        Instant expiraEm = Instant.now().plusSeconds(3600);
+        when(repository.existsById("jti-logout")).thenReturn(true);
+
+        revocationStore.revogar("jti-logout", UUID.randomUUID(), expiraEm);
+
+        verify(repository).save(any(TokenRevogado.class));
+        assertTrue(revocationStore.isRevogado("jti-logout"));
+        // Presente no filtro mas já removido do banco: conta como falso positivo
+        assertFalse(revocationStore.isRevogado("jti-persistido"));
+        assertEquals(1.0, meterRegistry.get("jwt.revocation.checks").tag("result", "revoked").counter().count());
+        assertEquals(1.0, meterRegistry.get("jwt.revocation.checks").tag("result", "false_positive").counter().count());
+    }
+
+    @Test
+    void testRevogar_TokenJaExpirado_NaoDevePersistir() {
+        revocationStore.revogar("jti-expirado", null, Instant.now().minusSeconds(1));
+
+        verify(repository, never()).save(any(TokenRevogado.class));
+    }
+
+    @Test
+    void testRevogarTodos_DeveRecusarSoTokensDoUsuarioEmitidosAntesDoCorte() {
+        UUID userId = UUID.randomUUID();
+        Instant corte = Instant.now();
+
+        revocationStore.revogarTodos(userId, corte);
+
+        assertTrue(revocationStore.isRevogado(principal(userId, corte.minusSeconds(60))));
+        assertFalse(revocationStore.isRevogado(principal(userId, corte.plusSeconds(1))));
+        assertFalse(revocationStore.isRevogado(principal(UUID.randomUUID(), corte.minusSeconds(60))));
+        verify(repository).save(argThat(t -> t.getJti().equals("usuario:" + userId) && userId.equals(t.getUserId())));
+    }
+
+    @Test
+    void testReconstruirFiltro_DeveCarregarCortesDeOutrasReplicas() {
+        UUID userId = UUID.randomUUID();
+        Instant corte = Instant.now();
+        TokenRevogado linha = new TokenRevogado();
+        linha.setJti("usuario:" + userId);
+        linha.setUserId(userId);
+        linha.setRevogadoEm(corte.atZone(ZoneId.of("America/Sao_Paulo")));
+        when(repository.findCortesAtivos(any(ZonedDateTime.class), eq("usuario:%"))).thenReturn(List.of(linha));
+
+        revocationStore.reconstruirFiltro();
+
+        assertTrue(revocationStore.isRevogado(principal(userId, corte.minusSeconds(60))));
+        verify(repository, never()).existsById(anyString());
+    }
+
+    @Test
+    void testReconstruirFiltro_DevePurgarExpiradosEManterRevogadosAtivos() {
+        when(repository.findJtisAtivos(any(ZonedDateTime.class), eq("usuario:%"))).thenReturn(List.of("jti-ativo"));
+        when(repository.existsById("jti-ativo")).thenReturn(true);
+
+        revocationStore.reconstruirFiltro();
+
+        verify(repository, times(2)).deleteExpirados(any(ZonedDateTime.class));
+        assertTrue(revocationStore.isRevogado("jti-ativo"));
+    }
+
+    private static TenantPrincipal principal(UUID userId, Instant emitidoEm) {
+        return new TenantPrincipal("user@example.com", userId, null, 0L, emitidoEm, UUID.randomUUID().toString(),
+                emitidoEm.plusSeconds(900));
+    }
+}
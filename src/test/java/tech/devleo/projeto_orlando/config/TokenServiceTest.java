@@ -0,0 +1,157 @@
+package tech.devleo.projeto_orlando.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tech.devleo.projeto_orlando.domain.ChaveAssinatura;
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.User;
+import tech.devleo.projeto_orlando.repository.ChaveAssinaturaRepository;
+
+class TokenServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenService tokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = criarTokenService("HS256", "test-secret-key-for-testing-only", mock(ChaveAssinaturaRepository.class));
+
+        Empresa empresa = new Empresa();
+        empresa.setId(UUID.randomUUID());
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("test@example.com");
+        user.setEmpresa(empresa);
+    }
+
+    @Test
+    void testVerify_TokenValido_DeveRetornarClaimsDoTenant() {
+        String token = tokenService.generateToken(user);
+
+        TenantPrincipal principal = tokenService.verify(token);
+
+        assertEquals(user.getEmail(), principal.getName());
+        assertEquals(user.getId(), principal.userId());
+        assertEquals(user.getEmpresa().getId(), principal.empresaId());
+        assertEquals(user.getEmpresaVersao(), principal.empresaVersao());
+        assertNotNull(principal.emitidoEm());
+    }
+
+    @Test
+    void testVerify_MesmoTokenRepetido_DeveUsarCache() {
+        String token = tokenService.generateToken(user);
+
+        TenantPrincipal primeiro = tokenService.verify(token);
+        TenantPrincipal segundo = tokenService.verify(token);
+
+        assertSame(primeiro, segundo);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testVerify_TokenAdulterado_DeveLancarExcecao() {
+        String token = tokenService.generateToken(user);
+        String adulterado = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JWTVerificationException.class, () -> tokenService.verify(adulterado));
+    }
+
+    @Test
+    void testVerify_ChaveES256_DeveAssinarComKidEVerificarSemSegredo() {
+        ChaveAssinaturaRepository repository = mock(ChaveAssinaturaRepository.class);
+        when(repository.findByAlgoritmoOrderByCriadaEmDesc("ES256")).thenReturn(List.of());
+        when(repository.save(any(ChaveAssinatura.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TokenService es256 = criarTokenService("ES256", "", repository);
+
+        String token = es256.generateToken(user);
+        TenantPrincipal principal = es256.verify(token);
+
+        assertEquals("ES256", JWT.decode(token).getAlgorithm());
+        assertNotNull(JWT.decode(token).getKeyId());
+        assertEquals(user.getId(), principal.userId());
+        // Tokens HMAC sem kid não são aceitos com chaves assimétricas
+        String hmac = tokenService.generateToken(user);
+        assertThrows(JWTVerificationException.class, () -> es256.verify(hmac));
+    }
+
+    @Test
+    void testVerify_KidDesconhecido_DeveLancarExcecao() {
+        ChaveAssinaturaRepository repository = mock(ChaveAssinaturaRepository.class);
+        when(repository.findByAlgoritmoOrderByCriadaEmDesc("ES256")).thenReturn(List.of());
+        when(repository.save(any(ChaveAssinatura.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TokenService emissor = criarTokenService("ES256", "", repository);
+        String token = emissor.generateToken(user);
+
+        // Outra réplica cujo banco não conhece o kid do token
+        ChaveAssinaturaRepository outroRepository = mock(ChaveAssinaturaRepository.class);
+        when(outroRepository.findByAlgoritmoOrderByCriadaEmDesc("ES256")).thenReturn(List.of());
+        when(outroRepository.save(any(ChaveAssinatura.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TokenService outraReplica = criarTokenService("ES256", "", outroRepository);
+
+        assertThrows(JWTVerificationException.class, () -> outraReplica.verify(token));
+        verify(outroRepository).findById(JWT.decode(token).getKeyId());
+    }
+
+    @Test
+    void testVerify_TokenHmacComChavesAssimetricas_SoDeveSerAceitoComLegadoHabilitado() {
+        String hmac = tokenService.generateToken(user);
+
+        TokenService semLegado = criarTokenService("ES256", "test-secret-key-for-testing-only", repositorioVazio("ES256"));
+        TokenService comLegado = criarTokenService("ES256", "test-secret-key-for-testing-only", repositorioVazio("ES256"), true);
+
+        // O segredo configurado sozinho não habilita o HMAC: sem a flag, um token forjado com ele é recusado
+        assertThrows(JWTVerificationException.class, () -> semLegado.verify(hmac));
+        assertEquals(user.getId(), comLegado.verify(hmac).userId());
+    }
+
+    @Test
+    void testInit_LegadoHabilitadoSemSegredo_DeveFalhar() {
+        assertThrows(IllegalStateException.class, () -> criarTokenService("ES256", "", repositorioVazio("ES256"), true));
+    }
+
+    private static ChaveAssinaturaRepository repositorioVazio(String algoritmo) {
+        ChaveAssinaturaRepository repository = mock(ChaveAssinaturaRepository.class);
+        when(repository.findByAlgoritmoOrderByCriadaEmDesc(algoritmo)).thenReturn(List.of());
+        when(repository.save(any(ChaveAssinatura.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        return repository;
+    }
+
+    private TokenService criarTokenService(String algoritmo, String secret, ChaveAssinaturaRepository repository) {
+        return criarTokenService(algoritmo, secret, repository, false);
+    }
+
+    private TokenService criarTokenService(String algoritmo, String secret, ChaveAssinaturaRepository repository, boolean legacyHmac) {
+        JwtKeyStore keyStore = new JwtKeyStore(repository);
+        ReflectionTestUtils.setField(keyStore, "algoritmo", algoritmo);
+        ReflectionTestUtils.setField(keyStore, "rotationInterval", Duration.ofDays(7));
+        ReflectionTestUtils.setField(keyStore, "refreshInterval", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(keyStore, "expiration", 3600000L);
+        keyStore.init();
+
+        meterRegistry = new SimpleMeterRegistry();
+        TokenService service = new TokenService(meterRegistry, keyStore);
+        ReflectionTestUtils.setField(service, "secret", secret);
+        ReflectionTestUtils.setField(service, "legacyHmac", legacyHmac);
+        ReflectionTestUtils.setField(service, "expiration", 3600000L);
+        ReflectionTestUtils.setField(service, "cacheMaxSize", 100L);
+        service.init();
+        return service;
+    }
+}
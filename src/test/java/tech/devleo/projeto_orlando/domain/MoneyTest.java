@@ -0,0 +1,36 @@
+package tech.devleo.projeto_orlando.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class MoneyTest {
+
+    @Test
+    void testSomar_MuitosCentavos_DeveSerExato() {
+        // 0.1 somado 1000 vezes em double dá 99.9999999999986
+        List<Money> valores = Collections.nCopies(1000, Money.of("0.10"));
+
+        assertEquals(Money.of("100.00"), Money.somar(valores, v -> v));
+    }
+
+    @Test
+    void testOf_MaisDeDuasCasas_DeveRejeitar() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of("10.005"));
+        assertEquals(Money.ofCentavos(1000), Money.of(new BigDecimal("10.000")));
+    }
+
+    @Test
+    void testJson_DeveSerializarComoNumeroDecimal() throws Exception {
+        JsonMapper mapper = JsonMapper.builder().build();
+
+        assertEquals("1500.50", mapper.writeValueAsString(Money.of("1500.5")));
+        assertEquals(Money.ofCentavos(150050), mapper.readValue("1500.50", Money.class));
+    }
+}
@@ -0,0 +1,144 @@
+package tech.devleo.projeto_orlando.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.persistence.EntityManager;
+import tech.devleo.projeto_orlando.config.JwtRevocationStore;
+import tech.devleo.projeto_orlando.config.TenantPrincipal;
+import tech.devleo.projeto_orlando.config.TokenService;
+import tech.devleo.projeto_orlando.dto.AuthResponse;
+import tech.devleo.projeto_orlando.service.EmpresaService;
+import tech.devleo.projeto_orlando.service.RefreshTokenService;
+import tech.devleo.projeto_orlando.service.UserService;
+
+@Transactional
+class AuthIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private JwtRevocationStore revocationStore;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testRenovar_RefreshTokenValido_DeveEmitirNovoPar() {
+        AuthResponse login = refreshTokenService.emitir(testUser);
+
+        AuthResponse renovado = refreshTokenService.renovar(login.refreshToken());
+
+        assertNotNull(renovado.refreshToken());
+        assertNotEquals(login.refreshToken(), renovado.refreshToken());
+        TenantPrincipal principal = tokenService.verify(renovado.token());
+        assertEquals(testUser.getId(), principal.userId());
+        assertEquals(testEmpresa.getId(), principal.empresaId());
+    }
+
+    @Test
+    void testRenovar_RefreshTokenReutilizado_DeveRevogarFamilia() {
+        AuthResponse login = refreshTokenService.emitir(testUser);
+        AuthResponse renovado = refreshTokenService.renovar(login.refreshToken());
+
+        ResponseStatusException reuso = assertThrows(ResponseStatusException.class,
+                () -> refreshTokenService.renovar(login.refreshToken()));
+        assertEquals(HttpStatus.UNAUTHORIZED, reuso.getStatusCode());
+
+        // O token legítimo mais recente também deixa de valer
+        assertThrows(ResponseStatusException.class, () -> refreshTokenService.renovar(renovado.refreshToken()));
+    }
+
+    @Test
+    void testRenovar_RefreshTokenDesconhecido_DeveLancar401() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> refreshTokenService.renovar("token-inexistente"));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
+    }
+
+    @Test
+    void testRevogar_DeveImpedirRenovacao() {
+        AuthResponse login = refreshTokenService.emitir(testUser);
+
+        refreshTokenService.revogar(login.refreshToken());
+
+        assertThrows(ResponseStatusException.class, () -> refreshTokenService.renovar(login.refreshToken()));
+    }
+
+    @Test
+    void testAlterarSenha_DeveEncerrarTodasAsSessoes() {
+        testUser.setPassword(passwordEncoder.encode("senha-atual"));
+        AuthResponse login = refreshTokenService.emitir(testUser);
+        TenantPrincipal anterior = principalEmitidoEm(Instant.now().minusSeconds(60));
+
+        userService.alterarSenha(testUser.getId(), "senha-atual", "nova-senha-123");
+
+        assertThrows(ResponseStatusException.class, () -> refreshTokenService.renovar(login.refreshToken()));
+        assertTrue(revocationStore.isRevogado(anterior));
+        assertFalse(revocationStore.isRevogado(principalEmitidoEm(Instant.now().plusSeconds(1))));
+        assertTrue(userService.validateCredentials(testUser.getEmail(), "nova-senha-123"));
+    }
+
+    @Test
+    void testAlterarSenha_SenhaAtualIncorreta_DeveLancar400() {
+        AuthResponse login = refreshTokenService.emitir(testUser);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userService.alterarSenha(testUser.getId(), "errada", "nova-senha-123"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertFalse(revocationStore.isRevogado(principalEmitidoEm(Instant.now().minusSeconds(60))));
+        assertNotNull(refreshTokenService.renovar(login.refreshToken()));
+    }
+
+    @Test
+    void testDelete_UsuarioComEmpresa_DeveLancar409() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userService.delete(testUser.getId()));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+    }
+
+    @Test
+    void testDelete_SemEmpresa_DeveRemoverERevogarTokens() {
+        empresaService.delete();
+        AuthResponse login = refreshTokenService.emitir(userRepository.findById(testUser.getId()).orElseThrow());
+        // Login e exclusão são requisições diferentes
+        entityManager.flush();
+        entityManager.clear();
+
+        userService.delete(testUser.getId());
+
+        assertFalse(userRepository.existsById(testUser.getId()));
+        assertThrows(ResponseStatusException.class, () -> refreshTokenService.renovar(login.refreshToken()));
+        assertTrue(revocationStore.isRevogado(principalEmitidoEm(Instant.now().minusSeconds(60))));
+    }
+
+    private TenantPrincipal principalEmitidoEm(Instant emitidoEm) {
+        return new TenantPrincipal(testUser.getEmail(), testUser.getId(), testEmpresa.getId(), 0L, emitidoEm,
+                UUID.randomUUID().toString(), emitidoEm.plusSeconds(900));
+    }
+}
@@ -0,0 +1,126 @@
+package tech.devleo.projeto_orlando.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import tech.devleo.projeto_orlando.domain.Conta;
+import tech.devleo.projeto_orlando.domain.Devedor;
+import tech.devleo.projeto_orlando.domain.Divida;
+import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.dto.DividaRequest;
+import tech.devleo.projeto_orlando.dto.DividaResponse;
+import tech.devleo.projeto_orlando.dto.PagamentoRequest;
+import tech.devleo.projeto_orlando.repository.ContaRepository;
+import tech.devleo.projeto_orlando.repository.DevedorRepository;
+import tech.devleo.projeto_orlando.repository.DividaRepository;
+import tech.devleo.projeto_orlando.service.ContaReconciliacaoService;
+import tech.devleo.projeto_orlando.service.DividaService;
+import tech.devleo.projeto_orlando.service.PagamentoService;
+
+@Transactional
+class ContaIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private DividaService dividaService;
+
+    @Autowired
+    private PagamentoService pagamentoService;
+
+    @Autowired
+    private ContaReconciliacaoService contaReconciliacaoService;
+
+    @Autowired
+    private DevedorRepository devedorRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private DividaRepository dividaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Conta conta;
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        super.setUp();
+
+        Devedor devedor = new Devedor();
+        devedor.setName("Devedor Teste");
+        devedor.setCpf("12345678900");
+        devedor.setEmail("devedor@test.com");
+        devedor.setEmpresa(testEmpresa);
+
+        conta = new Conta();
+        conta.setDevedor(devedor);
+        devedor.setConta(conta);
+        devedor = devedorRepository.save(devedor);
+        conta = devedor.getConta();
+    }
+
+    @Test
+    void testSaldo_DividasEPagamentosPelosServicos_DeveManterTotais() {
+        DividaResponse divida1 = dividaService.create(new DividaRequest(new BigDecimal("200.00"), conta.getId().toString()));
+        dividaService.create(new DividaRequest(new BigDecimal("100.00"), conta.getId().toString()));
+        pagamentoService.create(new PagamentoRequest(MetodoPagamento.PIX, divida1.id()));
+
+        Conta atual = recarregarConta();
+        assertEquals(Money.of("300.00"), atual.getTotalDividas());
+        assertEquals(Money.of("200.00"), atual.getTotalPagamentos());
+        assertEquals(Money.of("100.00"), atual.getSaldo());
+        assertEquals(2, atual.getQuantidadeDividas());
+        assertEquals(1, atual.getQuantidadePagamentos());
+    }
+
+    @Test
+    void testSaldo_AtualizarEExcluirDivida_DeveAjustarTotais() {
+        DividaResponse divida = dividaService.create(new DividaRequest(new BigDecimal("200.00"), conta.getId().toString()));
+        DividaResponse outra = dividaService.create(new DividaRequest(new BigDecimal("50.00"), conta.getId().toString()));
+
+        dividaService.update(divida.id(), new DividaRequest(new BigDecimal("120.00"), null));
+        dividaService.delete(outra.id());
+
+        Conta atual = recarregarConta();
+        assertEquals(Money.of("120.00"), atual.getTotalDividas());
+        assertEquals(Money.of("120.00"), atual.getSaldo());
+        assertEquals(1, atual.getQuantidadeDividas());
+    }
+
+    @Test
+    void testReconciliar_DividaGravadaForaDoServico_DeveCorrigirTotais() {
+        dividaService.create(new DividaRequest(new BigDecimal("100.00"), conta.getId().toString()));
+
+        Divida direta = new Divida();
+        direta.setValor(Money.of("40.00"));
+        direta.setConta(conta);
+        direta.setFiadora(testEmpresa);
+        dividaRepository.save(direta);
+        entityManager.flush();
+
+        int corrigidas = contaReconciliacaoService.reconciliar();
+
+        assertEquals(1, corrigidas);
+        Conta atual = recarregarConta();
+        assertEquals(Money.of("140.00"), atual.getTotalDividas());
+        assertEquals(Money.of("140.00"), atual.getSaldo());
+        assertEquals(2, atual.getQuantidadeDividas());
+        assertEquals(0, contaReconciliacaoService.reconciliar());
+    }
+
+    private Conta recarregarConta() {
+        entityManager.flush();
+        entityManager.clear();
+        return contaRepository.findById(conta.getId()).orElseThrow();
+    }
+}
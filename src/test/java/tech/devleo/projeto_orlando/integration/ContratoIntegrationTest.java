@@ -2,6 +2,7 @@ package tech.devleo.projeto_orlando.integration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.UUID;
 
@@ -12,13 +13,18 @@ import org.springframework.transaction.annotation.Transactional;
 
 import tech.devleo.projeto_orlando.domain.Contrato;
 import tech.devleo.projeto_orlando.domain.Devedor;
+import tech.devleo.projeto_orlando.domain.Divida;
+import tech.devleo.projeto_orlando.domain.Money;
 import tech.devleo.projeto_orlando.domain.StatusContrato;
 import tech.devleo.projeto_orlando.domain.User;
 import tech.devleo.projeto_orlando.dto.ContratoRequest;
 import tech.devleo.projeto_orlando.dto.ContratoResponse;
+import tech.devleo.projeto_orlando.dto.DividaRequest;
 import tech.devleo.projeto_orlando.repository.ContratoRepository;
 import tech.devleo.projeto_orlando.repository.DevedorRepository;
+import tech.devleo.projeto_orlando.repository.DividaRepository;
 import tech.devleo.projeto_orlando.service.ContratoService;
+import tech.devleo.projeto_orlando.service.DividaService;
 
 @Transactional
 class ContratoIntegrationTest extends BaseIntegrationTest {
@@ -32,6 +38,12 @@ class ContratoIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private DevedorRepository devedorRepository;
 
+    @Autowired
+    private DividaRepository dividaRepository;
+
+    @Autowired
+    private DividaService dividaService;
+
     private Devedor devedor;
 
     @BeforeEach
@@ -116,7 +128,7 @@ class ContratoIntegrationTest extends BaseIntegrationTest {
         contratoRepository.save(outroContrato);
 
         // Buscar contratos
-        java.util.List<ContratoResponse> contratos = contratoService.findAll();
+        java.util.List<ContratoResponse> contratos = contratoService.findAll(null, null).itens();
         
         // Deve retornar apenas o contrato da empresa do usuário autenticado
         assertEquals(1, contratos.size());
@@ -155,5 +167,21 @@ class ContratoIntegrationTest extends BaseIntegrationTest {
         
         assertFalse(contratoRepository.existsById(created.id()));
     }
-}
 
+    @Test
+    void testDelete_ContratoComDividas_DeveDescontarDosTotaisDaConta() {
+        ContratoResponse created = contratoService.create(new ContratoRequest("Contrato Teste", devedor.getId().toString(), null));
+        Contrato contrato = contratoRepository.findById(created.id()).orElseThrow();
+        Integer dividaId = dividaService.create(new DividaRequest(new BigDecimal("40.00"), devedor.getId().toString())).id();
+        dividaService.create(new DividaRequest(new BigDecimal("15.00"), devedor.getId().toString()));
+        Divida divida = dividaRepository.findById(dividaId).orElseThrow();
+        divida.setContrato(contrato);
+        contrato.getDividas().add(divida);
+
+        contratoService.delete(created.id());
+
+        assertFalse(dividaRepository.existsById(dividaId));
+        assertEquals(Money.of("15.00"), devedor.getConta().getSaldo());
+        assertEquals(1, devedor.getConta().getQuantidadeDividas());
+    }
+}
@@ -4,11 +4,16 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.UUID;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
 import tech.devleo.projeto_orlando.domain.Conta;
 import tech.devleo.projeto_orlando.domain.Contrato;
 import tech.devleo.projeto_orlando.domain.Devedor;
@@ -40,6 +45,12 @@ class DevedorIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private DividaRepository dividaRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Devedor devedor;
 
     @BeforeEach
@@ -103,7 +114,7 @@ class DevedorIntegrationTest extends BaseIntegrationTest {
         devedorRepository.save(outroDevedor);
 
         // Buscar devedores
-        java.util.List<DevedorResponse> devedores = devedorService.findAll();
+        java.util.List<DevedorResponse> devedores = devedorService.findAll(null, null).itens();
         
         // Deve retornar apenas o devedor da empresa do usuário autenticado
         assertEquals(1, devedores.size());
@@ -163,5 +174,38 @@ class DevedorIntegrationTest extends BaseIntegrationTest {
         assertFalse(contaRepository.existsById(devedorId));
         assertFalse(contratoRepository.existsById(contratoId));
     }
-}
 
+    @Test
+    void testFindAll_QuantidadeDeStatementsNaoDependeDoNumeroDeDevedores() {
+        // Primeira chamada resolve e memoriza a empresa do usuário na requisição
+        devedorService.findAll(null, null);
+        long statementsComUm = contarStatementsFindAll();
+
+        for (int i = 0; i < 10; i++) {
+            Devedor outro = new Devedor();
+            outro.setName("Devedor " + i);
+            outro.setCpf("0000000000" + i);
+            outro.setEmail("devedor" + i + "@test.com");
+            outro.setEmpresa(testEmpresa);
+            Conta outraConta = new Conta();
+            outraConta.setDevedor(outro);
+            outro.setConta(outraConta);
+            devedorRepository.save(outro);
+        }
+        long statementsComOnze = contarStatementsFindAll();
+
+        assertEquals(1, statementsComUm);
+        assertEquals(statementsComUm, statementsComOnze);
+    }
+
+    private long contarStatementsFindAll() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        devedorService.findAll(null, null);
+
+        return statistics.getPrepareStatementCount();
+    }
+}
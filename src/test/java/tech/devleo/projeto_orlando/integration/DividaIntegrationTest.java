@@ -0,0 +1,247 @@
+package tech.devleo.projeto_orlando.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import tech.devleo.projeto_orlando.domain.Conta;
+import tech.devleo.projeto_orlando.domain.Devedor;
+import tech.devleo.projeto_orlando.domain.Divida;
+import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.domain.Pagamento;
+import tech.devleo.projeto_orlando.domain.Pk.PagamentoId;
+import tech.devleo.projeto_orlando.dto.DividaBuscaRequest;
+import tech.devleo.projeto_orlando.dto.DividaRequest;
+import tech.devleo.projeto_orlando.dto.DividaResponse;
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
+import tech.devleo.projeto_orlando.repository.DevedorRepository;
+import tech.devleo.projeto_orlando.repository.DividaRepository;
+import tech.devleo.projeto_orlando.repository.PagamentoRepository;
+import tech.devleo.projeto_orlando.service.DividaService;
+
+@Transactional
+class DividaIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private DividaService dividaService;
+
+    @Autowired
+    private DevedorRepository devedorRepository;
+
+    @Autowired
+    private DividaRepository dividaRepository;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    private Conta conta;
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        super.setUp();
+
+        Devedor devedor = new Devedor();
+        devedor.setName("Devedor Teste");
+        devedor.setCpf("12345678900");
+        devedor.setEmail("devedor@test.com");
+        devedor.setEmpresa(testEmpresa);
+
+        conta = new Conta();
+        conta.setDevedor(devedor);
+        devedor.setConta(conta);
+        devedor = devedorRepository.save(devedor);
+        conta = devedor.getConta();
+    }
+
+    @Test
+    void testFindAll_PaginasPorCursor_DevemCobrirTodasAsDividasEmOrdem() {
+        List<Integer> criadas = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            criadas.add(dividaService.create(new DividaRequest(new BigDecimal(i + "0.00"), conta.getId().toString())).id());
+        }
+
+        List<Integer> lidas = new ArrayList<>();
+        List<Integer> tamanhos = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaResponse<DividaResponse> pagina = dividaService.findAll(cursor, 2);
+            pagina.itens().forEach(d -> lidas.add(d.id()));
+            tamanhos.add(pagina.itens().size());
+            cursor = pagina.next();
+        } while (cursor != null);
+
+        assertEquals(List.of(2, 2, 1), tamanhos);
+        assertEquals(criadas, lidas);
+    }
+
+    @Test
+    void testFindAll_UltimaPaginaCheia_NaoDeveRetornarNext() {
+        dividaService.create(new DividaRequest(new BigDecimal("10.00"), conta.getId().toString()));
+        dividaService.create(new DividaRequest(new BigDecimal("20.00"), conta.getId().toString()));
+
+        PaginaResponse<DividaResponse> pagina = dividaService.findAll(null, 2);
+
+        assertEquals(2, pagina.itens().size());
+        assertNull(pagina.next());
+    }
+
+    @Test
+    void testFindAll_CursorOuTamanhoInvalido_DeveRetornar400() {
+        ResponseStatusException cursor = assertThrows(ResponseStatusException.class,
+                () -> dividaService.findAll("não é um cursor", null));
+        ResponseStatusException tamanho = assertThrows(ResponseStatusException.class,
+                () -> dividaService.findAll(null, 0));
+
+        assertEquals(HttpStatus.BAD_REQUEST, cursor.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, tamanho.getStatusCode());
+    }
+
+    @Test
+    void testSearch_FaixaDeValor_DeveRetornarDividasComContaEFiadora() {
+        dividaService.create(new DividaRequest(new BigDecimal("10.00"), conta.getId().toString()));
+        DividaResponse media = dividaService.create(new DividaRequest(new BigDecimal("50.00"), conta.getId().toString()));
+        dividaService.create(new DividaRequest(new BigDecimal("90.00"), conta.getId().toString()));
+
+        List<DividaResponse> encontradas = dividaService.search(new DividaBuscaRequest(
+                new BigDecimal("20.00"), new BigDecimal("60.00"), conta.getId(), null, null, null, null, null, null, null, null)).itens();
+
+        assertEquals(List.of(new DividaResponse(media.id(), Money.of("50.00"), conta.getId(), testEmpresa.getId())), encontradas);
+    }
+
+    @Test
+    void testSearch_PeriodoESituacao_DeveAplicarSoOsFiltrosInformados() {
+        ZonedDateTime agora = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+        Divida antiga = criarDivida("10.00", agora.minusDays(40));
+        Divida recentePaga = criarDivida("20.00", agora.minusDays(5));
+        Divida recenteAberta = criarDivida("30.00", agora.minusDays(3));
+        pagar(recentePaga);
+
+        LocalDate inicio = agora.minusDays(10).toLocalDate();
+        List<DividaResponse> recentes = dividaService.search(new DividaBuscaRequest(
+                null, null, null, null, inicio, agora.toLocalDate(), null, null, null, null, null)).itens();
+        List<DividaResponse> emAberto = dividaService.search(new DividaBuscaRequest(
+                null, null, null, null, null, null, false, null, null, null, null)).itens();
+        List<DividaResponse> recentesPagas = dividaService.search(new DividaBuscaRequest(
+                null, null, null, null, inicio, null, true, null, null, null, null)).itens();
+
+        assertEquals(List.of(recentePaga.getId(), recenteAberta.getId()), ids(recentes));
+        assertEquals(List.of(antiga.getId(), recenteAberta.getId()), ids(emAberto));
+        assertEquals(List.of(recentePaga.getId()), ids(recentesPagas));
+    }
+
+    @Test
+    void testSearch_OrdenadoPorValorDesc_DeveRespeitarOrdemETamanho() {
+        Integer menor = dividaService.create(new DividaRequest(new BigDecimal("10.00"), conta.getId().toString())).id();
+        Integer maior = dividaService.create(new DividaRequest(new BigDecimal("90.00"), conta.getId().toString())).id();
+        Integer media = dividaService.create(new DividaRequest(new BigDecimal("50.00"), conta.getId().toString())).id();
+
+        List<DividaResponse> todas = dividaService.search(new DividaBuscaRequest(
+                null, null, null, null, null, null, null, DividaBuscaRequest.Ordenacao.VALOR, Sort.Direction.DESC, null, null)).itens();
+        List<DividaResponse> duas = dividaService.search(new DividaBuscaRequest(
+                null, null, null, null, null, null, null, DividaBuscaRequest.Ordenacao.VALOR, Sort.Direction.DESC, 2, null)).itens();
+
+        assertEquals(List.of(maior, media, menor), ids(todas));
+        assertEquals(List.of(maior, media), ids(duas));
+    }
+
+    @Test
+    void testSearch_PaginasComValoresRepetidos_NaoDevemRepetirNemPularItens() {
+        for (String valor : List.of("50.00", "90.00", "50.00", "10.00", "50.00")) {
+            dividaService.create(new DividaRequest(new BigDecimal(valor), conta.getId().toString()));
+        }
+        List<Integer> esperado = dividaService.search(new DividaBuscaRequest(
+                null, null, null, null, null, null, null, DividaBuscaRequest.Ordenacao.VALOR, Sort.Direction.DESC, null, null))
+                .itens().stream().map(DividaResponse::id).toList();
+
+        List<Integer> paginado = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            PaginaResponse<DividaResponse> pagina = dividaService.search(new DividaBuscaRequest(
+                    null, null, null, null, null, null, null, DividaBuscaRequest.Ordenacao.VALOR, Sort.Direction.DESC, 2, cursor));
+            paginado.addAll(ids(pagina.itens()));
+            cursor = pagina.next();
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals(3, paginas);
+        assertEquals(5, esperado.size());
+        assertEquals(esperado, paginado);
+    }
+
+    @Test
+    void testSearch_PaginasPorDataDeCriacao_DeveContinuarDepoisDoUltimoItem() {
+        ZonedDateTime agora = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+        Divida primeira = criarDivida("10.00", agora.minusDays(2));
+        Divida segunda = criarDivida("20.00", agora.minusDays(1));
+        Divida terceira = criarDivida("30.00", agora.minusDays(1));
+
+        PaginaResponse<DividaResponse> pagina1 = dividaService.search(new DividaBuscaRequest(
+                null, null, null, null, null, null, null, DividaBuscaRequest.Ordenacao.DATA_CRIACAO, null, 2, null));
+        PaginaResponse<DividaResponse> pagina2 = dividaService.search(new DividaBuscaRequest(
+                null, null, null, null, null, null, null, DividaBuscaRequest.Ordenacao.DATA_CRIACAO, null, 2, pagina1.next()));
+
+        assertEquals(List.of(primeira.getId(), segunda.getId()), ids(pagina1.itens()));
+        assertEquals(List.of(terceira.getId()), ids(pagina2.itens()));
+        assertNull(pagina2.next());
+    }
+
+    @Test
+    void testSearch_CursorDeOutraOrdenacao_DeveRetornar400() {
+        dividaService.create(new DividaRequest(new BigDecimal("10.00"), conta.getId().toString()));
+        dividaService.create(new DividaRequest(new BigDecimal("20.00"), conta.getId().toString()));
+        String cursor = dividaService.search(new DividaBuscaRequest(
+                null, null, null, null, null, null, null, DividaBuscaRequest.Ordenacao.VALOR, null, 1, null)).next();
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> dividaService.search(new DividaBuscaRequest(
+                null, null, null, null, null, null, null, DividaBuscaRequest.Ordenacao.ID, null, 1, cursor)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    @Test
+    void testSearch_FaixaInvertida_DeveRetornar400() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> dividaService.search(new DividaBuscaRequest(
+                new BigDecimal("60.00"), new BigDecimal("20.00"), null, null, null, null, null, null, null, null, null)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    private Divida criarDivida(String valor, ZonedDateTime dataCriacao) {
+        Divida divida = new Divida();
+        divida.setValor(Money.of(valor));
+        divida.setConta(conta);
+        divida.setFiadora(testEmpresa);
+        divida.setDataCriacao(dataCriacao);
+        return dividaRepository.save(divida);
+    }
+
+    private void pagar(Divida divida) {
+        Pagamento pagamento = new Pagamento();
+        pagamento.setId(new PagamentoId(divida.getId(), conta.getId()));
+        pagamento.setConta(conta);
+        pagamento.setDivida(divida);
+        pagamento.setValor(divida.getValor());
+        pagamento.setMetodo(MetodoPagamento.PIX);
+        pagamentoRepository.saveAndFlush(pagamento);
+    }
+
+    private static List<Integer> ids(List<DividaResponse> dividas) {
+        return dividas.stream().map(DividaResponse::id).toList();
+    }
+}
@@ -2,6 +2,8 @@ package tech.devleo.projeto_orlando.integration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,10 +13,13 @@ import tech.devleo.projeto_orlando.domain.Conta;
 import tech.devleo.projeto_orlando.domain.Devedor;
 import tech.devleo.projeto_orlando.domain.Divida;
 import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
 import tech.devleo.projeto_orlando.domain.Pagamento;
 import tech.devleo.projeto_orlando.domain.Pk.PagamentoId;
 import tech.devleo.projeto_orlando.dto.PagamentoRequest;
 import tech.devleo.projeto_orlando.dto.PagamentoResponse;
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
+import tech.devleo.projeto_orlando.dto.TotalPorMetodoResponse;
 import tech.devleo.projeto_orlando.repository.DividaRepository;
 import tech.devleo.projeto_orlando.repository.PagamentoRepository;
 import tech.devleo.projeto_orlando.service.PagamentoService;
@@ -57,7 +62,7 @@ class PagamentoIntegrationTest extends BaseIntegrationTest {
         conta = devedor.getConta();
 
         divida = new Divida();
-        divida.setValor(100.0);
+        divida.setValor(Money.of("100.00"));
         divida.setConta(conta);
         divida.setFiadora(testEmpresa);
         divida = dividaRepository.save(divida);
@@ -87,12 +92,31 @@ class PagamentoIntegrationTest extends BaseIntegrationTest {
         PagamentoRequest request = new PagamentoRequest(MetodoPagamento.PIX, divida.getId());
         pagamentoService.create(request);
         
-        java.util.List<PagamentoResponse> pagamentos = pagamentoService.findAll();
+        java.util.List<PagamentoResponse> pagamentos = pagamentoService.findAll(null, null).itens();
         
         assertEquals(1, pagamentos.size());
         assertEquals(MetodoPagamento.PIX, pagamentos.get(0).metodo());
     }
 
+    @Test
+    void testFindAll_ComCursor_DeveContinuarDepoisDoUltimoPagamento() {
+        Divida segunda = new Divida();
+        segunda.setValor(Money.of("50.00"));
+        segunda.setConta(conta);
+        segunda.setFiadora(testEmpresa);
+        segunda = dividaRepository.save(segunda);
+        pagamentoService.create(new PagamentoRequest(MetodoPagamento.PIX, divida.getId()));
+        pagamentoService.create(new PagamentoRequest(MetodoPagamento.BOLETO, segunda.getId()));
+
+        PaginaResponse<PagamentoResponse> primeira = pagamentoService.findAll(null, 1);
+        PaginaResponse<PagamentoResponse> seguinte = pagamentoService.findAll(primeira.next(), 1);
+
+        assertEquals(List.of(divida.getId()), primeira.itens().stream().map(PagamentoResponse::dividaId).toList());
+        assertEquals(List.of(segunda.getId()), seguinte.itens().stream().map(PagamentoResponse::dividaId).toList());
+        assertNull(seguinte.next());
+        assertEquals(testEmpresa.getId(), pagamentoRepository.findAll().get(0).getEmpresa().getId());
+    }
+
     @Test
     void testFindById_PagamentoExistente_DeveRetornarPagamento() {
         PagamentoRequest request = new PagamentoRequest(MetodoPagamento.CREDITO, divida.getId());
@@ -136,4 +160,23 @@ class PagamentoIntegrationTest extends BaseIntegrationTest {
         PagamentoId id = new PagamentoId(created.dividaId(), created.contaId());
         assertFalse(pagamentoRepository.existsById(id));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTotaisPorMetodo_DeveAgruparMetodosPedidos() {
+        Divida outra = new Divida();
+        outra.setValor(Money.of("40.50"));
+        outra.setConta(conta);
+        outra.setFiadora(testEmpresa);
+        outra = dividaRepository.save(outra);
+
+        pagamentoService.create(new PagamentoRequest(MetodoPagamento.PIX, divida.getId()));
+        pagamentoService.create(new PagamentoRequest(MetodoPagamento.PIX, outra.getId()));
+
+        List<TotalPorMetodoResponse> totais = pagamentoService.totaisPorMetodo(List.of(MetodoPagamento.PIX, MetodoPagamento.BOLETO));
+
+        assertEquals(List.of(
+                new TotalPorMetodoResponse(MetodoPagamento.PIX, 2, Money.of("140.50")),
+                new TotalPorMetodoResponse(MetodoPagamento.BOLETO, 0, Money.ZERO)), totais);
+        assertEquals(MetodoPagamento.values().length, pagamentoService.totaisPorMetodo(null).size());
+    }
+}
@@ -0,0 +1,198 @@
+package tech.devleo.projeto_orlando.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import tech.devleo.projeto_orlando.domain.Conta;
+import tech.devleo.projeto_orlando.domain.Devedor;
+import tech.devleo.projeto_orlando.domain.Divida;
+import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.domain.Pagamento;
+import tech.devleo.projeto_orlando.domain.TipoRelatorio;
+import tech.devleo.projeto_orlando.domain.Pk.PagamentoId;
+import tech.devleo.projeto_orlando.dto.RelatorioRequest;
+import tech.devleo.projeto_orlando.dto.RelatorioResponse;
+import tech.devleo.projeto_orlando.repository.DevedorRepository;
+import tech.devleo.projeto_orlando.repository.DividaRepository;
+import tech.devleo.projeto_orlando.repository.PagamentoRepository;
+import tech.devleo.projeto_orlando.service.RelatorioExportService;
+import tech.devleo.projeto_orlando.service.RelatorioService;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+@Transactional
+class RelatorioExportIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private RelatorioExportService relatorioExportService;
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private DividaRepository dividaRepository;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private DevedorRepository devedorRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private Conta conta;
+    private ZonedDateTime agora;
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        super.setUp();
+
+        Devedor devedor = new Devedor();
+        devedor.setName("Silva, João");
+        devedor.setCpf("12345678900");
+        devedor.setEmail("devedor@test.com");
+        devedor.setEmpresa(testEmpresa);
+
+        conta = new Conta();
+        conta.setDevedor(devedor);
+        devedor.setConta(conta);
+        devedor = devedorRepository.save(devedor);
+        conta = devedor.getConta();
+
+        agora = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+    }
+
+    @Test
+    void testExportarCsv_RelatorioDaConta_DeveListarDividasEPagamentos() throws IOException {
+        Divida paga = criarDivida("200.00", agora.minusDays(2));
+        criarDivida("99.90", agora.minusDays(1));
+        pagar(paga, MetodoPagamento.PIX);
+
+        RelatorioResponse relatorio = relatorioService.create(new RelatorioRequest(
+                TipoRelatorio.CONTA_ESPECIFICA, null, conta.getId().toString(), null, null, null, null));
+
+        List<String> linhas = exportar(relatorio.id(), RelatorioExportService.Formato.CSV, false);
+
+        assertEquals(4, linhas.size());
+        assertEquals("tipo,divida_id,conta_id,devedor,data,valor,metodo", linhas.get(0));
+        assertTrue(linhas.get(1).startsWith("DIVIDA," + paga.getId() + "," + conta.getId() + ",\"Silva, João\","));
+        assertTrue(linhas.get(1).endsWith(",200.00,"));
+        assertTrue(linhas.get(2).endsWith(",99.90,"));
+        assertTrue(linhas.get(3).startsWith("PAGAMENTO," + paga.getId() + ","));
+        assertTrue(linhas.get(3).endsWith(",200.00,PIX"));
+    }
+
+    @Test
+    void testExportarNdjsonGzip_RelatorioInadimplencia_DeveListarSoDividasEmAbertoAcimaDoMinimo() throws IOException {
+        Divida aberta = criarDivida("300.00", agora.minusDays(40));
+        criarDivida("10.00", agora.minusDays(40));
+        pagar(criarDivida("500.00", agora.minusDays(40)), MetodoPagamento.BOLETO);
+
+        RelatorioResponse relatorio = relatorioService.create(new RelatorioRequest(
+                TipoRelatorio.INADIMPLENCIA, null, null, null, null, new BigDecimal("50.00"), null));
+
+        List<String> linhas = exportar(relatorio.id(), RelatorioExportService.Formato.NDJSON, true);
+
+        assertEquals(1, linhas.size());
+        JsonNode linha = jsonMapper.readTree(linhas.get(0));
+        assertEquals("DIVIDA", linha.get("tipo").asString());
+        assertEquals(aberta.getId().intValue(), linha.get("dividaId").asInt());
+        assertEquals(conta.getId().toString(), linha.get("contaId").asString());
+        assertEquals(Money.of("300.00"), Money.of(linha.get("valor").decimalValue()));
+    }
+
+    @Test
+    void testExportarCsv_RelatorioPeriodo_DeveFiltrarPelaData() throws IOException {
+        criarDivida("70.00", agora.minusDays(40));
+        Divida recente = criarDivida("120.00", agora.minusDays(2));
+        pagar(recente, MetodoPagamento.PIX);
+
+        RelatorioResponse relatorio = relatorioService.create(new RelatorioRequest(
+                TipoRelatorio.PERIODO, null, null, agora.minusDays(5).toLocalDate(), agora.toLocalDate(), null, null));
+
+        List<String> linhas = exportar(relatorio.id(), RelatorioExportService.Formato.CSV, false);
+
+        assertEquals(3, linhas.size());
+        assertTrue(linhas.get(1).startsWith("DIVIDA," + recente.getId() + ","));
+        assertTrue(linhas.get(2).startsWith("PAGAMENTO," + recente.getId() + "," + conta.getId() + ",\"Silva, João\","));
+    }
+
+    @Test
+    void testAceitaGzip_DeveRespeitarQ() {
+        assertTrue(RelatorioExportService.aceitaGzip("gzip, deflate, br"));
+        assertTrue(RelatorioExportService.aceitaGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(RelatorioExportService.aceitaGzip("*"));
+        assertFalse(RelatorioExportService.aceitaGzip(null));
+        assertFalse(RelatorioExportService.aceitaGzip("gzip;q=0"));
+        assertFalse(RelatorioExportService.aceitaGzip("gzip; q=0.000, identity"));
+        assertFalse(RelatorioExportService.aceitaGzip("*, gzip;q=0"));
+        assertFalse(RelatorioExportService.aceitaGzip("deflate"));
+    }
+
+    @Test
+    void testFormato_Invalido_DeveRetornar400() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> RelatorioExportService.Formato.of("xlsx"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    @Test
+    void testPreparar_RelatorioInexistente_DeveRetornar404() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> relatorioExportService.preparar(-1));
+
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+    }
+
+    private List<String> exportar(Integer relatorioId, RelatorioExportService.Formato formato, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        relatorioExportService.escrever(relatorioExportService.preparar(relatorioId), formato, gzip, out);
+
+        byte[] bytes = out.toByteArray();
+        if (gzip) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                bytes = in.readAllBytes();
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private Divida criarDivida(String valor, ZonedDateTime dataCriacao) {
+        Divida divida = new Divida();
+        divida.setValor(Money.of(valor));
+        divida.setConta(conta);
+        divida.setFiadora(testEmpresa);
+        divida.setDataCriacao(dataCriacao);
+        return dividaRepository.save(divida);
+    }
+
+    private void pagar(Divida divida, MetodoPagamento metodo) {
+        Pagamento pagamento = new Pagamento();
+        pagamento.setId(new PagamentoId(divida.getId(), conta.getId()));
+        pagamento.setConta(conta);
+        pagamento.setDivida(divida);
+        pagamento.setValor(divida.getValor());
+        pagamento.setMetodo(metodo);
+        pagamentoRepository.saveAndFlush(pagamento);
+    }
+}
@@ -2,8 +2,11 @@ package tech.devleo.projeto_orlando.integration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,18 +17,24 @@ import org.springframework.transaction.annotation.Transactional;
 import tech.devleo.projeto_orlando.domain.Conta;
 import tech.devleo.projeto_orlando.domain.Devedor;
 import tech.devleo.projeto_orlando.domain.Divida;
+import tech.devleo.projeto_orlando.domain.FaixaAtraso;
+import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
 import tech.devleo.projeto_orlando.domain.Pagamento;
 import tech.devleo.projeto_orlando.domain.TipoRelatorio;
 import tech.devleo.projeto_orlando.domain.Pk.PagamentoId;
 import tech.devleo.projeto_orlando.dto.AuditoriaResponse;
+import tech.devleo.projeto_orlando.dto.FaixaAtrasoResponse;
 import tech.devleo.projeto_orlando.dto.RelatorioRequest;
 import tech.devleo.projeto_orlando.dto.RelatorioResponse;
+import tech.devleo.projeto_orlando.dto.TotalPorMetodoResponse;
 import tech.devleo.projeto_orlando.repository.ContaRepository;
 import tech.devleo.projeto_orlando.repository.DevedorRepository;
 import tech.devleo.projeto_orlando.repository.DividaRepository;
 import tech.devleo.projeto_orlando.repository.PagamentoRepository;
 import tech.devleo.projeto_orlando.repository.RelatorioRepository;
 import tech.devleo.projeto_orlando.service.RelatorioService;
+import tech.devleo.projeto_orlando.service.ResumoDiarioService;
 
 @Transactional
 class RelatorioIntegrationTest extends BaseIntegrationTest {
@@ -48,6 +57,9 @@ class RelatorioIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private ContaRepository contaRepository;
 
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
     private Devedor devedor;
     private Conta conta;
 
@@ -73,7 +85,7 @@ class RelatorioIntegrationTest extends BaseIntegrationTest {
     void testCreate_RelatorioManual_DeveCriarRelatorio() {
         RelatorioRequest request = new RelatorioRequest(
             TipoRelatorio.MANUAL,
-            1000.0,
+            new BigDecimal("1000.00"),
             conta.getId().toString(),
             null,
             null,
@@ -85,25 +97,27 @@ class RelatorioIntegrationTest extends BaseIntegrationTest {
         
         assertNotNull(response);
         assertEquals(TipoRelatorio.MANUAL, response.tipo());
-        assertEquals(1000.0, response.valorMovimentado());
+        assertEquals(Money.of("1000.00"), response.valorMovimentado());
     }
 
     @Test
     void testCreate_RelatorioContaEspecifica_DeveCalcularAutomaticamente() {
         // Criar dívidas
         Divida divida1 = new Divida();
-        divida1.setValor(200.0);
+        divida1.setValor(Money.of("200.00"));
         divida1.setConta(conta);
         divida1.setFiadora(testEmpresa);
         divida1 = dividaRepository.save(divida1);
         conta.getDividas().add(divida1);
+        conta.registrarDivida(divida1.getValor());
 
         Divida divida2 = new Divida();
-        divida2.setValor(100.0);
+        divida2.setValor(Money.of("100.00"));
         divida2.setConta(conta);
         divida2.setFiadora(testEmpresa);
         divida2 = dividaRepository.save(divida2);
         conta.getDividas().add(divida2);
+        conta.registrarDivida(divida2.getValor());
         
         contaRepository.save(conta);
 
@@ -114,8 +128,9 @@ class RelatorioIntegrationTest extends BaseIntegrationTest {
         pagamento.setDivida(divida1);
         pagamento.setValor(divida1.getValor());
         
-        pagamentoRepository.save(pagamento);
+        pagamento = pagamentoRepository.save(pagamento);
         conta.getPagamentos().add(pagamento);
+        conta.registrarPagamento(pagamento.getValor());
         
         contaRepository.save(conta);
         
@@ -141,18 +156,96 @@ class RelatorioIntegrationTest extends BaseIntegrationTest {
         RelatorioResponse response = relatorioService.create(request);
         
         assertNotNull(response);
-        assertEquals(300.0, response.totalDividas());
-        assertEquals(200.0, response.totalPagamentos());
+        assertEquals(Money.of("300.00"), response.totalDividas());
+        assertEquals(Money.of("200.00"), response.totalPagamentos());
+        assertEquals(2, response.quantidadeDividas());
+        assertEquals(1, response.quantidadePagamentos());
+    }
+
+    @Test
+    void testCreate_RelatorioConsolidado_DeveAgregarTodasAsContas() {
+        Divida divida1 = new Divida();
+        divida1.setValor(Money.of("200.00"));
+        divida1.setConta(conta);
+        divida1.setFiadora(testEmpresa);
+        dividaRepository.save(divida1);
+        conta.registrarDivida(divida1.getValor());
+        contaRepository.save(conta);
+
+        Devedor outro = new Devedor();
+        outro.setName("Outro Devedor");
+        outro.setCpf("98765432100");
+        outro.setEmail("outro@test.com");
+        outro.setEmpresa(testEmpresa);
+        Conta outraConta = new Conta();
+        outraConta.setDevedor(outro);
+        outro.setConta(outraConta);
+        outraConta = devedorRepository.save(outro).getConta();
+
+        Divida divida2 = new Divida();
+        divida2.setValor(Money.of("50.25"));
+        divida2.setConta(outraConta);
+        divida2.setFiadora(testEmpresa);
+        divida2 = dividaRepository.save(divida2);
+        outraConta.registrarDivida(divida2.getValor());
+
+        Pagamento pagamento = new Pagamento();
+        pagamento.setId(new PagamentoId(divida2.getId(), outraConta.getId()));
+        pagamento.setConta(outraConta);
+        pagamento.setDivida(divida2);
+        pagamento.setValor(divida2.getValor());
+        pagamentoRepository.save(pagamento);
+        outraConta.registrarPagamento(pagamento.getValor());
+        contaRepository.saveAndFlush(outraConta);
+
+        RelatorioRequest request = new RelatorioRequest(
+            TipoRelatorio.CONSOLIDADO_EMPRESA,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null
+        );
+
+        RelatorioResponse response = relatorioService.create(request);
+
+        assertEquals(2, response.quantidadeContas());
+        assertEquals(Money.of("250.25"), response.totalDividas());
+        assertEquals(Money.of("50.25"), response.totalPagamentos());
+        assertEquals(Money.of("200.00"), response.valorMovimentado());
         assertEquals(2, response.quantidadeDividas());
         assertEquals(1, response.quantidadePagamentos());
     }
 
+    @Test
+    void testCreate_RelatorioConsolidado_EmpresaSemContas_DeveRetornarZeros() {
+        devedorRepository.delete(devedor);
+        devedorRepository.flush();
+
+        RelatorioRequest request = new RelatorioRequest(
+            TipoRelatorio.CONSOLIDADO_EMPRESA,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null
+        );
+
+        RelatorioResponse response = relatorioService.create(request);
+
+        assertEquals(0, response.quantidadeContas());
+        assertEquals(Money.ZERO, response.totalDividas());
+        assertEquals(Money.ZERO, response.valorMovimentado());
+    }
+
     @Test
     void testCreate_RelatorioPeriodo_DeveCalcularMovimentacoes() {
         ZonedDateTime agora = ZonedDateTime.now();
         
         Divida divida = new Divida();
-        divida.setValor(500.0);
+        divida.setValor(Money.of("500.00"));
         divida.setConta(conta);
         divida.setFiadora(testEmpresa);
         divida.setDataCriacao(agora);
@@ -166,6 +259,17 @@ class RelatorioIntegrationTest extends BaseIntegrationTest {
         pagamento.setDataPagamento(agora);
         pagamentoRepository.save(pagamento);
 
+        // Fora do período: não entra na soma nem na contagem
+        Divida antiga = new Divida();
+        antiga.setValor(Money.of("70.00"));
+        antiga.setConta(conta);
+        antiga.setFiadora(testEmpresa);
+        antiga.setDataCriacao(agora.minusDays(10));
+        dividaRepository.save(antiga);
+
+        // Inserções direto no repositório não passam pelos serviços: recalcula o resumo diário
+        resumoDiarioService.reconstruir(testEmpresa);
+
         LocalDate inicio = LocalDate.now().minusDays(1);
         LocalDate fim = LocalDate.now().plusDays(1);
 
@@ -182,8 +286,11 @@ class RelatorioIntegrationTest extends BaseIntegrationTest {
         RelatorioResponse response = relatorioService.create(request);
         
         assertNotNull(response);
-        assertEquals(500.0, response.totalDividas());
-        assertEquals(500.0, response.totalPagamentos());
+        assertEquals(Money.of("500.00"), response.totalDividas());
+        assertEquals(Money.of("500.00"), response.totalPagamentos());
+        assertEquals(1, response.quantidadeDividas());
+        assertEquals(1, response.quantidadePagamentos());
+        assertEquals(Money.ZERO, response.valorMovimentado());
     }
 
     @Test
@@ -192,13 +299,13 @@ class RelatorioIntegrationTest extends BaseIntegrationTest {
         
         // Criar dívidas
         Divida divida1 = new Divida();
-        divida1.setValor(200.0);
+        divida1.setValor(Money.of("200.00"));
         divida1.setConta(conta);
         divida1.setFiadora(testEmpresa);
         divida1 = dividaRepository.save(divida1);
 
         Divida divida2 = new Divida();
-        divida2.setValor(100.0);
+        divida2.setValor(Money.of("100.00"));
         divida2.setConta(conta);
         divida2.setFiadora(testEmpresa);
         divida2 = dividaRepository.save(divida2);
@@ -209,6 +316,7 @@ class RelatorioIntegrationTest extends BaseIntegrationTest {
         pagamento1.setConta(conta);
         pagamento1.setDivida(divida1);
         pagamento1.setValor(divida1.getValor());
+        pagamento1.setMetodo(MetodoPagamento.PIX);
         pagamento1.setDataPagamento(agora);
         pagamentoRepository.save(pagamento1);
 
@@ -218,9 +326,13 @@ class RelatorioIntegrationTest extends BaseIntegrationTest {
         pagamento2.setConta(conta);
         pagamento2.setDivida(divida2);
         pagamento2.setValor(divida2.getValor());
+        pagamento2.setMetodo(MetodoPagamento.BOLETO);
         pagamento2.setDataPagamento(agora);
         pagamentoRepository.save(pagamento2);
 
+        // Inserções direto no repositório não passam pelos serviços: recalcula o resumo diário
+        resumoDiarioService.reconstruir(testEmpresa);
+
         LocalDate inicio = LocalDate.now().minusDays(1);
         LocalDate fim = LocalDate.now().plusDays(1);
 
@@ -237,8 +349,85 @@ class RelatorioIntegrationTest extends BaseIntegrationTest {
         RelatorioResponse response = relatorioService.create(request);
         
         assertNotNull(response);
-        assertEquals(300.0, response.totalPagamentos());
+        assertEquals(Money.of("300.00"), response.totalPagamentos());
         assertEquals(2, response.quantidadePagamentos());
+
+        // Todos os métodos aparecem, inclusive os sem pagamentos no período
+        assertEquals(MetodoPagamento.values().length, response.recebimentosPorMetodo().size());
+        assertEquals(new TotalPorMetodoResponse(MetodoPagamento.PIX, 1, Money.of("200.00")), porMetodo(response, MetodoPagamento.PIX));
+        assertEquals(new TotalPorMetodoResponse(MetodoPagamento.BOLETO, 1, Money.of("100.00")), porMetodo(response, MetodoPagamento.BOLETO));
+        assertEquals(new TotalPorMetodoResponse(MetodoPagamento.DEBITO, 0, Money.ZERO), porMetodo(response, MetodoPagamento.DEBITO));
+
+        // O detalhamento é persistido junto com o relatório
+        assertEquals(response.recebimentosPorMetodo(), relatorioService.findById(response.id()).recebimentosPorMetodo());
+    }
+
+    @Test
+    void testCreate_RelatorioInadimplencia_DeveAgruparDividasEmAbertoPorFaixa() {
+        ZonedDateTime agora = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+        criarDivida("100.00", agora.minusDays(5));
+        criarDivida("200.00", agora.minusDays(30));
+        criarDivida("300.00", agora.minusDays(45));
+        criarDivida("400.00", agora.minusDays(75));
+        criarDivida("500.00", agora.minusDays(120));
+        // Abaixo do mínimo: fora do relatório
+        criarDivida("10.00", agora.minusDays(120));
+
+        // Paga: fora do relatório
+        Divida paga = criarDivida("999.00", agora.minusDays(100));
+        Pagamento pagamento = new Pagamento();
+        pagamento.setId(new PagamentoId(paga.getId(), conta.getId()));
+        pagamento.setConta(conta);
+        pagamento.setDivida(paga);
+        pagamento.setValor(paga.getValor());
+        pagamentoRepository.saveAndFlush(pagamento);
+
+        RelatorioRequest request = new RelatorioRequest(
+            TipoRelatorio.INADIMPLENCIA,
+            null,
+            null,
+            null,
+            null,
+            new BigDecimal("50.00"),
+            null
+        );
+
+        RelatorioResponse response = relatorioService.create(request);
+
+        assertEquals(5, response.quantidadeDividas());
+        assertEquals(1, response.quantidadeContas());
+        assertEquals(Money.of("1500.00"), response.totalDividas());
+        assertEquals(List.of(
+                new FaixaAtrasoResponse(FaixaAtraso.ATE_30_DIAS, 2, Money.of("300.00")),
+                new FaixaAtrasoResponse(FaixaAtraso.DE_31_A_60_DIAS, 1, Money.of("300.00")),
+                new FaixaAtrasoResponse(FaixaAtraso.DE_61_A_90_DIAS, 1, Money.of("400.00")),
+                new FaixaAtrasoResponse(FaixaAtraso.ACIMA_DE_90_DIAS, 1, Money.of("500.00"))), response.faixasAtraso());
+        assertNull(response.recebimentosPorMetodo());
+    }
+
+    @Test
+    void testCreate_RelatorioInadimplencia_SemDividas_DeveRetornarFaixasZeradas() {
+        RelatorioRequest request = new RelatorioRequest(TipoRelatorio.INADIMPLENCIA, null, null, null, null, null, null);
+
+        RelatorioResponse response = relatorioService.create(request);
+
+        assertEquals(0, response.quantidadeDividas());
+        assertEquals(Money.ZERO, response.totalDividas());
+        assertEquals(4, response.faixasAtraso().size());
+        assertTrue(response.faixasAtraso().stream().allMatch(f -> f.quantidade() == 0 && f.total().equals(Money.ZERO)));
+    }
+
+    private Divida criarDivida(String valor, ZonedDateTime dataCriacao) {
+        Divida divida = new Divida();
+        divida.setValor(Money.of(valor));
+        divida.setConta(conta);
+        divida.setFiadora(testEmpresa);
+        divida.setDataCriacao(dataCriacao);
+        return dividaRepository.save(divida);
+    }
+
+    private static TotalPorMetodoResponse porMetodo(RelatorioResponse response, MetodoPagamento metodo) {
+        return response.recebimentosPorMetodo().stream().filter(t -> t.metodo() == metodo).findFirst().orElseThrow();
     }
 
     @Test
@@ -247,7 +436,7 @@ class RelatorioIntegrationTest extends BaseIntegrationTest {
         
         // Dívidas
         Divida divida1 = new Divida();
-        divida1.setValor(100.0);
+        divida1.setValor(Money.of("100.00"));
         divida1.setConta(conta);
         divida1.setFiadora(testEmpresa);
         divida1.setDataCriacao(agora);
@@ -262,13 +451,16 @@ class RelatorioIntegrationTest extends BaseIntegrationTest {
         pagamento1.setDataPagamento(agora);
         pagamentoRepository.save(pagamento1);
 
+        // Inserções direto no repositório não passam pelos serviços: recalcula o resumo diário
+        resumoDiarioService.reconstruir(testEmpresa);
+
         LocalDate inicio = LocalDate.now().minusDays(1);
         LocalDate fim = LocalDate.now().plusDays(1);
         
         AuditoriaResponse auditoria = relatorioService.gerarAuditoria(inicio, fim);
         
         assertNotNull(auditoria);
-        assertEquals(100.0, auditoria.valorTotalDividas());
+        assertEquals(Money.of("100.00"), auditoria.valorTotalDividas());
         assertEquals(1L, auditoria.totalPagamentos());
     }
 }
\ No newline at end of file
@@ -0,0 +1,163 @@
+package tech.devleo.projeto_orlando.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.persistence.EntityManager;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.domain.RelatorioJob;
+import tech.devleo.projeto_orlando.domain.StatusRelatorioJob;
+import tech.devleo.projeto_orlando.domain.TipoRelatorio;
+import tech.devleo.projeto_orlando.dto.RelatorioJobResponse;
+import tech.devleo.projeto_orlando.dto.RelatorioRequest;
+import tech.devleo.projeto_orlando.repository.RelatorioJobRepository;
+import tech.devleo.projeto_orlando.service.RelatorioJobService;
+
+@Transactional
+class RelatorioJobIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private RelatorioJobService jobService;
+
+    @Autowired
+    private RelatorioJobRepository jobRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testEnfileirar_DeveGravarJobPendente() {
+        RelatorioJobResponse job = jobService.enfileirar(new RelatorioRequest(
+            TipoRelatorio.MANUAL, new BigDecimal("150.00"), null, null, null, null, "Job manual"));
+
+        assertNotNull(job.id());
+        assertEquals(StatusRelatorioJob.PENDENTE, job.status());
+        assertNull(job.relatorio());
+        assertEquals(1, jobRepository.countByStatus(StatusRelatorioJob.PENDENTE));
+    }
+
+    @Test
+    void testEnfileirar_RequestInvalido_DeveLancar400SemCriarJob() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> jobService.enfileirar(new RelatorioRequest(TipoRelatorio.PERIODO, null, null, null, null, null, null)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertEquals(0, jobRepository.count());
+    }
+
+    @Test
+    void testExecutar_DeveConcluirComRelatorio() {
+        UUID id = jobService.enfileirar(new RelatorioRequest(
+            TipoRelatorio.MANUAL, new BigDecimal("150.00"), null, null, null, null, "Job manual")).id();
+
+        jobService.executar(jobRepository.findById(id).orElseThrow(), reservar(id));
+        entityManager.clear();
+
+        RelatorioJobResponse job = jobService.aguardar(id, Duration.ofSeconds(1)).join();
+        assertEquals(StatusRelatorioJob.CONCLUIDO, job.status());
+        assertNotNull(job.concluidoEm());
+        assertNotNull(job.relatorio());
+        assertEquals(Money.of("150.00"), job.relatorio().valorMovimentado());
+    }
+
+    @Test
+    void testExecutar_ContaInexistente_DeveFalharComMotivo() {
+        UUID id = jobService.enfileirar(new RelatorioRequest(
+            TipoRelatorio.CONTA_ESPECIFICA, null, UUID.randomUUID().toString(), null, null, null, null)).id();
+
+        jobService.executar(jobRepository.findById(id).orElseThrow(), reservar(id));
+        entityManager.clear();
+
+        RelatorioJobResponse job = jobService.buscar(id);
+        assertEquals(StatusRelatorioJob.FALHOU, job.status());
+        assertEquals("Conta não encontrada", job.erro());
+        assertNull(job.relatorio());
+    }
+
+    @Test
+    void testExecutar_ReservaDevolvidaPorTimeout_NaoDeveSobrescreverNovaTentativa() {
+        UUID id = enfileirarManual();
+        UUID primeira = reservar(id);
+        jobRepository.devolverTravados(agora().plusMinutes(1), 3, StatusRelatorioJob.EXECUTANDO, StatusRelatorioJob.PENDENTE);
+        UUID segunda = reservar(id);
+        entityManager.clear();
+
+        jobService.executar(jobRepository.findById(id).orElseThrow(), primeira);
+        entityManager.clear();
+
+        RelatorioJob job = jobRepository.findById(id).orElseThrow();
+        assertEquals(StatusRelatorioJob.EXECUTANDO, job.getStatus());
+        assertEquals(segunda, job.getReserva());
+        assertNull(job.getRelatorioId());
+
+        jobService.executar(job, segunda);
+        entityManager.clear();
+
+        assertEquals(StatusRelatorioJob.CONCLUIDO, jobService.buscar(id).status());
+    }
+
+    @Test
+    void testExecutar_JobFalhouPorTimeout_NaoDeveSobrescreverFalha() {
+        UUID id = enfileirarManual();
+        UUID reserva = reservar(id);
+        jobRepository.falharTravados(agora().plusMinutes(1), 1, "Tempo limite excedido", agora(),
+                StatusRelatorioJob.EXECUTANDO, StatusRelatorioJob.FALHOU);
+        entityManager.clear();
+
+        jobService.executar(jobRepository.findById(id).orElseThrow(), reserva);
+        entityManager.clear();
+
+        RelatorioJobResponse job = jobService.buscar(id);
+        assertEquals(StatusRelatorioJob.FALHOU, job.status());
+        assertEquals("Tempo limite excedido", job.erro());
+        assertNull(job.relatorio());
+    }
+
+    @Test
+    void testReservar_EmpresaNoLimite_NaoDeveReservar() {
+        UUID primeiro = enfileirarManual();
+        UUID segundo = enfileirarManual();
+        UUID terceiro = enfileirarManual();
+
+        assertNotNull(reservar(primeiro));
+        assertNotNull(reservar(segundo));
+        assertEquals(0, jobRepository.reservar(terceiro, UUID.randomUUID(), agora(), 2,
+                StatusRelatorioJob.PENDENTE, StatusRelatorioJob.EXECUTANDO));
+    }
+
+    @Test
+    void testBuscar_JobDeOutraEmpresa_DeveLancar404() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> jobService.buscar(UUID.randomUUID()));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    private UUID enfileirarManual() {
+        return jobService.enfileirar(new RelatorioRequest(
+            TipoRelatorio.MANUAL, new BigDecimal("150.00"), null, null, null, null, "Job manual")).id();
+    }
+
+    // Mesma reserva do despachante, com o limite por empresa de application.properties
+    private UUID reservar(UUID id) {
+        UUID reserva = UUID.randomUUID();
+        assertEquals(1, jobRepository.reservar(id, reserva, agora(), 2,
+                StatusRelatorioJob.PENDENTE, StatusRelatorioJob.EXECUTANDO));
+        return reserva;
+    }
+
+    private static ZonedDateTime agora() {
+        return ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+    }
+}
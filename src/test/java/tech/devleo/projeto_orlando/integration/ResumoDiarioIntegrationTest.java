@@ -0,0 +1,228 @@
+package tech.devleo.projeto_orlando.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import tech.devleo.projeto_orlando.domain.Conta;
+import tech.devleo.projeto_orlando.domain.Contrato;
+import tech.devleo.projeto_orlando.domain.Devedor;
+import tech.devleo.projeto_orlando.domain.Divida;
+import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.domain.ResumoDiario;
+import tech.devleo.projeto_orlando.dto.ContratoRequest;
+import tech.devleo.projeto_orlando.dto.DividaRequest;
+import tech.devleo.projeto_orlando.dto.DividaResponse;
+import tech.devleo.projeto_orlando.dto.PagamentoRequest;
+import tech.devleo.projeto_orlando.repository.ContratoRepository;
+import tech.devleo.projeto_orlando.repository.DevedorRepository;
+import tech.devleo.projeto_orlando.repository.DividaRepository;
+import tech.devleo.projeto_orlando.repository.ResumoDiarioRepository;
+import tech.devleo.projeto_orlando.service.ContratoService;
+import tech.devleo.projeto_orlando.service.DevedorService;
+import tech.devleo.projeto_orlando.service.DividaService;
+import tech.devleo.projeto_orlando.service.EmpresaService;
+import tech.devleo.projeto_orlando.service.PagamentoService;
+import tech.devleo.projeto_orlando.service.ResumoDiarioService;
+
+@Transactional
+class ResumoDiarioIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private DividaService dividaService;
+
+    @Autowired
+    private PagamentoService pagamentoService;
+
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
+    @Autowired
+    private ResumoDiarioRepository resumoDiarioRepository;
+
+    @Autowired
+    private DevedorRepository devedorRepository;
+
+    @Autowired
+    private DevedorService devedorService;
+
+    @Autowired
+    private ContratoService contratoService;
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private ContratoRepository contratoRepository;
+
+    @Autowired
+    private DividaRepository dividaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Conta conta;
+    private LocalDate hoje;
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        super.setUp();
+
+        Devedor devedor = new Devedor();
+        devedor.setName("Devedor Teste");
+        devedor.setCpf("12345678900");
+        devedor.setEmail("devedor@test.com");
+        devedor.setEmpresa(testEmpresa);
+
+        conta = new Conta();
+        conta.setDevedor(devedor);
+        devedor.setConta(conta);
+        devedor = devedorRepository.save(devedor);
+        conta = devedor.getConta();
+
+        hoje = LocalDate.now(ZoneId.of("America/Sao_Paulo"));
+    }
+
+    @Test
+    void testEscritasPelosServicos_DevemManterResumoDoDia() {
+        DividaResponse divida1 = dividaService.create(new DividaRequest(new BigDecimal("200.00"), conta.getId().toString()));
+        DividaResponse divida2 = dividaService.create(new DividaRequest(new BigDecimal("100.00"), conta.getId().toString()));
+        dividaService.update(divida2.id(), new DividaRequest(new BigDecimal("150.00"), conta.getId().toString()));
+        pagamentoService.create(new PagamentoRequest(MetodoPagamento.PIX, divida1.id()));
+
+        ResumoDiarioRepository.TotaisPeriodo totais = resumoDiarioRepository.sumByPeriodo(testEmpresa, hoje, hoje);
+
+        assertEquals(2L, totais.getQuantidadeDividas());
+        assertEquals(Money.of("350.00"), Money.ofCentavos(totais.getTotalDividas()));
+        assertEquals(1L, totais.getQuantidadePagamentos());
+        assertEquals(Money.of("200.00"), Money.ofCentavos(totais.getTotalPagamentos()));
+    }
+
+    @Test
+    void testAlterarMetodoERemover_DeveMoverEDescontarValores() {
+        DividaResponse divida1 = dividaService.create(new DividaRequest(new BigDecimal("200.00"), conta.getId().toString()));
+        DividaResponse divida2 = dividaService.create(new DividaRequest(new BigDecimal("80.00"), conta.getId().toString()));
+        pagamentoService.create(new PagamentoRequest(MetodoPagamento.PIX, divida1.id()));
+        pagamentoService.update(divida1.id(), conta.getId(), new PagamentoRequest(MetodoPagamento.BOLETO, divida1.id()));
+        dividaService.delete(divida2.id());
+        entityManager.clear();
+
+        List<ResumoDiario> linhas = linhasDaEmpresa();
+        ResumoDiario pix = linha(linhas, MetodoPagamento.PIX);
+        ResumoDiario boleto = linha(linhas, MetodoPagamento.BOLETO);
+        ResumoDiario dividas = linha(linhas, null);
+
+        assertEquals(0L, pix.getQuantidadePagamentos());
+        assertEquals(Money.ZERO, pix.getTotalPagamentos());
+        assertEquals(1L, boleto.getQuantidadePagamentos());
+        assertEquals(Money.of("200.00"), boleto.getTotalPagamentos());
+        assertEquals(1L, dividas.getQuantidadeDividas());
+        assertEquals(Money.of("200.00"), dividas.getTotalDividas());
+    }
+
+    @Test
+    void testReconstruir_DeveBaterComResumoIncremental() {
+        DividaResponse divida1 = dividaService.create(new DividaRequest(new BigDecimal("200.00"), conta.getId().toString()));
+        DividaResponse divida2 = dividaService.create(new DividaRequest(new BigDecimal("99.99"), conta.getId().toString()));
+        pagamentoService.create(new PagamentoRequest(MetodoPagamento.PIX, divida1.id()));
+        pagamentoService.create(new PagamentoRequest(MetodoPagamento.CREDITO, divida2.id()));
+
+        ResumoDiarioRepository.TotaisPeriodo incremental = resumoDiarioRepository.sumByPeriodo(testEmpresa, hoje, hoje);
+        Long totalDividas = incremental.getTotalDividas();
+        Long totalPagamentos = incremental.getTotalPagamentos();
+
+        int linhas = resumoDiarioService.reconstruir(testEmpresa);
+        ResumoDiarioRepository.TotaisPeriodo reconstruido = resumoDiarioRepository.sumByPeriodo(testEmpresa, hoje, hoje);
+
+        assertEquals(3, linhas);
+        assertEquals(2L, reconstruido.getQuantidadeDividas());
+        assertEquals(totalDividas, reconstruido.getTotalDividas());
+        assertEquals(2L, reconstruido.getQuantidadePagamentos());
+        assertEquals(totalPagamentos, reconstruido.getTotalPagamentos());
+    }
+
+    @Test
+    void testSubida_EmpresaComDividasESemResumo_DeveCarregarHistorico() {
+        dividaService.create(new DividaRequest(new BigDecimal("200.00"), conta.getId().toString()));
+        dividaService.create(new DividaRequest(new BigDecimal("80.00"), conta.getId().toString()));
+        resumoDiarioRepository.deleteByEmpresa(testEmpresa);
+        entityManager.flush();
+        entityManager.clear();
+
+        resumoDiarioService.reconstruirTodasAoIniciar();
+
+        ResumoDiarioRepository.TotaisPeriodo totais = resumoDiarioRepository.sumByPeriodo(testEmpresa, hoje, hoje);
+        assertEquals(2L, totais.getQuantidadeDividas());
+        assertEquals(Money.of("280.00"), Money.ofCentavos(totais.getTotalDividas()));
+        assertTrue(resumoDiarioRepository.findEmpresasSemResumo().isEmpty());
+    }
+
+    @Test
+    void testDeleteDevedor_DeveDescontarDividasRemovidasEmCascata() {
+        dividaService.create(new DividaRequest(new BigDecimal("200.00"), conta.getId().toString()));
+        dividaService.create(new DividaRequest(new BigDecimal("80.00"), conta.getId().toString()));
+        entityManager.flush();
+        entityManager.clear();
+
+        devedorService.delete(conta.getId().toString());
+        entityManager.flush();
+
+        ResumoDiarioRepository.TotaisPeriodo totais = resumoDiarioRepository.sumByPeriodo(testEmpresa, hoje, hoje);
+        assertEquals(0L, totais.getQuantidadeDividas());
+        assertEquals(0L, totais.getTotalDividas());
+    }
+
+    @Test
+    void testDeleteContrato_DeveDescontarDividasRemovidasEmCascata() {
+        Contrato contrato = contratoRepository.findById(contratoService.create(
+                new ContratoRequest("Contrato", conta.getId().toString(), null)).id()).orElseThrow();
+        Divida doContrato = dividaRepository.findById(dividaService.create(
+                new DividaRequest(new BigDecimal("40.00"), conta.getId().toString())).id()).orElseThrow();
+        doContrato.setContrato(contrato);
+        contrato.getDividas().add(doContrato);
+        dividaService.create(new DividaRequest(new BigDecimal("15.00"), conta.getId().toString()));
+        entityManager.flush();
+
+        contratoService.delete(contrato.getId());
+        entityManager.flush();
+
+        ResumoDiarioRepository.TotaisPeriodo totais = resumoDiarioRepository.sumByPeriodo(testEmpresa, hoje, hoje);
+        assertEquals(1L, totais.getQuantidadeDividas());
+        assertEquals(Money.of("15.00"), Money.ofCentavos(totais.getTotalDividas()));
+    }
+
+    @Test
+    void testDeleteEmpresa_DeveRemoverLinhasDoResumo() {
+        dividaService.create(new DividaRequest(new BigDecimal("200.00"), conta.getId().toString()));
+        entityManager.flush();
+        entityManager.clear();
+
+        empresaService.delete();
+        entityManager.flush();
+
+        assertTrue(linhasDaEmpresa().isEmpty());
+    }
+
+    private List<ResumoDiario> linhasDaEmpresa() {
+        return resumoDiarioRepository.findAll().stream()
+                .filter(r -> r.getEmpresa().getId().equals(testEmpresa.getId()))
+                .sorted(Comparator.comparing(ResumoDiario::getId))
+                .toList();
+    }
+
+    private static ResumoDiario linha(List<ResumoDiario> linhas, MetodoPagamento metodo) {
+        return linhas.stream().filter(r -> r.getMetodo() == metodo).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,183 @@
+package tech.devleo.projeto_orlando.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import tech.devleo.projeto_orlando.domain.Conta;
+import tech.devleo.projeto_orlando.domain.Devedor;
+import tech.devleo.projeto_orlando.domain.Divida;
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
+import tech.devleo.projeto_orlando.domain.Pagamento;
+import tech.devleo.projeto_orlando.domain.Relatorio;
+import tech.devleo.projeto_orlando.domain.TipoRelatorio;
+import tech.devleo.projeto_orlando.domain.User;
+import tech.devleo.projeto_orlando.domain.Pk.PagamentoId;
+import tech.devleo.projeto_orlando.dto.DividaRequest;
+import tech.devleo.projeto_orlando.dto.RelatorioRequest;
+import tech.devleo.projeto_orlando.dto.RelatorioResponse;
+import tech.devleo.projeto_orlando.repository.DevedorRepository;
+import tech.devleo.projeto_orlando.repository.DividaRepository;
+import tech.devleo.projeto_orlando.repository.PagamentoRepository;
+import tech.devleo.projeto_orlando.repository.RelatorioRepository;
+import tech.devleo.projeto_orlando.service.DevedorService;
+import tech.devleo.projeto_orlando.service.DividaService;
+import tech.devleo.projeto_orlando.service.EmpresaService;
+import tech.devleo.projeto_orlando.service.PagamentoService;
+import tech.devleo.projeto_orlando.service.RelatorioService;
+
+@Transactional
+class TenantIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private DividaService dividaService;
+
+    @Autowired
+    private DevedorService devedorService;
+
+    @Autowired
+    private PagamentoService pagamentoService;
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private DevedorRepository devedorRepository;
+
+    @Autowired
+    private DividaRepository dividaRepository;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private RelatorioRepository relatorioRepository;
+
+    private Conta conta;
+    private Devedor devedorOutra;
+    private Divida dividaOutra;
+    private Relatorio relatorioOutra;
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        super.setUp();
+
+        conta = criarConta(testEmpresa, "11111111111");
+
+        User outroUser = new User();
+        outroUser.setUsername("outro");
+        outroUser.setEmail("outro@example.com");
+        outroUser.setPassword("-");
+        outroUser.setEnabled(true);
+        outroUser = userRepository.save(outroUser);
+
+        Empresa outra = new Empresa();
+        outra.setName("Outra Empresa");
+        outra.setCnpj("98765432000100");
+        outra.setDono(outroUser);
+        outra = empresaRepository.save(outra);
+
+        Conta contaOutra = criarConta(outra, "22222222222");
+        devedorOutra = contaOutra.getDevedor();
+
+        dividaOutra = new Divida();
+        dividaOutra.setValor(Money.of("70.00"));
+        dividaOutra.setConta(contaOutra);
+        dividaOutra.setFiadora(outra);
+        dividaOutra = dividaRepository.save(dividaOutra);
+
+        Pagamento pagamentoOutra = new Pagamento();
+        pagamentoOutra.setId(new PagamentoId(dividaOutra.getId(), contaOutra.getId()));
+        pagamentoOutra.setConta(contaOutra);
+        pagamentoOutra.setDivida(dividaOutra);
+        pagamentoOutra.setValor(dividaOutra.getValor());
+        pagamentoOutra.setMetodo(MetodoPagamento.PIX);
+        pagamentoRepository.save(pagamentoOutra);
+
+        // Relatório sem conta: antes da coluna empresa_id aparecia para todas as empresas
+        relatorioOutra = new Relatorio();
+        relatorioOutra.setEmpresa(outra);
+        relatorioOutra.setTipo(TipoRelatorio.CONSOLIDADO_EMPRESA);
+        relatorioOutra = relatorioRepository.saveAndFlush(relatorioOutra);
+    }
+
+    @Test
+    void testFindById_RegistroDeOutraEmpresa_DeveRetornar404() {
+        ResponseStatusException divida = assertThrows(ResponseStatusException.class,
+                () -> dividaService.findById(dividaOutra.getId()));
+        ResponseStatusException devedor = assertThrows(ResponseStatusException.class,
+                () -> devedorService.findById(devedorOutra.getId().toString()));
+        ResponseStatusException pagamento = assertThrows(ResponseStatusException.class,
+                () -> pagamentoService.findById(dividaOutra.getId(), devedorOutra.getId()));
+        ResponseStatusException relatorio = assertThrows(ResponseStatusException.class,
+                () -> relatorioService.findById(relatorioOutra.getId()));
+
+        assertEquals(HttpStatus.NOT_FOUND, divida.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, devedor.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, pagamento.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, relatorio.getStatusCode());
+    }
+
+    @Test
+    void testCreate_ContaDeOutraEmpresa_DeveRetornar404() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> dividaService.create(new DividaRequest(new BigDecimal("10.00"), devedorOutra.getId().toString())));
+
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+    }
+
+    @Test
+    void testFindAll_RelatorioSemContaDeOutraEmpresa_NaoDeveAparecer() {
+        RelatorioResponse proprio = relatorioService.create(new RelatorioRequest(
+                TipoRelatorio.CONSOLIDADO_EMPRESA, null, null, null, null, null, null));
+
+        List<Integer> ids = relatorioService.findAll(null, null).itens().stream().map(RelatorioResponse::id).toList();
+
+        assertEquals(List.of(proprio.id()), ids);
+        assertEquals(proprio.id(), relatorioService.findById(proprio.id()).id());
+    }
+
+    @Test
+    void testFiltroTenant_ConsultasSemEmpresaNoWhere_DevemVerSoAEmpresaAtual() {
+        Divida propria = new Divida();
+        propria.setValor(Money.of("30.00"));
+        propria.setConta(conta);
+        propria.setFiadora(testEmpresa);
+        propria = dividaRepository.saveAndFlush(propria);
+
+        // Habilita o filtro na sessão da transação do teste
+        empresaService.getEmpresaByCurrentUser();
+
+        assertEquals(List.of(propria.getId()), dividaRepository.findAll().stream().map(Divida::getId).toList());
+        assertEquals(List.of(conta.getId()), devedorRepository.findAll().stream().map(Devedor::getId).toList());
+        assertTrue(pagamentoRepository.findAll().isEmpty());
+        assertTrue(relatorioRepository.findAll().isEmpty());
+    }
+
+    private Conta criarConta(Empresa empresa, String cpf) {
+        Devedor devedor = new Devedor();
+        devedor.setName("Devedor " + cpf);
+        devedor.setCpf(cpf);
+        devedor.setEmail(cpf + "@example.com");
+        devedor.setEmpresa(empresa);
+
+        Conta c = new Conta();
+        c.setDevedor(devedor);
+        devedor.setConta(c);
+        return devedorRepository.save(devedor).getConta();
+    }
+}
@@ -0,0 +1,144 @@
+package tech.devleo.projeto_orlando.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import tech.devleo.projeto_orlando.controller.DividaController;
+import tech.devleo.projeto_orlando.domain.Conta;
+import tech.devleo.projeto_orlando.domain.Devedor;
+import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.dto.DividaRequest;
+import tech.devleo.projeto_orlando.dto.DividaResponse;
+import tech.devleo.projeto_orlando.dto.EmpresaRequest;
+import tech.devleo.projeto_orlando.dto.PagamentoRequest;
+import tech.devleo.projeto_orlando.dto.PaginaResponse;
+import tech.devleo.projeto_orlando.repository.DevedorRepository;
+import tech.devleo.projeto_orlando.service.DevedorService;
+import tech.devleo.projeto_orlando.service.DividaService;
+import tech.devleo.projeto_orlando.service.EmpresaService;
+import tech.devleo.projeto_orlando.service.PagamentoService;
+
+@Transactional
+class VersaoColecaoIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private DividaService dividaService;
+
+    @Autowired
+    private DevedorService devedorService;
+
+    @Autowired
+    private PagamentoService pagamentoService;
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private DividaController dividaController;
+
+    @Autowired
+    private DevedorRepository devedorRepository;
+
+    private Conta conta;
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        super.setUp();
+
+        Devedor devedor = new Devedor();
+        devedor.setName("Devedor Teste");
+        devedor.setCpf("12345678900");
+        devedor.setEmail("devedor@test.com");
+        devedor.setEmpresa(testEmpresa);
+
+        conta = new Conta();
+        conta.setDevedor(devedor);
+        devedor.setConta(conta);
+        conta = devedorRepository.save(devedor).getConta();
+    }
+
+    @Test
+    void testEtag_SemEscritas_DeveSeRepetir() {
+        dividaService.create(new DividaRequest(new BigDecimal("10.00"), conta.getId().toString()));
+
+        assertEquals(dividaService.etag(), dividaService.etag());
+        assertEquals(devedorService.etag(), devedorService.etag());
+        assertEquals(empresaService.etag(), empresaService.etag());
+    }
+
+    @Test
+    void testEtag_Escritas_DevemMudarAsColecoesAfetadas() {
+        String dividas = dividaService.etag();
+        String devedores = devedorService.etag();
+        String empresa = empresaService.etag();
+
+        DividaResponse divida = dividaService.create(new DividaRequest(new BigDecimal("10.00"), conta.getId().toString()));
+
+        assertNotEquals(dividas, dividaService.etag());
+        assertNotEquals(devedores, devedorService.etag());
+        assertNotEquals(empresa, empresaService.etag());
+
+        // Pagamento muda o saldo do devedor, mas não a listagem de dívidas nem a empresa
+        dividas = dividaService.etag();
+        devedores = devedorService.etag();
+        empresa = empresaService.etag();
+        pagamentoService.create(new PagamentoRequest(MetodoPagamento.PIX, divida.id()));
+
+        assertEquals(dividas, dividaService.etag());
+        assertNotEquals(devedores, devedorService.etag());
+        assertEquals(empresa, empresaService.etag());
+
+        empresaService.update(new EmpresaRequest("Empresa Renomeada", "12345678000100", "11999999999"));
+
+        assertNotEquals(empresa, empresaService.etag());
+    }
+
+    @Test
+    void testGetCondicional_IfNoneMatchAtual_DeveRetornar304SemCorpo() {
+        dividaService.create(new DividaRequest(new BigDecimal("10.00"), conta.getId().toString()));
+        ResponseEntity<PaginaResponse<DividaResponse>> primeira = dividaController.all(null, null, requisicao(null));
+        String etag = primeira.getHeaders().getETag();
+
+        ResponseEntity<PaginaResponse<DividaResponse>> repetida = dividaController.all(null, null, requisicao(etag));
+
+        assertEquals(HttpStatus.OK, primeira.getStatusCode());
+        assertEquals(1, primeira.getBody().itens().size());
+        assertEquals("no-cache, private", primeira.getHeaders().getCacheControl());
+        assertEquals(HttpStatus.NOT_MODIFIED, repetida.getStatusCode());
+        assertEquals(etag, repetida.getHeaders().getETag());
+        assertNull(repetida.getBody());
+    }
+
+    @Test
+    void testGetCondicional_IfNoneMatchAntigo_DeveRetornar200ComNovaEtag() {
+        String antiga = dividaController.all(null, null, requisicao(null)).getHeaders().getETag();
+        dividaService.create(new DividaRequest(new BigDecimal("10.00"), conta.getId().toString()));
+
+        ResponseEntity<PaginaResponse<DividaResponse>> resposta = dividaController.all(null, null, requisicao(antiga));
+
+        assertEquals(HttpStatus.OK, resposta.getStatusCode());
+        assertNotEquals(antiga, resposta.getHeaders().getETag());
+        assertEquals(1, resposta.getBody().itens().size());
+    }
+
+    private static ServletWebRequest requisicao(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dividas");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
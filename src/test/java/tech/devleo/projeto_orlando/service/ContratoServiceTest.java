@@ -35,6 +35,12 @@ class ContratoServiceTest {
     @Mock
     private EmpresaService empresaService;
 
+    @Mock
+    private ResumoDiarioService resumoDiarioService;
+
+    @Mock
+    private VersaoColecaoService versaoColecaoService;
+
     @InjectMocks
     private ContratoService contratoService;
 
@@ -63,7 +69,7 @@ class ContratoServiceTest {
             dataVencimento
         );
 
-        when(devedorRepository.findById(devedor.getId())).thenReturn(java.util.Optional.of(devedor));
+        when(devedorRepository.findByIdAndEmpresaId(devedor.getId(), empresa.getId())).thenReturn(java.util.Optional.of(devedor));
         when(empresaService.getEmpresaByCurrentUser()).thenReturn(empresa);
         when(contratoRepository.save(any(Contrato.class))).thenAnswer(invocation -> {
             Contrato c = invocation.getArgument(0);
@@ -94,7 +100,7 @@ class ContratoServiceTest {
         ZonedDateTime agora = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
         ZonedDateTime esperado = agora.plusYears(1);
 
-        when(devedorRepository.findById(devedor.getId())).thenReturn(java.util.Optional.of(devedor));
+        when(devedorRepository.findByIdAndEmpresaId(devedor.getId(), empresa.getId())).thenReturn(java.util.Optional.of(devedor));
         when(empresaService.getEmpresaByCurrentUser()).thenReturn(empresa);
         when(contratoRepository.save(any(Contrato.class))).thenAnswer(invocation -> {
             Contrato c = invocation.getArgument(0);
@@ -123,7 +129,7 @@ class ContratoServiceTest {
             null
         );
 
-        when(devedorRepository.findById(devedor.getId())).thenReturn(java.util.Optional.of(devedor));
+        when(devedorRepository.findByIdAndEmpresaId(devedor.getId(), empresa.getId())).thenReturn(java.util.Optional.of(devedor));
         when(empresaService.getEmpresaByCurrentUser()).thenReturn(empresa);
         when(contratoRepository.save(any(Contrato.class))).thenAnswer(invocation -> {
             Contrato c = invocation.getArgument(0);
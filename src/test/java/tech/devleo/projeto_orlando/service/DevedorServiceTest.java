@@ -3,7 +3,6 @@ package tech.devleo.projeto_orlando.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +16,7 @@ import tech.devleo.projeto_orlando.domain.Conta;
 import tech.devleo.projeto_orlando.domain.Contrato;
 import tech.devleo.projeto_orlando.domain.Devedor;
 import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.Money;
 import tech.devleo.projeto_orlando.dto.DevedorRequest;
 import tech.devleo.projeto_orlando.repository.ContratoRepository;
 import tech.devleo.projeto_orlando.repository.DevedorRepository;
@@ -33,6 +33,12 @@ class DevedorServiceTest {
     @Mock
     private EmpresaService empresaService;
 
+    @Mock
+    private ResumoDiarioService resumoDiarioService;
+
+    @Mock
+    private VersaoColecaoService versaoColecaoService;
+
     @InjectMocks
     private DevedorService devedorService;
 
@@ -67,7 +73,7 @@ class DevedorServiceTest {
         contrato.setDevedor(devedor);
         devedor.getContratos().add(contrato);
 
-        when(devedorRepository.findById(devedor.getId())).thenReturn(java.util.Optional.of(devedor));
+        when(devedorRepository.findByIdAndEmpresaId(devedor.getId(), empresa.getId())).thenReturn(java.util.Optional.of(devedor));
         when(empresaService.getEmpresaByCurrentUser()).thenReturn(empresa);
         doNothing().when(devedorRepository).deleteById(devedor.getId());
 
@@ -82,7 +88,7 @@ class DevedorServiceTest {
     @Test
     void testDelete_DevedorSemContratos_DeveDeletarNormalmente() {
         // Arrange
-        when(devedorRepository.findById(devedor.getId())).thenReturn(java.util.Optional.of(devedor));
+        when(devedorRepository.findByIdAndEmpresaId(devedor.getId(), empresa.getId())).thenReturn(java.util.Optional.of(devedor));
         when(empresaService.getEmpresaByCurrentUser()).thenReturn(empresa);
         doNothing().when(devedorRepository).deleteById(devedor.getId());
 
@@ -118,10 +124,10 @@ class DevedorServiceTest {
 
         // Assert
         assertNotNull(response);
-        assertEquals(BigDecimal.ZERO, response.contaSaldo());
+        assertEquals(Money.ZERO, response.contaSaldo());
         verify(devedorRepository).save(argThat(d -> 
             d.getConta() != null &&
-            d.getConta().getSaldo().equals(BigDecimal.ZERO)
+            d.getConta().getSaldo().equals(Money.ZERO)
         ));
     }
 }
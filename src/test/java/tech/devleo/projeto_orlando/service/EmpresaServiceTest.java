@@ -0,0 +1,153 @@
+package tech.devleo.projeto_orlando.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.persistence.EntityManagerFactory;
+import tech.devleo.projeto_orlando.config.TenantPrincipal;
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.User;
+import tech.devleo.projeto_orlando.dto.EmpresaRequest;
+import tech.devleo.projeto_orlando.repository.EmpresaRepository;
+import tech.devleo.projeto_orlando.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class EmpresaServiceTest {
+
+    @Mock
+    private EmpresaRepository empresaRepository;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private ResumoDiarioService resumoDiarioService;
+
+    @Mock
+    private VersaoColecaoService versaoColecaoService;
+
+    @InjectMocks
+    private EmpresaService empresaService;
+
+    private User user;
+    private Empresa empresa;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("dono@teste.com");
+
+        empresa = new Empresa();
+        empresa.setId(UUID.randomUUID());
+        empresa.setName("Empresa Teste");
+        empresa.setDono(user);
+    }
+
+    @Test
+    void testGetEmpresaByCurrentUser_TokenComVersaoAtual_NaoCarregaAEmpresa() {
+        // Arrange
+        TenantPrincipal tenant = new TenantPrincipal(user.getEmail(), user.getId(), empresa.getId(), 0L, Instant.now(), null, null);
+        when(currentUserService.getCurrentTenant()).thenReturn(tenant);
+        when(userRepository.findEmpresaVersaoById(user.getId())).thenReturn(Optional.of(0L));
+        when(empresaRepository.getReferenceById(empresa.getId())).thenReturn(empresa);
+
+        // Act
+        Empresa resolvida = empresaService.getEmpresaByCurrentUser();
+
+        // Assert
+        assertEquals(empresa.getId(), resolvida.getId());
+        verify(currentUserService, never()).getCurrentUser();
+        verify(empresaRepository, never()).findByDono(any());
+    }
+
+    @Test
+    void testGetEmpresaByCurrentUser_SemTenantNoContexto_BuscaPeloDono() {
+        // Arrange
+        when(currentUserService.getCurrentTenant()).thenReturn(null);
+        when(currentUserService.getCurrentUser()).thenReturn(user);
+        when(empresaRepository.findByDono(user)).thenReturn(Optional.of(empresa));
+
+        // Act
+        Empresa resolvida = empresaService.getEmpresaByCurrentUser();
+
+        // Assert
+        assertEquals(empresa.getId(), resolvida.getId());
+        verify(empresaRepository, never()).getReferenceById(any());
+    }
+
+    @Test
+    void testGetEmpresaByCurrentUser_TokenSemVersao_BuscaPeloDono() {
+        // Arrange: token emitido antes da claim empresaVersao existir
+        TenantPrincipal tenant = new TenantPrincipal(user.getEmail(), user.getId(), empresa.getId(), null, Instant.now(), null, null);
+        when(currentUserService.getCurrentTenant()).thenReturn(tenant);
+        when(currentUserService.getCurrentUser()).thenReturn(user);
+        when(empresaRepository.findByDono(user)).thenReturn(Optional.of(empresa));
+
+        // Act
+        Empresa resolvida = empresaService.getEmpresaByCurrentUser();
+
+        // Assert
+        assertEquals(empresa.getId(), resolvida.getId());
+        verify(empresaRepository, never()).getReferenceById(any());
+        verify(userRepository, never()).findEmpresaVersaoById(any());
+    }
+
+    @Test
+    void testGetEmpresaByCurrentUser_EmpresaCriadaAposToken_BuscaPeloDono() {
+        // Arrange: token emitido antes da criação da empresa, portanto sem empresaId
+        TenantPrincipal tenant = new TenantPrincipal(user.getEmail(), user.getId(), null, 0L, Instant.now().minusSeconds(60), null, null);
+        when(currentUserService.getCurrentTenant()).thenReturn(tenant);
+        when(currentUserService.getCurrentUser()).thenReturn(user);
+        when(empresaRepository.existsByDono(user)).thenReturn(false);
+        when(empresaRepository.save(any(Empresa.class))).thenReturn(empresa);
+        when(empresaRepository.findByDono(user)).thenReturn(Optional.of(empresa));
+
+        empresaService.create(new EmpresaRequest("Empresa Teste", "12345678000100", "11999999999"));
+        // Versão gravada pelo create, lida do banco por qualquer instância
+        when(userRepository.findEmpresaVersaoById(user.getId())).thenReturn(Optional.of(user.getEmpresaVersao()));
+
+        // Act
+        Empresa resolvida = empresaService.getEmpresaByCurrentUser();
+
+        // Assert
+        assertEquals(1L, user.getEmpresaVersao());
+        assertEquals(empresa.getId(), resolvida.getId());
+        verify(empresaRepository).findByDono(user);
+    }
+
+    @Test
+    void testGetEmpresaByCurrentUser_EmpresaRemovidaAposToken_RetornaNotFound() {
+        // Arrange: token ainda carrega o empresaId de uma empresa que foi removida depois
+        TenantPrincipal tenant = new TenantPrincipal(user.getEmail(), user.getId(), empresa.getId(), 0L, Instant.now().minusSeconds(60), null, null);
+        when(currentUserService.getCurrentTenant()).thenReturn(tenant);
+        when(currentUserService.getCurrentUser()).thenReturn(user);
+        when(empresaRepository.findByDono(user)).thenReturn(Optional.of(empresa)).thenReturn(Optional.empty());
+
+        empresaService.delete();
+        when(userRepository.findEmpresaVersaoById(user.getId())).thenReturn(Optional.of(user.getEmpresaVersao()));
+
+        // Act & Assert
+        assertThrows(ResponseStatusException.class, () -> empresaService.getEmpresaByCurrentUser());
+        verify(empresaRepository, never()).getReferenceById(any());
+    }
+}
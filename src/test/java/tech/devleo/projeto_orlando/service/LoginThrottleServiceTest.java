@@ -0,0 +1,65 @@
+package tech.devleo.projeto_orlando.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginThrottleServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottleService loginThrottleService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginThrottleService = new LoginThrottleService(meterRegistry, Duration.ofHours(1), 3, 5);
+    }
+
+    @Test
+    void testRegistrarTentativa_AcimaDoLimitePorEmail_DeveLancar429() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottleService.registrarTentativa("Usuario@Example.com", "10.0.0." + i);
+        }
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> loginThrottleService.registrarTentativa("usuario@example.com", "10.0.0.9"));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatusCode());
+        assertEquals(1.0, meterRegistry.get("auth.login.rejected").tag("reason", "throttled_email").counter().count());
+    }
+
+    @Test
+    void testRegistrarTentativa_AcimaDoLimitePorIp_DeveLancar429() {
+        for (int i = 0; i < 5; i++) {
+            loginThrottleService.registrarTentativa("usuario" + i + "@example.com", "10.0.0.1");
+        }
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> loginThrottleService.registrarTentativa("outro@example.com", "10.0.0.1"));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatusCode());
+        assertEquals(1.0, meterRegistry.get("auth.login.rejected").tag("reason", "throttled_ip").counter().count());
+    }
+
+    @Test
+    void testDevolverTentativa_LoginsValidos_NaoDevemConsumirLimite() {
+        for (int i = 0; i < 10; i++) {
+            loginThrottleService.registrarTentativa("usuario@example.com", "10.0.0.1");
+            loginThrottleService.devolverTentativa("Usuario@Example.com", "10.0.0.1");
+        }
+
+        for (int i = 0; i < 3; i++) {
+            loginThrottleService.registrarTentativa("usuario@example.com", "10.0.0.1");
+        }
+
+        assertThrows(ResponseStatusException.class,
+                () -> loginThrottleService.registrarTentativa("usuario@example.com", "10.0.0.1"));
+    }
+}
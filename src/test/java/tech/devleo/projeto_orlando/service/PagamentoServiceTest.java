@@ -19,6 +19,7 @@ import tech.devleo.projeto_orlando.domain.Devedor;
 import tech.devleo.projeto_orlando.domain.Divida;
 import tech.devleo.projeto_orlando.domain.Empresa;
 import tech.devleo.projeto_orlando.domain.MetodoPagamento;
+import tech.devleo.projeto_orlando.domain.Money;
 import tech.devleo.projeto_orlando.domain.Pagamento;
 import tech.devleo.projeto_orlando.domain.Pk.PagamentoId;
 import tech.devleo.projeto_orlando.dto.PagamentoRequest;
@@ -37,6 +38,12 @@ class PagamentoServiceTest {
     @Mock
     private EmpresaService empresaService;
 
+    @Mock
+    private ResumoDiarioService resumoDiarioService;
+
+    @Mock
+    private VersaoColecaoService versaoColecaoService;
+
     @InjectMocks
     private PagamentoService pagamentoService;
 
@@ -62,7 +69,7 @@ class PagamentoServiceTest {
 
         divida = new Divida();
         divida.setId(1);
-        divida.setValor(100.0);
+        divida.setValor(Money.of("100.00"));
         divida.setConta(conta);
         divida.setFiadora(empresa);
     }
@@ -75,7 +82,7 @@ class PagamentoServiceTest {
             1
         );
 
-        when(dividaRepository.findById(1)).thenReturn(Optional.of(divida));
+        when(dividaRepository.findByIdAndFiadoraId(1, empresa.getId())).thenReturn(Optional.of(divida));
         when(empresaService.getEmpresaByCurrentUser()).thenReturn(empresa);
         
         // Simular o comportamento de salvar: retornar o objeto com ID preenchido
@@ -90,11 +97,11 @@ class PagamentoServiceTest {
 
         // Assert
         assertNotNull(response);
-        assertEquals(100.0, divida.getValor()); // O valor vem da dívida
+        assertEquals(Money.of("100.00"), divida.getValor()); // O valor vem da dívida
         
         // Verificamos se o repository foi chamado com a chave composta correta
         verify(pagamentoRepository).save(argThat(p -> 
-            p.getValor().equals(100.0) &&
+            p.getValor().equals(Money.of("100.00")) &&
             p.getId().getDividaId().equals(1) && 
             p.getId().getContaId().equals(conta.getId())
         ));
@@ -112,12 +119,14 @@ class PagamentoServiceTest {
             1
         );
 
-        when(dividaRepository.findById(1)).thenReturn(Optional.of(divida));
+        // A consulta confere a fiadora: a dívida de outra empresa não é encontrada
+        when(dividaRepository.findByIdAndFiadoraId(1, empresa.getId())).thenReturn(Optional.empty());
         when(empresaService.getEmpresaByCurrentUser()).thenReturn(empresa);
 
         // Act & Assert
-        assertThrows(org.springframework.web.server.ResponseStatusException.class, () -> {
+        var e = assertThrows(org.springframework.web.server.ResponseStatusException.class, () -> {
             pagamentoService.create(request);
         });
+        assertEquals(org.springframework.http.HttpStatus.NOT_FOUND, e.getStatusCode());
     }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package tech.devleo.projeto_orlando.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tech.devleo.projeto_orlando.config.PasswordEncoderConfig;
+
+class PasswordVerificationServiceTest {
+
+    private PasswordEncoder passwordEncoder;
+    private PasswordVerificationService passwordVerificationService;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = PasswordEncoderConfig.criarEncoder(5);
+        passwordVerificationService = new PasswordVerificationService(passwordEncoder, new SimpleMeterRegistry(), 1, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordVerificationService.shutdown();
+    }
+
+    @Test
+    void testMatches_HashLegadoSemPrefixo_DeveValidar() {
+        String legado = new BCryptPasswordEncoder(4).encode("senha123");
+
+        assertTrue(passwordVerificationService.matches("senha123", legado).join());
+        assertFalse(passwordVerificationService.matches("outra", legado).join());
+    }
+
+    @Test
+    void testRehashSeNecessario_CustoMenor_DeveGerarHashNoCustoAtual() throws Exception {
+        String antigo = PasswordEncoderConfig.criarEncoder(4).encode("senha123");
+        CompletableFuture<String> novoHash = new CompletableFuture<>();
+
+        passwordVerificationService.rehashSeNecessario("senha123", antigo, novoHash::complete);
+
+        String hash = novoHash.get(5, TimeUnit.SECONDS);
+        assertTrue(hash.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(passwordEncoder.matches("senha123", hash));
+        assertFalse(passwordEncoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void testRehashSeNecessario_HashAtualizado_NaoDeveRegravar() throws Exception {
+        String atual = passwordEncoder.encode("senha123");
+        CompletableFuture<String> novoHash = new CompletableFuture<>();
+
+        passwordVerificationService.rehashSeNecessario("senha123", atual, novoHash::complete);
+
+        // Tarefa enfileirada depois garante que qualquer rehash já teria rodado no pool de uma thread
+        passwordVerificationService.matches("senha123", atual).get(5, TimeUnit.SECONDS);
+        assertFalse(novoHash.isDone());
+    }
+}
@@ -0,0 +1,179 @@
+package tech.devleo.projeto_orlando.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tech.devleo.projeto_orlando.domain.Colecao;
+import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.repository.ResumoDiarioRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RelatorioCacheServiceTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2024, 1, 1);
+    private static final LocalDate FIM = LocalDate.of(2024, 1, 31);
+
+    @Mock
+    private ResumoDiarioRepository resumoDiarioRepository;
+
+    @Mock
+    private ResumoDiarioRepository.TotaisPeriodo totais;
+
+    @Mock
+    private VersaoColecaoService versaoColecaoService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RelatorioCacheService relatorioCacheService;
+    private Empresa empresa;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relatorioCacheService = new RelatorioCacheService(resumoDiarioRepository, versaoColecaoService, meterRegistry, Duration.ofMinutes(10), 100);
+
+        empresa = new Empresa();
+        empresa.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void testTotaisPeriodo_MesmosParametros_DeveConsultarUmaVez() {
+        when(resumoDiarioRepository.sumByPeriodo(empresa, INICIO, FIM)).thenReturn(totais);
+
+        assertSame(totais, relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM));
+        assertSame(totais, relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM));
+
+        verify(resumoDiarioRepository, times(1)).sumByPeriodo(empresa, INICIO, FIM);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "relatorio.totais").tag("result", "hit").functionCounter().count());
+        assertEquals(1L, meterRegistry.get("relatorio.cache.calculo").tag("consulta", "totais").timer().count());
+    }
+
+    @Test
+    void testAoAlterarResumo_DiaDentroDoPeriodo_DeveInvalidar() {
+        when(resumoDiarioRepository.sumByPeriodo(empresa, INICIO, FIM)).thenReturn(totais);
+        relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM);
+
+        relatorioCacheService.aoAlterarResumo(new ResumoDiarioService.ResumoAlterado(empresa.getId(), LocalDate.of(2024, 1, 15)));
+        relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM);
+
+        verify(resumoDiarioRepository, times(2)).sumByPeriodo(empresa, INICIO, FIM);
+    }
+
+    @Test
+    void testTotaisPeriodo_VersaoAlteradaEmOutraInstancia_DeveRecalcular() {
+        // Sem o evento local: só a versão RESUMO compartilhada muda
+        when(versaoColecaoService.versao(empresa.getId(), Colecao.RESUMO)).thenReturn(3L).thenReturn(3L).thenReturn(4L);
+        when(resumoDiarioRepository.sumByPeriodo(empresa, INICIO, FIM)).thenReturn(totais);
+
+        relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM);
+        relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM);
+        relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM);
+
+        verify(resumoDiarioRepository, times(2)).sumByPeriodo(empresa, INICIO, FIM);
+    }
+
+    @Test
+    void testAoAlterarResumo_ForaDoPeriodoOuOutraEmpresa_DeveManterEntrada() {
+        when(resumoDiarioRepository.sumByPeriodo(empresa, INICIO, FIM)).thenReturn(totais);
+        relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM);
+
+        relatorioCacheService.aoAlterarResumo(new ResumoDiarioService.ResumoAlterado(empresa.getId(), LocalDate.of(2024, 2, 1)));
+        relatorioCacheService.aoAlterarResumo(new ResumoDiarioService.ResumoAlterado(UUID.randomUUID(), LocalDate.of(2024, 1, 15)));
+        relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM);
+
+        verify(resumoDiarioRepository, times(1)).sumByPeriodo(empresa, INICIO, FIM);
+    }
+
+    @Test
+    void testAoAlterarResumo_EmpresaReconstruida_DeveInvalidarTodosOsPeriodos() {
+        LocalDate outroFim = LocalDate.of(2024, 12, 31);
+        when(resumoDiarioRepository.sumByPeriodo(eq(empresa), any(LocalDate.class), any(LocalDate.class))).thenReturn(totais);
+        relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM);
+        relatorioCacheService.totaisPeriodo(empresa, INICIO, outroFim);
+
+        relatorioCacheService.aoAlterarResumo(new ResumoDiarioService.ResumoAlterado(empresa.getId(), null));
+        relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM);
+        relatorioCacheService.totaisPeriodo(empresa, INICIO, outroFim);
+
+        verify(resumoDiarioRepository, times(4)).sumByPeriodo(eq(empresa), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    void testTotaisPeriodo_ChamadasSimultaneas_DeveCalcularUmaVez() throws Exception {
+        CountDownLatch consultando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(resumoDiarioRepository.sumByPeriodo(empresa, INICIO, FIM)).thenAnswer(inv -> {
+            consultando.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return totais;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<ResumoDiarioRepository.TotaisPeriodo>> resultados = new ArrayList<>();
+            resultados.add(executor.submit(() -> relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM)));
+            assertTrue(consultando.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 4; i++) {
+                resultados.add(executor.submit(() -> relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM)));
+            }
+            // Espera as 4 chamadas encontrarem o cálculo em andamento antes de liberá-lo
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (meterRegistry.get("relatorio.cache.deduplicadas").counter().count() < 4 && System.nanoTime() < limite) {
+                Thread.sleep(10);
+            }
+            liberar.countDown();
+
+            for (Future<ResumoDiarioRepository.TotaisPeriodo> resultado : resultados) {
+                assertSame(totais, resultado.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(resumoDiarioRepository, times(1)).sumByPeriodo(empresa, INICIO, FIM);
+        assertEquals(4.0, meterRegistry.get("relatorio.cache.deduplicadas").counter().count());
+    }
+
+    @Test
+    void testTotaisPeriodo_CalculoFalha_DeveRepassarErroENaoGuardar() {
+        when(resumoDiarioRepository.sumByPeriodo(empresa, INICIO, FIM))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(totais);
+
+        assertThrows(QueryTimeoutException.class, () -> relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM));
+
+        assertSame(totais, relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM));
+        verify(resumoDiarioRepository, times(2)).sumByPeriodo(empresa, INICIO, FIM);
+    }
+
+    @Test
+    void testTotaisPeriodo_EmpresasDiferentes_NaoDeveCompartilhar() {
+        Empresa outra = new Empresa();
+        outra.setId(UUID.randomUUID());
+        ResumoDiarioRepository.TotaisPeriodo totaisOutra = mock(ResumoDiarioRepository.TotaisPeriodo.class);
+        when(resumoDiarioRepository.sumByPeriodo(empresa, INICIO, FIM)).thenReturn(totais);
+        when(resumoDiarioRepository.sumByPeriodo(outra, INICIO, FIM)).thenReturn(totaisOutra);
+
+        assertSame(totais, relatorioCacheService.totaisPeriodo(empresa, INICIO, FIM));
+        assertSame(totaisOutra, relatorioCacheService.totaisPeriodo(outra, INICIO, FIM));
+    }
+}
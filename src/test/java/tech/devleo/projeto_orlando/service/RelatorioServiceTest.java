@@ -1,11 +1,9 @@
 package tech.devleo.projeto_orlando.service;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDate;
-import java.time.ZonedDateTime;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -16,11 +14,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import tech.devleo.projeto_orlando.domain.Empresa;
+import tech.devleo.projeto_orlando.domain.Money;
 import tech.devleo.projeto_orlando.dto.AuditoriaResponse;
 import tech.devleo.projeto_orlando.repository.ContaRepository;
-import tech.devleo.projeto_orlando.repository.DividaRepository;
-import tech.devleo.projeto_orlando.repository.PagamentoRepository;
 import tech.devleo.projeto_orlando.repository.RelatorioRepository;
+import tech.devleo.projeto_orlando.repository.ResumoDiarioRepository;
 
 @ExtendWith(MockitoExtension.class)
 class RelatorioServiceTest {
@@ -32,10 +30,7 @@ class RelatorioServiceTest {
     private ContaRepository contaRepository;
 
     @Mock
-    private DividaRepository dividaRepository;
-
-    @Mock
-    private PagamentoRepository pagamentoRepository;
+    private RelatorioCacheService relatorioCacheService;
 
     @Mock
     private EmpresaService empresaService;
@@ -59,15 +54,14 @@ class RelatorioServiceTest {
         LocalDate fim = LocalDate.of(2024, 12, 31);
 
         when(empresaService.getEmpresaByCurrentUser()).thenReturn(empresa);
-        when(dividaRepository.sumValorByPeriodo(eq(empresa), any(ZonedDateTime.class), any(ZonedDateTime.class))).thenReturn(5000.0);
-        when(pagamentoRepository.countByPeriodo(eq(empresa), any(ZonedDateTime.class), any(ZonedDateTime.class))).thenReturn(10L);
+        when(relatorioCacheService.totaisPeriodo(empresa, inicio, fim)).thenReturn(totais(3L, 500000L, 10L, 120000L));
 
         // Act
         AuditoriaResponse response = relatorioService.gerarAuditoria(inicio, fim);
 
         // Assert
         assertNotNull(response);
-        assertEquals(5000.0, response.valorTotalDividas());
+        assertEquals(Money.of("5000.00"), response.valorTotalDividas());
         assertEquals(10L, response.totalPagamentos());
     }
 
@@ -78,15 +72,25 @@ class RelatorioServiceTest {
         LocalDate fim = LocalDate.of(2024, 12, 31);
 
         when(empresaService.getEmpresaByCurrentUser()).thenReturn(empresa);
-        when(dividaRepository.sumValorByPeriodo(eq(empresa), any(ZonedDateTime.class), any(ZonedDateTime.class))).thenReturn(null);
-        when(pagamentoRepository.countByPeriodo(eq(empresa), any(ZonedDateTime.class), any(ZonedDateTime.class))).thenReturn(null);
+        // sum() sem linhas devolve null em todas as colunas
+        when(relatorioCacheService.totaisPeriodo(empresa, inicio, fim)).thenReturn(totais(null, null, null, null));
 
         // Act
         AuditoriaResponse response = relatorioService.gerarAuditoria(inicio, fim);
 
         // Assert
         assertNotNull(response);
-        assertEquals(0.0, response.valorTotalDividas());
+        assertEquals(Money.ZERO, response.valorTotalDividas());
         assertEquals(0L, response.totalPagamentos());
     }
-}
\ No newline at end of file
+
+    private static ResumoDiarioRepository.TotaisPeriodo totais(Long quantidadeDividas, Long totalDividas,
+            Long quantidadePagamentos, Long totalPagamentos) {
+        return new ResumoDiarioRepository.TotaisPeriodo() {
+            public Long getQuantidadeDividas() { return quantidadeDividas; }
+            public Long getTotalDividas() { return totalDividas; }
+            public Long getQuantidadePagamentos() { return quantidadePagamentos; }
+            public Long getTotalPagamentos() { return totalPagamentos; }
+        };
+    }
+}